@@ -0,0 +1,99 @@
+package de.espend.idea.shopware.benchmark;
+
+import com.intellij.lang.javascript.psi.JSFile;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.FileContentImpl;
+import com.intellij.util.indexing.IndexingDataKeys;
+import com.jetbrains.smarty.SmartyFile;
+import de.espend.idea.shopware.index.InitResourceServiceIndex;
+import de.espend.idea.shopware.index.SmartyBlockStubIndex;
+import de.espend.idea.shopware.index.SnippetIndex;
+import de.espend.idea.shopware.util.SnippetUtil;
+import de.espend.idea.shopware.util.dict.ShopwareSnippet;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Indexer of a single file as it is done on reindex; content is parsed on every invocation, because psi of a
+ * FileContent is never reused by the platform
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexerBenchmark {
+
+    @Benchmark
+    public Map<?, ?> snippetIndexIni(ShopwareProjectState state) throws IOException {
+        return map(state, new SnippetIndex().getIndexer(), state.getPluginRoot() + "snippets/frontend/plugin" + (state.size / 2) + "/index.ini");
+    }
+
+    @Benchmark
+    public Map<?, ?> snippetIndexSmarty(ShopwareProjectState state) throws IOException {
+        return map(state, new SnippetIndex().getIndexer(), state.getPluginRoot() + "Views/frontend/" + state.getPluginSection() + "/index.tpl");
+    }
+
+    @Benchmark
+    public Map<?, ?> snippetIndexExtJs(ShopwareProjectState state) throws IOException {
+        return map(state, new SnippetIndex().getIndexer(), state.getPluginRoot() + "Views/backend/plugin" + (state.size / 2) + "/app.js");
+    }
+
+    /**
+     * Psi visitor the snippet indexer was build on before; baseline for the text scanner
+     */
+    @Benchmark
+    public Collection<ShopwareSnippet> snippetPsiSmarty(ShopwareProjectState state) throws IOException {
+        PsiFile psiFile = createPsiFile(state, state.getPluginRoot() + "Views/frontend/" + state.getPluginSection() + "/index.tpl");
+
+        return ReadAction.compute(() -> SnippetUtil.getSnippetsInFile((SmartyFile) psiFile));
+    }
+
+    @Benchmark
+    public Collection<ShopwareSnippet> snippetPsiExtJs(ShopwareProjectState state) throws IOException {
+        PsiFile psiFile = createPsiFile(state, state.getPluginRoot() + "Views/backend/plugin" + (state.size / 2) + "/app.js");
+
+        return ReadAction.compute(() -> SnippetUtil.getSnippetsInFile((JSFile) psiFile));
+    }
+
+    @Benchmark
+    public Map<?, ?> initResourceServiceIndex(ShopwareProjectState state) throws IOException {
+        return map(state, new InitResourceServiceIndex().getIndexer(), state.getPluginRoot() + "Bootstrap.php");
+    }
+
+    @Benchmark
+    public Map<?, ?> smartyBlockStubIndex(ShopwareProjectState state) throws IOException {
+        return map(state, new SmartyBlockStubIndex().getIndexer(), "templates/_default/frontend/" + state.getPluginSection() + "/index.tpl");
+    }
+
+    @NotNull
+    private static PsiFile createPsiFile(@NotNull ShopwareProjectState state, @NotNull String path) throws IOException {
+        VirtualFile virtualFile = state.getVirtualFile(path);
+        String text = VfsUtilCore.loadText(virtualFile);
+
+        return ReadAction.compute(() -> PsiFileFactory.getInstance(state.getProject()).createFileFromText(virtualFile.getName(), virtualFile.getFileType(), text));
+    }
+
+    @NotNull
+    private static <K, V> Map<K, V> map(@NotNull ShopwareProjectState state, @NotNull DataIndexer<K, V, FileContent> indexer, @NotNull String path) throws IOException {
+        VirtualFile virtualFile = state.getVirtualFile(path);
+
+        FileContentImpl fileContent = new FileContentImpl(virtualFile, virtualFile.contentsToByteArray());
+        fileContent.putUserData(IndexingDataKeys.PROJECT, state.getProject());
+
+        return ReadAction.compute(() -> indexer.map(fileContent));
+    }
+}
@@ -0,0 +1,56 @@
+package de.espend.idea.shopware.benchmark;
+
+import com.intellij.codeInsight.completion.impl.CamelHumpMatcher;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.psi.PsiFile;
+import de.espend.idea.shopware.util.ExtJsUtil;
+import de.espend.idea.shopware.util.SmartyBlockUtil;
+import de.espend.idea.shopware.util.TemplateUtil;
+import de.espend.idea.shopware.util.dict.BlockCatalog;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry points of completion, line marker and goto on an indexed project
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NavigationBenchmark {
+
+    @Benchmark
+    public void collectTemplateFiles(ShopwareProjectState state, Blackhole blackhole) {
+        ReadAction.run(() -> TemplateUtil.collectFiles(state.getProject(), (virtualFile, fileName) -> blackhole.consume(fileName)));
+    }
+
+    @Benchmark
+    public List<SmartyBlockUtil.SmartyBlock> collectFileBlocks(ShopwareProjectState state) {
+        PsiFile psiFile = state.getPsiFile(state.getPluginRoot() + "Views/frontend/" + state.getPluginSection() + "/index.tpl");
+
+        return ReadAction.compute(() -> SmartyBlockUtil.collectFileBlocks(psiFile, 2));
+    }
+
+    @Benchmark
+    public String snippetNamespaceFromFile(ShopwareProjectState state) {
+        PsiFile psiFile = state.getPsiFile(state.getPluginRoot() + "Views/backend/plugin" + (state.size / 2) + "/app.js");
+
+        return ReadAction.compute(() -> ExtJsUtil.getSnippetNamespaceFromFile(psiFile));
+    }
+
+    @Benchmark
+    public void visitBlockCatalog(ShopwareProjectState state, Blackhole blackhole) {
+        CamelHumpMatcher matcher = new CamelHumpMatcher("frontend_index");
+
+        ReadAction.run(() -> BlockCatalog.getInstance(state.getProject()).visit(matcher, (name, fileCount, templateName) -> {
+            blackhole.consume(name);
+            return true;
+        }));
+    }
+}
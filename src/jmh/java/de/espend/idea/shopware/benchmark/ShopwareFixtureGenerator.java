@@ -0,0 +1,176 @@
+package de.espend.idea.shopware.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Synthetic Shopware like project tree; every plugin provides a subscriber "Bootstrap.php", templates extending the
+ * default theme, snippet ini files and a backend ExtJs file
+ *
+ * Can also be written to disk for profiling a real IDE instance: "ShopwareFixtureGenerator <target-dir> <plugins>"
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class ShopwareFixtureGenerator {
+
+    public static final String[] SECTIONS = new String[]{"index", "detail", "listing", "checkout", "account"};
+
+    private static final int BLOCKS_PER_TEMPLATE = 20;
+    private static final int SNIPPETS_PER_FILE = 50;
+
+    /**
+     * Project relative path => file content
+     */
+    @NotNull
+    public static Map<String, String> generate(int plugins) {
+        Map<String, String> files = new LinkedHashMap<>();
+
+        for (String section : SECTIONS) {
+            files.put("templates/_default/frontend/" + section + "/index.tpl", createBaseTemplate(section));
+        }
+
+        for (int i = 0; i < plugins; i++) {
+            String plugin = getPluginName(i);
+            String root = "engine/Shopware/Plugins/Local/Frontend/" + plugin + "/";
+            String section = SECTIONS[i % SECTIONS.length];
+
+            files.put(root + "Bootstrap.php", createBootstrap(plugin, i));
+            files.put(root + "Views/frontend/" + section + "/index.tpl", createPluginTemplate(section, i));
+            files.put(root + "Views/frontend/plugin" + i + "/index.tpl", createIncludeTemplate(i));
+            files.put(root + "snippets/frontend/plugin" + i + "/index.ini", createSnippets(i));
+            files.put(root + "Views/backend/plugin" + i + "/app.js", createExtJs(i));
+        }
+
+        return files;
+    }
+
+    @NotNull
+    public static String getPluginName(int index) {
+        return "SwagBenchmark" + index;
+    }
+
+    @NotNull
+    public static String createSnippets(int index) {
+        StringBuilder content = new StringBuilder();
+
+        for (String locale : new String[]{"en_GB", "de_DE"}) {
+            content.append("[").append(locale).append("]\n");
+
+            for (int i = 0; i < SNIPPETS_PER_FILE; i++) {
+                content.append("Plugin").append(index).append("Snippet").append(i).append(" = \"Snippet value ").append(i).append(" of ").append(locale).append("\"\n");
+            }
+
+            content.append("\n");
+        }
+
+        return content.toString();
+    }
+
+    @NotNull
+    private static String createBaseTemplate(@NotNull String section) {
+        StringBuilder content = new StringBuilder();
+
+        content.append("{block name='frontend_").append(section).append("'}\n");
+        for (int i = 0; i < BLOCKS_PER_TEMPLATE; i++) {
+            content.append("    {block name='frontend_").append(section).append("_block_").append(i).append("'}\n");
+            content.append("        <div class=\"block-").append(i).append("\">{s name='Block").append(i).append("' namespace='frontend/").append(section).append("/index'}Block{/s}</div>\n");
+            content.append("    {/block}\n");
+        }
+        content.append("{/block}\n");
+
+        return content.toString();
+    }
+
+    @NotNull
+    private static String createPluginTemplate(@NotNull String section, int index) {
+        StringBuilder content = new StringBuilder();
+
+        content.append("{extends file='parent:frontend/").append(section).append("/index.tpl'}\n");
+        content.append("{namespace name='frontend/plugin").append(index).append("/index'}\n");
+
+        for (int i = index % 3; i < BLOCKS_PER_TEMPLATE; i += 3) {
+            content.append("{block name='frontend_").append(section).append("_block_").append(i).append("' append}\n");
+            content.append("    {include file='frontend/plugin").append(index).append("/index.tpl'}\n");
+            content.append("    {s name='Plugin").append(index).append("Snippet").append(i).append("'}Snippet{/s}\n");
+            content.append("{/block}\n");
+        }
+
+        return content.toString();
+    }
+
+    @NotNull
+    private static String createIncludeTemplate(int index) {
+        return "{block name='frontend_plugin" + index + "_include'}\n" +
+            "    <span>{s name='Plugin" + index + "Snippet0' namespace='frontend/plugin" + index + "/index'}Include{/s}</span>\n" +
+            "{/block}\n";
+    }
+
+    @NotNull
+    private static String createBootstrap(@NotNull String plugin, int index) {
+        String service = plugin.toLowerCase();
+
+        return "<?php\n" +
+            "\n" +
+            "class Shopware_Plugins_Frontend_" + plugin + "_Bootstrap extends Shopware_Components_Plugin_Bootstrap\n" +
+            "{\n" +
+            "    public function install()\n" +
+            "    {\n" +
+            "        $this->subscribeEvent('Enlight_Controller_Action_PostDispatchSecure_Frontend_Plugin" + index + "', 'onPostDispatch');\n" +
+            "        $this->subscribeEvent('Enlight_Bootstrap_InitResource_" + service + ".subscriber', 'onInitSubscriber');\n" +
+            "        return true;\n" +
+            "    }\n" +
+            "\n" +
+            "    public static function getSubscribedEvents()\n" +
+            "    {\n" +
+            "        return [\n" +
+            "            'Enlight_Bootstrap_InitResource_" + service + ".service' => 'onInitService',\n" +
+            "            'Enlight_Bootstrap_InitResource_" + service + ".helper' => 'onInitHelper',\n" +
+            "            'Enlight_Controller_Dispatcher_ControllerPath_Frontend_Plugin" + index + "' => 'onGetControllerPath',\n" +
+            "            'Shopware_Modules_Basket_AddArticle_Start' => 'onAddArticle',\n" +
+            "        ];\n" +
+            "    }\n" +
+            "\n" +
+            "    public function onInitService(Enlight_Event_EventArgs $args) { return new \\stdClass(); }\n" +
+            "    public function onInitHelper(Enlight_Event_EventArgs $args) { return new \\stdClass(); }\n" +
+            "    public function onInitSubscriber(Enlight_Event_EventArgs $args) { return new \\stdClass(); }\n" +
+            "    public function onGetControllerPath(Enlight_Event_EventArgs $args) { return __DIR__ . '/Controllers/Frontend/Plugin" + index + ".php'; }\n" +
+            "    public function onPostDispatch(Enlight_Controller_ActionEventArgs $args) { }\n" +
+            "    public function onAddArticle(Enlight_Event_EventArgs $args) { }\n" +
+            "}\n";
+    }
+
+    @NotNull
+    private static String createExtJs(int index) {
+        return "//{namespace name=backend/plugin" + index + "/main}\n" +
+            "Ext.define('Shopware.apps.Plugin" + index + ".view.main.Window', {\n" +
+            "    extend: 'Enlight.app.Window',\n" +
+            "    title: '{s name=window_title}Plugin " + index + "{/s}',\n" +
+            "    snippets: {\n" +
+            "        save: '{s name=button_save}Save{/s}',\n" +
+            "        cancel: '{s name=button_cancel namespace=backend/application/main}Cancel{/s}'\n" +
+            "    }\n" +
+            "});\n";
+    }
+
+    public static void main(String[] args) throws IOException {
+        if(args.length < 1) {
+            System.err.println("Usage: ShopwareFixtureGenerator <target-dir> [plugins]");
+            System.exit(1);
+        }
+
+        File target = new File(args[0]);
+        int plugins = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+        for (Map.Entry<String, String> entry : generate(plugins).entrySet()) {
+            File file = new File(target, entry.getKey());
+            Files.createDirectories(file.getParentFile().toPath());
+            Files.write(file.toPath(), entry.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
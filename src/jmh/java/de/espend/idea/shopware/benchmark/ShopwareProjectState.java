@@ -0,0 +1,109 @@
+package de.espend.idea.shopware.benchmark;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.testFramework.EdtTestUtil;
+import com.intellij.testFramework.fixtures.CodeInsightTestFixture;
+import com.intellij.testFramework.fixtures.IdeaProjectTestFixture;
+import com.intellij.testFramework.fixtures.IdeaTestFixtureFactory;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import com.intellij.testFramework.fixtures.TestFixtureBuilder;
+import com.intellij.testFramework.fixtures.impl.LightTempDirTestFixtureImpl;
+import de.espend.idea.shopware.util.TemplateUtil;
+import fr.adrienbrault.idea.symfony2plugin.Settings;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Light IDE project filled with the generated Shopware tree; indexes are build once per trial
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+@State(Scope.Benchmark)
+public class ShopwareProjectState {
+
+    /**
+     * Number of generated plugins
+     */
+    @Param({"100", "1000"})
+    public int size;
+
+    private CodeInsightTestFixture fixture;
+
+    private final Map<String, VirtualFile> files = new HashMap<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        Map<String, String> generated = ShopwareFixtureGenerator.generate(size);
+
+        EdtTestUtil.runInEdtAndWait(() -> {
+            IdeaTestFixtureFactory factory = IdeaTestFixtureFactory.getFixtureFactory();
+            TestFixtureBuilder<IdeaProjectTestFixture> builder = factory.createLightFixtureBuilder(LightCodeInsightFixtureTestCase.JAVA_LATEST);
+
+            fixture = factory.createCodeInsightFixture(builder.getFixture(), new LightTempDirTestFixtureImpl(true));
+            fixture.setUp();
+
+            Settings.getInstance(fixture.getProject()).pluginEnabled = true;
+
+            for (Map.Entry<String, String> entry : generated.entrySet()) {
+                files.put(entry.getKey(), fixture.addFileToProject(entry.getKey(), entry.getValue()).getVirtualFile());
+            }
+        });
+
+        // trigger indexing outside of the measurement
+        ReadAction.run(() -> TemplateUtil.getTemplateNames(getProject(), "tpl"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Throwable {
+        EdtTestUtil.runInEdtAndWait(() -> fixture.tearDown());
+        files.clear();
+    }
+
+    @NotNull
+    public Project getProject() {
+        return fixture.getProject();
+    }
+
+    /**
+     * @param path project relative path of ShopwareFixtureGenerator
+     */
+    @NotNull
+    public VirtualFile getVirtualFile(@NotNull String path) {
+        VirtualFile virtualFile = files.get(path);
+        if(virtualFile == null) {
+            throw new IllegalArgumentException("Unknown fixture file: " + path);
+        }
+
+        return virtualFile;
+    }
+
+    @NotNull
+    public PsiFile getPsiFile(@NotNull String path) {
+        PsiFile psiFile = ReadAction.compute(() -> PsiManager.getInstance(getProject()).findFile(getVirtualFile(path)));
+        if(psiFile == null) {
+            throw new IllegalArgumentException("No psi for fixture file: " + path);
+        }
+
+        return psiFile;
+    }
+
+    /**
+     * Plugin in the middle of the generated tree, so lookups are not favoured by ordering
+     */
+    @NotNull
+    public String getPluginRoot() {
+        return "engine/Shopware/Plugins/Local/Frontend/" + ShopwareFixtureGenerator.getPluginName(size / 2) + "/";
+    }
+
+    @NotNull
+    public String getPluginSection() {
+        return ShopwareFixtureGenerator.SECTIONS[(size / 2) % ShopwareFixtureGenerator.SECTIONS.length];
+    }
+}
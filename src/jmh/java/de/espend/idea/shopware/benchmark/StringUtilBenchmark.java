@@ -0,0 +1,92 @@
+package de.espend.idea.shopware.benchmark;
+
+import de.espend.idea.shopware.util.ExtJsUtil;
+import de.espend.idea.shopware.util.RegexUtil;
+import de.espend.idea.shopware.util.ShopwareUtil;
+import de.espend.idea.shopware.util.SnippetUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * String helpers called per index entry or per completion item; no IDE environment needed
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringUtilBenchmark {
+
+    private static final String URL_TAG = "{url module=backend controller=\"article_list\" action='getFields' appendSession=1}";
+
+    private static final String TEMPLATE_NAME = "frontend/account/ajax_login.tpl";
+
+    private String iniContent;
+
+    @Setup
+    public void setUp() {
+        iniContent = ShopwareFixtureGenerator.createSnippets(1);
+    }
+
+    @Benchmark
+    public Set<String> snippetIniKeys() {
+        return SnippetUtil.getIniKeys(iniContent);
+    }
+
+    @Benchmark
+    public Map<String, Set<String>> snippetIniKeysByLocale() {
+        return SnippetUtil.getIniKeysByLocale(iniContent);
+    }
+
+    @Benchmark
+    public String toCamelCase() {
+        return ShopwareUtil.toCamelCase("enlight_controller_action_post_dispatch_secure_frontend_checkout", false);
+    }
+
+    @Benchmark
+    public Set<String> lookupHooks() {
+        return ShopwareUtil.getLookupHooks("Shopware_Controllers_Frontend_Checkout::finishAction::after");
+    }
+
+    /**
+     * Baseline of the former per call "Pattern.compile" for "{url controller=...}"
+     */
+    @Benchmark
+    public String attributeCompilePerCall() {
+        Matcher matcher = Pattern.compile("controller=['|\"]*(\\w+)['|\"]*").matcher(URL_TAG);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    @Benchmark
+    public String attributeScanner() {
+        return RegexUtil.getAttributeWord(URL_TAG, "controller");
+    }
+
+    /**
+     * Baseline of the former per call "Pattern.compile" for template to controller action mapping
+     */
+    @Benchmark
+    public String templateActionCompilePerCall() {
+        Matcher matcher = Pattern.compile(".*[/]*(frontend|backend|core)/(\\w+)/(\\w+)\\.tpl").matcher(TEMPLATE_NAME);
+        return matcher.find() ? matcher.group(3) : null;
+    }
+
+    @Benchmark
+    public String templateActionPrecompiled() {
+        Matcher matcher = RegexUtil.TEMPLATE_ACTION.matcher(TEMPLATE_NAME);
+        return matcher.find() ? matcher.group(3) : null;
+    }
+
+    @Benchmark
+    public String tagAttributeValue() {
+        return ExtJsUtil.getAttributeTagValueFromSmartyString("s", "name", "{s name=swag-last-registrations/date namespace='backend/foo'}");
+    }
+}
@@ -0,0 +1,359 @@
+package de.espend.idea.shopware;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.SimpleModificationTracker;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileCopyEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiTreeChangeAdapter;
+import com.intellij.psi.PsiTreeChangeEvent;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.Alarm;
+import com.intellij.util.containers.ContainerUtil;
+import com.jetbrains.php.lang.psi.PhpFile;
+import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import de.espend.idea.shopware.index.dict.EventEmitter;
+import de.espend.idea.shopware.index.utils.EventEmitterIndexUtil;
+import de.espend.idea.shopware.util.ShopwareUtil;
+import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Project storage for "notify" events and "setElement" plugin configs
+ *
+ * Event names are stored with the file and literal offset of their emitters, so navigation does not need to walk
+ * the emitting methods
+ *
+ * Snapshot is build on the EventEmitterIndex and kept as contribution per file. PHP changes from PSI and VFS events
+ * only mark their files as dirty; after a debounce only the index data of dirty files is read again and merged, in a
+ * background read action which gives way to write actions. A full index pass is only done on start and after indexing
+ *
+ * Contributions are stored unfiltered; receivers depend on types of any PHP file, so they are resolved again
+ * whenever the snapshot is merged
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class NotifyEventService implements Disposable {
+
+    private static final int UPDATE_DELAY = 500;
+
+    @NotNull
+    private final Project project;
+
+    @NotNull
+    private final Alarm alarm;
+
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    private volatile Map<String, Collection<String>> events = Collections.emptyMap();
+    private volatile Set<String> configs = Collections.emptySet();
+    private volatile Map<String, Collection<EventLocation>> locations = Collections.emptyMap();
+
+    /**
+     * Only accessed inside "update"; replaced as a whole, so a canceled pass leaves it untouched
+     */
+    private Map<VirtualFile, FileEmitters> contributions = Collections.emptyMap();
+
+    private final Set<VirtualFile> dirtyFiles = ContainerUtil.newConcurrentSet();
+    private final AtomicBoolean fullRebuild = new AtomicBoolean(true);
+
+    private final SimpleModificationTracker modificationTracker = new SimpleModificationTracker();
+
+    public NotifyEventService(@NotNull Project project) {
+        this.project = project;
+        this.alarm = new Alarm(Alarm.ThreadToUse.POOLED_THREAD, this);
+    }
+
+    public static NotifyEventService getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, NotifyEventService.class);
+    }
+
+    /**
+     * event name to its "Class.method" emitters
+     */
+    @NotNull
+    public Map<String, Collection<String>> getEvents() {
+        return events;
+    }
+
+    /**
+     * Name literals of all emitters of the event; a hash lookup and an offset resolve per emitter file
+     */
+    @NotNull
+    public Collection<PsiElement> getEventTargets(@NotNull String event) {
+        Collection<EventLocation> eventLocations = locations.get(event);
+        if(eventLocations == null) {
+            return Collections.emptyList();
+        }
+
+        Collection<PsiElement> targets = new ArrayList<>();
+        for (EventLocation location : eventLocations) {
+            StringLiteralExpression literal = ShopwareUtil.getStringLiteralAtOffset(project, location.virtualFile, location.offset, event);
+            if(literal != null) {
+                targets.add(literal);
+            }
+        }
+
+        return targets;
+    }
+
+    @NotNull
+    public Set<String> getConfigs() {
+        return configs;
+    }
+
+    /**
+     * Incremented on every snapshot which is different to the previous one
+     */
+    @NotNull
+    public ModificationTracker getModificationTracker() {
+        return modificationTracker;
+    }
+
+    public void start() {
+        if(!started.compareAndSet(false, true)) {
+            return;
+        }
+
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new MyPsiTreeChangeListener(), this);
+        project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new MyBulkFileListener());
+
+        scheduleUpdate();
+    }
+
+    private void fileChanged(@NotNull VirtualFile virtualFile) {
+        if(!started.get()) {
+            return;
+        }
+
+        // deleted directories have no php children events
+        if(virtualFile.isDirectory()) {
+            fullRebuild.set(true);
+        } else {
+            dirtyFiles.add(virtualFile);
+        }
+
+        scheduleUpdate();
+    }
+
+    private void scheduleUpdate() {
+        if(alarm.isDisposed()) {
+            return;
+        }
+
+        alarm.cancelAllRequests();
+        alarm.addRequest(this::update, UPDATE_DELAY);
+    }
+
+    private synchronized void update() {
+        if(project.isDisposed()) {
+            return;
+        }
+
+        if(DumbService.isDumb(project)) {
+            // index data of all files can change while indexing
+            fullRebuild.set(true);
+            DumbService.getInstance(project).runWhenSmart(this::scheduleUpdate);
+            return;
+        }
+
+        boolean full = fullRebuild.getAndSet(false);
+
+        Set<VirtualFile> files = new HashSet<>(dirtyFiles);
+        dirtyFiles.removeAll(files);
+
+        if(!full && files.isEmpty()) {
+            return;
+        }
+
+        // canceled by a write action; try again later
+        if(!ProgressIndicatorUtils.runInReadActionWithWriteActionPriority(() -> rebuild(full, files))) {
+            if(full) {
+                fullRebuild.set(true);
+            }
+
+            dirtyFiles.addAll(files);
+            scheduleUpdate();
+        }
+    }
+
+    private void rebuild(boolean full, @NotNull Set<VirtualFile> files) {
+        Map<VirtualFile, FileEmitters> contributions;
+
+        if(full) {
+            contributions = new HashMap<>();
+            EventEmitterIndexUtil.visitAllEmitters(project, (name, virtualFile, emitter) ->
+                contributions.computeIfAbsent(virtualFile, f -> new FileEmitters()).add(name, emitter)
+            );
+        } else {
+            contributions = new HashMap<>(this.contributions);
+
+            GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+            for (VirtualFile file : files) {
+                ProgressManager.checkCanceled();
+
+                contributions.remove(file);
+                if(!file.isValid() || !scope.contains(file)) {
+                    continue;
+                }
+
+                EventEmitterIndexUtil.visitFileEmitters(project, file, (name, virtualFile, emitter) ->
+                    contributions.computeIfAbsent(virtualFile, f -> new FileEmitters()).add(name, emitter)
+                );
+            }
+        }
+
+        Map<String, Collection<String>> events = new HashMap<>();
+        Map<String, Collection<EventLocation>> locations = new HashMap<>();
+        Set<String> configs = new HashSet<>();
+
+        // receivers depend on types of other files; resolve them on every snapshot and not once per contribution
+        EventEmitterIndexUtil.ReceiverFilter filter = new EventEmitterIndexUtil.ReceiverFilter(project);
+
+        for (Map.Entry<VirtualFile, FileEmitters> entry : contributions.entrySet()) {
+            ProgressManager.checkCanceled();
+
+            for (Map.Entry<String, List<EventEmitter>> emitters : entry.getValue().emitters.entrySet()) {
+                String name = emitters.getKey();
+
+                for (EventEmitter emitter : emitters.getValue()) {
+                    if(!filter.accepts(emitter)) {
+                        continue;
+                    }
+
+                    if(emitter.getKind() == EventEmitter.Kind.CONFIG) {
+                        configs.add(name);
+                        continue;
+                    }
+
+                    Collection<String> signatures = events.computeIfAbsent(name, s -> new HashSet<>());
+                    if(StringUtils.isNotBlank(emitter.getSignature())) {
+                        signatures.add(emitter.getSignature());
+                    }
+
+                    locations.computeIfAbsent(name, s -> new ArrayList<>()).add(new EventLocation(entry.getKey(), emitter.getOffset()));
+                }
+            }
+        }
+
+        this.contributions = contributions;
+
+        // offsets move on nearly every edit; they must not invalidate caches depending on event names
+        this.locations = Collections.unmodifiableMap(locations);
+
+        if(events.equals(this.events) && configs.equals(this.configs)) {
+            return;
+        }
+
+        this.events = Collections.unmodifiableMap(events);
+        this.configs = Collections.unmodifiableSet(configs);
+
+        modificationTracker.incModificationCount();
+    }
+
+    @Override
+    public void dispose() {
+    }
+
+    private class MyPsiTreeChangeListener extends PsiTreeChangeAdapter {
+        @Override
+        public void childAdded(@NotNull PsiTreeChangeEvent event) {
+            visitEvent(event);
+        }
+
+        @Override
+        public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+            visitEvent(event);
+        }
+
+        @Override
+        public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+            visitEvent(event);
+        }
+
+        @Override
+        public void childMoved(@NotNull PsiTreeChangeEvent event) {
+            visitEvent(event);
+        }
+
+        @Override
+        public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+            visitEvent(event);
+        }
+
+        private void visitEvent(@NotNull PsiTreeChangeEvent event) {
+            PsiFile psiFile = event.getFile();
+            if(!(psiFile instanceof PhpFile)) {
+                return;
+            }
+
+            VirtualFile virtualFile = psiFile.getVirtualFile();
+            if(virtualFile != null) {
+                fileChanged(virtualFile);
+            }
+        }
+    }
+
+    private class MyBulkFileListener implements BulkFileListener {
+        @Override
+        public void after(@NotNull List<? extends VFileEvent> events) {
+            for (VFileEvent event : events) {
+                VirtualFile virtualFile = event.getFile();
+                if(virtualFile == null) {
+                    continue;
+                }
+
+                if(virtualFile.isDirectory() ? isStructureEvent(event) : "php".equalsIgnoreCase(virtualFile.getExtension())) {
+                    fileChanged(virtualFile);
+                }
+            }
+        }
+
+        /**
+         * Directories with php files inside can appear or disappear without an event for their children
+         */
+        private boolean isStructureEvent(@NotNull VFileEvent event) {
+            return event instanceof VFileCreateEvent || event instanceof VFileDeleteEvent || event instanceof VFileMoveEvent || event instanceof VFileCopyEvent;
+        }
+    }
+
+    /**
+     * Index data of one file; receivers are resolved when the snapshot is built
+     */
+    private static class FileEmitters {
+        private final Map<String, List<EventEmitter>> emitters = new HashMap<>();
+
+        private void add(@NotNull String name, @NotNull EventEmitter emitter) {
+            emitters.computeIfAbsent(name, s -> new ArrayList<>()).add(emitter);
+        }
+    }
+
+    private static class EventLocation {
+        @NotNull
+        private final VirtualFile virtualFile;
+
+        private final int offset;
+
+        private EventLocation(@NotNull VirtualFile virtualFile, int offset) {
+            this.virtualFile = virtualFile;
+            this.offset = offset;
+        }
+    }
+}
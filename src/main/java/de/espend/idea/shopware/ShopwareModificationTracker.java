@@ -0,0 +1,513 @@
+package de.espend.idea.shopware;
+
+import com.intellij.lang.javascript.JavaScriptFileType;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.SimpleModificationTracker;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileContentChangeEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiTreeChangeAdapter;
+import com.intellij.psi.PsiTreeChangeEvent;
+import com.intellij.psi.impl.PsiManagerEx;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.containers.ContainerUtil;
+import com.jetbrains.php.lang.PhpFileType;
+import com.jetbrains.php.lang.psi.PhpFile;
+import com.jetbrains.php.lang.psi.elements.Method;
+import com.jetbrains.php.lang.psi.elements.MethodReference;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.jetbrains.php.lang.psi.elements.PhpNamedElement;
+import com.jetbrains.smarty.SmartyFile;
+import com.jetbrains.smarty.SmartyFileType;
+import com.jetbrains.smarty.lang.psi.SmartyTag;
+import de.espend.idea.shopware.util.ShopwareFQDN;
+import de.espend.idea.shopware.util.TemplateUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Shopware related modification counters, so caches only get invalidated by file changes which are relevant for them
+ *
+ * Typing inside a unrelated PHP method or template does not drop all hook, event and service caches, which was the case
+ * with the global PsiModificationTracker.MODIFICATION_COUNT
+ *
+ * PSI changes only mark their file as dirty. Dirty files are classified when any counter is read next, so all changes
+ * of a command or of some typing are compared once against the last known state of the file
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class ShopwareModificationTracker implements Disposable {
+
+    public enum Kind {
+        /**
+         * Classes providing "getSubscribedEvents" and plugin bootstraps: class declaration and subscription set
+         */
+        SUBSCRIBER,
+
+        /**
+         * Smarty template structure: block, extends and include tags; also any template added, removed or moved
+         */
+        SMARTY,
+
+        /**
+         * Set of block names of any Smarty template; also any template added, removed or moved
+         */
+        SMARTY_BLOCK,
+
+        /**
+         * Ini files and snippet usages in Smarty and ExtJs
+         */
+        SNIPPET,
+
+        /**
+         * Shopware_Controllers_* and other controller classes: class declaration and methods
+         */
+        CONTROLLER,
+
+        /**
+         * Doctrine models: class declaration and methods
+         */
+        MODEL,
+
+        /**
+         * Class, method and visibility changes of any PHP class; everything hooks are build on
+         */
+        HOOK,
+
+        /**
+         * Class declarations of any PHP file: name, super class and interfaces; methods are not part of it
+         */
+        PHP_CLASS
+    }
+
+    private static final Key<FileState> FILE_STATE = new Key<>("SW_MODIFICATION_FILE_STATE");
+
+    private static final Set<String> SMARTY_STRUCTURE_TAGS = new HashSet<>(Arrays.asList("block", "extends", "include"));
+    private static final Set<String> SMARTY_SNIPPET_TAGS = new HashSet<>(Arrays.asList("s", "se", "snippet", "namespace"));
+    private static final String[] SMARTY_TAG_ATTRIBUTES = new String[] {"name", "file", "namespace"};
+
+    @NotNull
+    private final Project project;
+
+    @NotNull
+    private final Map<Kind, SimpleModificationTracker> trackers = new EnumMap<>(Kind.class);
+
+    private final Set<PsiFile> dirtyFiles = ContainerUtil.newConcurrentSet();
+
+    public ShopwareModificationTracker(@NotNull Project project) {
+        this.project = project;
+
+        for (Kind kind : Kind.values()) {
+            trackers.put(kind, new KindModificationTracker());
+        }
+
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new MyPsiTreeChangeListener(), this);
+
+        project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new MyBulkFileListener());
+        project.getMessageBus().connect(this).subscribe(DumbService.DUMB_MODE, new DumbService.DumbModeListener() {
+            @Override
+            public void enteredDumbMode() {
+            }
+
+            @Override
+            public void exitDumbMode() {
+                // indexes are ready now; values calculated before are incomplete
+                incModificationCount(EnumSet.allOf(Kind.class));
+            }
+        });
+    }
+
+    public static ShopwareModificationTracker getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, ShopwareModificationTracker.class);
+    }
+
+    @NotNull
+    public static ModificationTracker getTracker(@NotNull Project project, @NotNull Kind kind) {
+        return getInstance(project).trackers.get(kind);
+    }
+
+    /**
+     * Cache dependencies for multiple kinds, eg for CachedValueProvider.Result.create
+     */
+    @NotNull
+    public static ModificationTracker[] getTrackers(@NotNull Project project, @NotNull Kind... kinds) {
+        ModificationTracker[] modificationTrackers = new ModificationTracker[kinds.length];
+
+        for (int i = 0; i < kinds.length; i++) {
+            modificationTrackers[i] = getTracker(project, kinds[i]);
+        }
+
+        return modificationTrackers;
+    }
+
+    private void incModificationCount(@NotNull Collection<Kind> kinds) {
+        for (Kind kind : kinds) {
+            trackers.get(kind).incModificationCount();
+        }
+    }
+
+    /**
+     * Compare all files changed since the last read against their last known state
+     *
+     * Every file is only taken by one reader; a nested read while classifying sees the remaining files only
+     */
+    private void classifyDirtyFiles() {
+        if(dirtyFiles.isEmpty()) {
+            return;
+        }
+
+        ApplicationManager.getApplication().runReadAction(() -> {
+            for (PsiFile psiFile : dirtyFiles) {
+                if(dirtyFiles.remove(psiFile)) {
+                    classifyFile(psiFile);
+                }
+            }
+        });
+    }
+
+    private void classifyFile(@NotNull PsiFile psiFile) {
+        VirtualFile virtualFile = psiFile.getVirtualFile();
+
+        // removed or reparsed; VFS events cover the file itself
+        if(!psiFile.isValid()) {
+            if(virtualFile != null) {
+                incModificationCount(getKinds(virtualFile));
+            }
+
+            return;
+        }
+
+        FileState state = createFileState(psiFile);
+        FileState before = psiFile.getUserData(FILE_STATE);
+
+        psiFile.putUserData(FILE_STATE, state);
+
+        Set<Kind> kinds = EnumSet.noneOf(Kind.class);
+        kinds.addAll(state.kinds);
+
+        // first change of this file: nothing to compare with
+        if(before == null) {
+            kinds.addAll(state.hashes.keySet());
+            if(virtualFile != null) {
+                kinds.addAll(getKinds(virtualFile));
+            }
+
+            incModificationCount(kinds);
+            return;
+        }
+
+        kinds.addAll(before.kinds);
+
+        Set<Kind> hashKinds = EnumSet.noneOf(Kind.class);
+        hashKinds.addAll(state.hashes.keySet());
+        hashKinds.addAll(before.hashes.keySet());
+        for (Kind kind : hashKinds) {
+            if(!Objects.equals(before.hashes.get(kind), state.hashes.get(kind))) {
+                kinds.add(kind);
+            }
+        }
+
+        incModificationCount(kinds);
+    }
+
+    /**
+     * Classify a file without resolving anything; called for dirty files once a counter is read
+     *
+     * Kinds with a hash are only incremented if the hash changes, all others on every change
+     */
+    @NotNull
+    private static FileState createFileState(@NotNull PsiFile psiFile) {
+        Set<Kind> kinds = EnumSet.noneOf(Kind.class);
+        Map<Kind, Integer> hashes = new EnumMap<>(Kind.class);
+
+        if(psiFile instanceof SmartyFile) {
+            int structureHash = 1;
+            int snippetHash = 1;
+            Set<String> blockNames = new HashSet<>();
+
+            for (SmartyTag smartyTag : PsiTreeUtil.findChildrenOfType(psiFile, SmartyTag.class)) {
+                String name = smartyTag.getName();
+
+                if(SMARTY_STRUCTURE_TAGS.contains(name)) {
+                    structureHash = 31 * structureHash + getTagHash(smartyTag, name);
+                } else if(SMARTY_SNIPPET_TAGS.contains(name)) {
+                    snippetHash = 31 * snippetHash + getTagHash(smartyTag, name);
+                }
+
+                if("block".equals(name)) {
+                    ContainerUtil.addIfNotNull(blockNames, TemplateUtil.getTagAttributeValueByName(smartyTag, "name"));
+                }
+            }
+
+            hashes.put(Kind.SMARTY, structureHash);
+            hashes.put(Kind.SMARTY_BLOCK, blockNames.hashCode());
+            hashes.put(Kind.SNIPPET, snippetHash);
+
+            return new FileState(kinds, hashes);
+        }
+
+        if(!(psiFile instanceof PhpFile)) {
+            VirtualFile virtualFile = psiFile.getVirtualFile();
+            if(virtualFile != null) {
+                kinds.addAll(getKinds(virtualFile));
+            }
+
+            return new FileState(kinds, hashes);
+        }
+
+        VirtualFile virtualFile = psiFile.getVirtualFile();
+        String path = virtualFile != null ? virtualFile.getPath() : "";
+
+        boolean isModelPath = path.contains("/Models/");
+        boolean isControllerPath = path.contains("/Controllers/");
+
+        int subscriberHash = 1;
+        int controllerHash = 1;
+        int modelHash = 1;
+        int structureHash = 1;
+        int classHash = 1;
+
+        boolean isSubscriberFile = false;
+        boolean isControllerFile = isControllerPath;
+        boolean isModelFile = isModelPath;
+
+        for (PhpNamedElement phpNamedElement : ((PhpFile) psiFile).getTopLevelDefs().values()) {
+            if(!(phpNamedElement instanceof PhpClass)) {
+                continue;
+            }
+
+            PhpClass phpClass = (PhpClass) phpNamedElement;
+            String fqn = phpClass.getFQN();
+            String superFqn = phpClass.getSuperFQN();
+
+            int headerHash = fqn.hashCode();
+            headerHash = 31 * headerHash + Objects.hashCode(superFqn);
+            headerHash = 31 * headerHash + Arrays.hashCode(phpClass.getInterfaceNames());
+
+            int methodsHash = 1;
+            for (Method method : phpClass.getOwnMethods()) {
+                methodsHash = 31 * methodsHash + method.getName().hashCode();
+                methodsHash = 31 * methodsHash + method.getAccess().hashCode();
+            }
+
+            Method subscribedEvents = phpClass.findOwnMethodByName("getSubscribedEvents");
+            if(subscribedEvents != null || phpClass.getName().endsWith("Bootstrap") ||
+                (superFqn != null && (superFqn.contains("Bootstrap") || superFqn.equals(ShopwareFQDN.PLUGIN_BOOTSTRAP)))) {
+                isSubscriberFile = true;
+                subscriberHash = 31 * subscriberHash + headerHash;
+                subscriberHash = 31 * subscriberHash + getSubscriptionHash(phpClass, subscribedEvents);
+            }
+
+            if(isControllerPath || fqn.startsWith("\\Shopware_Controllers_") || (superFqn != null && superFqn.contains("Controller"))) {
+                isControllerFile = true;
+                controllerHash = 31 * controllerHash + headerHash;
+                controllerHash = 31 * controllerHash + methodsHash;
+            }
+
+            if(isModelPath || (superFqn != null && (superFqn.endsWith("ModelEntity") || superFqn.endsWith("ModelRepository")))) {
+                isModelFile = true;
+                modelHash = 31 * modelHash + headerHash;
+                modelHash = 31 * modelHash + methodsHash;
+            }
+
+            classHash = 31 * classHash + headerHash;
+
+            structureHash = 31 * structureHash + fqn.hashCode();
+            structureHash = 31 * structureHash + Objects.hashCode(superFqn);
+            structureHash = 31 * structureHash + methodsHash;
+        }
+
+        // a file leaving a kind also changes its hash: present before, absent now
+        if(isSubscriberFile) {
+            hashes.put(Kind.SUBSCRIBER, subscriberHash);
+        }
+
+        if(isControllerFile) {
+            hashes.put(Kind.CONTROLLER, controllerHash);
+        }
+
+        if(isModelFile) {
+            hashes.put(Kind.MODEL, modelHash);
+        }
+
+        hashes.put(Kind.HOOK, structureHash);
+        hashes.put(Kind.PHP_CLASS, classHash);
+
+        return new FileState(kinds, hashes);
+    }
+
+    /**
+     * Subscription set of a class: "getSubscribedEvents" and all "subscribeEvent" / "createEvent" calls
+     */
+    private static int getSubscriptionHash(@NotNull PhpClass phpClass, @Nullable Method subscribedEvents) {
+        int hash = subscribedEvents != null ? subscribedEvents.getText().hashCode() : 0;
+
+        for (MethodReference methodReference : PsiTreeUtil.findChildrenOfType(phpClass, MethodReference.class)) {
+            String name = methodReference.getName();
+            if("subscribeEvent".equals(name) || "createEvent".equals(name)) {
+                hash = 31 * hash + methodReference.getText().hashCode();
+            }
+        }
+
+        return hash;
+    }
+
+    /**
+     * {block name="foo"} => hash of "block" and "foo"
+     */
+    private static int getTagHash(@NotNull SmartyTag smartyTag, @NotNull String name) {
+        int hash = name.hashCode();
+
+        for (String attribute : SMARTY_TAG_ATTRIBUTES) {
+            hash = 31 * hash + Objects.hashCode(TemplateUtil.getTagAttributeValueByName(smartyTag, attribute));
+        }
+
+        return hash;
+    }
+
+    /**
+     * Kinds by file type only, for VFS events where no PSI is available
+     */
+    @NotNull
+    private static Set<Kind> getKinds(@NotNull VirtualFile virtualFile) {
+        FileType fileType = virtualFile.getFileType();
+
+        if(fileType == PhpFileType.INSTANCE) {
+            return EnumSet.of(Kind.SUBSCRIBER, Kind.CONTROLLER, Kind.MODEL, Kind.HOOK, Kind.PHP_CLASS);
+        }
+
+        if(fileType == SmartyFileType.INSTANCE) {
+            return EnumSet.of(Kind.SMARTY, Kind.SMARTY_BLOCK, Kind.SNIPPET);
+        }
+
+        if(fileType == JavaScriptFileType.INSTANCE || "ini".equalsIgnoreCase(virtualFile.getExtension())) {
+            return EnumSet.of(Kind.SNIPPET);
+        }
+
+        return Collections.emptySet();
+    }
+
+    @Override
+    public void dispose() {
+    }
+
+    private static class FileState {
+        @NotNull
+        private final Set<Kind> kinds;
+
+        @NotNull
+        private final Map<Kind, Integer> hashes;
+
+        FileState(@NotNull Set<Kind> kinds, @NotNull Map<Kind, Integer> hashes) {
+            this.kinds = kinds;
+            this.hashes = hashes;
+        }
+    }
+
+    /**
+     * Counter which classifies dirty files first, so cache checks always see all changes
+     */
+    private class KindModificationTracker extends SimpleModificationTracker {
+        @Override
+        public long getModificationCount() {
+            classifyDirtyFiles();
+            return super.getModificationCount();
+        }
+    }
+
+    private class MyPsiTreeChangeListener extends PsiTreeChangeAdapter {
+        @Override
+        public void childAdded(@NotNull PsiTreeChangeEvent event) {
+            fileChanged(event);
+        }
+
+        @Override
+        public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+            fileChanged(event);
+        }
+
+        @Override
+        public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+            fileChanged(event);
+        }
+
+        @Override
+        public void childMoved(@NotNull PsiTreeChangeEvent event) {
+            fileChanged(event);
+        }
+
+        @Override
+        public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+            fileChanged(event);
+        }
+
+        /**
+         * Runs inside the write action; only remember the file, it is classified on the next read of a counter
+         */
+        private void fileChanged(@NotNull PsiTreeChangeEvent event) {
+            PsiFile psiFile = event.getFile();
+
+            // directory or file level changes
+            if(psiFile == null) {
+                incModificationCount(EnumSet.allOf(Kind.class));
+                return;
+            }
+
+            dirtyFiles.add(psiFile);
+        }
+    }
+
+    private class MyBulkFileListener implements BulkFileListener {
+        @Override
+        public void after(@NotNull List<? extends VFileEvent> events) {
+            Set<Kind> kinds = EnumSet.noneOf(Kind.class);
+
+            for (VFileEvent event : events) {
+                VirtualFile virtualFile = event.getFile();
+
+                if(virtualFile == null) {
+                    incModificationCount(EnumSet.allOf(Kind.class));
+                    return;
+                }
+
+                // only renames change the structure; writable, encoding, ... flags do not
+                if(event instanceof VFilePropertyChangeEvent && !VirtualFile.PROP_NAME.equals(((VFilePropertyChangeEvent) event).getPropertyName())) {
+                    continue;
+                }
+
+                // saving a file with loaded PSI; its changes were already marked by the PSI listener
+                if(event instanceof VFileContentChangeEvent && isPsiLoaded(virtualFile)) {
+                    continue;
+                }
+
+                // directory changes can contain everything
+                if(virtualFile.isDirectory()) {
+                    incModificationCount(EnumSet.allOf(Kind.class));
+                    return;
+                }
+
+                kinds.addAll(getKinds(virtualFile));
+            }
+
+            incModificationCount(kinds);
+        }
+
+        private boolean isPsiLoaded(@NotNull VirtualFile virtualFile) {
+            return !project.isDisposed() && ((PsiManagerEx) PsiManager.getInstance(project)).getFileManager().getCachedPsiFile(virtualFile) != null;
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package de.espend.idea.shopware;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiTreeChangeAdapter;
+import com.intellij.psi.PsiTreeChangeEvent;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.containers.ContainerUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.jetbrains.smarty.SmartyFile;
+import com.jetbrains.smarty.SmartyFileType;
+import de.espend.idea.shopware.index.SmartyExtendsStubIndex;
+import de.espend.idea.shopware.index.TemplateFileIndex;
+import de.espend.idea.shopware.util.TemplateUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Smarty "{extends}" graph of the project: template file to the template names it extends and template name to the
+ * files extending it
+ *
+ * Graph is an immutable snapshot build once on SmartyExtendsStubIndex; after that only changed Smarty files are parsed
+ * again on next access and a new snapshot is swapped in. Nothing is locked: listeners only record dirty files, so a
+ * template change inside a write action never waits for a graph build. Directory changes and leaving dumb mode trigger
+ * a full rebuild
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class TemplateInheritanceService implements Disposable {
+
+    @NotNull
+    private final Project project;
+
+    private final AtomicReference<Graph> graph = new AtomicReference<>();
+
+    /**
+     * Snapshots build before the last invalidation are thrown away
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Set<VirtualFile> dirtyFiles = ContainerUtil.newConcurrentSet();
+
+    public TemplateInheritanceService(@NotNull Project project) {
+        this.project = project;
+
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new MyPsiTreeChangeListener(), this);
+
+        project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new MyBulkFileListener());
+        project.getMessageBus().connect(this).subscribe(DumbService.DUMB_MODE, new DumbService.DumbModeListener() {
+            @Override
+            public void enteredDumbMode() {
+            }
+
+            @Override
+            public void exitDumbMode() {
+                invalidate();
+            }
+        });
+    }
+
+    public static TemplateInheritanceService getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, TemplateInheritanceService.class);
+    }
+
+    /**
+     * Files of all templates the given file extends; the file itself is never part of it
+     */
+    @NotNull
+    public Set<VirtualFile> getParents(@NotNull VirtualFile virtualFile) {
+        Graph graph = getGraph();
+        if(graph == null) {
+            return Collections.emptySet();
+        }
+
+        return getParents(graph, virtualFile);
+    }
+
+    /**
+     * Files extending the given file by one of its template names
+     */
+    @NotNull
+    public Set<VirtualFile> getChildren(@NotNull VirtualFile virtualFile) {
+        Graph graph = getGraph();
+        if(graph == null) {
+            return Collections.emptySet();
+        }
+
+        return getChildren(graph, virtualFile);
+    }
+
+    /**
+     * All parents up to the given level, nearest first; cycles are visited once
+     */
+    @NotNull
+    public Set<VirtualFile> getAncestors(@NotNull VirtualFile virtualFile, int depth) {
+        return walk(virtualFile, depth, true);
+    }
+
+    /**
+     * All children down to the given level, nearest first; cycles are visited once
+     */
+    @NotNull
+    public Set<VirtualFile> getDescendants(@NotNull VirtualFile virtualFile, int depth) {
+        return walk(virtualFile, depth, false);
+    }
+
+    @NotNull
+    private Set<VirtualFile> getParents(@NotNull Graph graph, @NotNull VirtualFile virtualFile) {
+        Set<VirtualFile> virtualFiles = new LinkedHashSet<>();
+
+        for (String templateName : graph.parents.getOrDefault(virtualFile, Collections.emptySet())) {
+            virtualFiles.addAll(TemplateUtil.getTemplateFiles(project, templateName));
+        }
+
+        virtualFiles.remove(virtualFile);
+
+        return virtualFiles;
+    }
+
+    @NotNull
+    private Set<VirtualFile> getChildren(@NotNull Graph graph, @NotNull VirtualFile virtualFile) {
+        Set<VirtualFile> virtualFiles = new LinkedHashSet<>();
+
+        for (String templateName : getTemplateNames(virtualFile)) {
+            virtualFiles.addAll(graph.children.getOrDefault(templateName, Collections.emptySet()));
+        }
+
+        virtualFiles.remove(virtualFile);
+
+        return virtualFiles;
+    }
+
+    @NotNull
+    private Set<VirtualFile> walk(@NotNull VirtualFile virtualFile, int depth, boolean up) {
+        Graph graph = getGraph();
+        if(graph == null) {
+            return Collections.emptySet();
+        }
+
+        Set<VirtualFile> visited = new LinkedHashSet<>();
+        visited.add(virtualFile);
+
+        Collection<VirtualFile> level = Collections.singletonList(virtualFile);
+        for (int i = 0; i < depth && level.size() > 0; i++) {
+            Collection<VirtualFile> next = new ArrayList<>();
+
+            for (VirtualFile file : level) {
+                for (VirtualFile relation : up ? getParents(graph, file) : getChildren(graph, file)) {
+                    if(visited.add(relation)) {
+                        next.add(relation);
+                    }
+                }
+            }
+
+            level = next;
+        }
+
+        visited.remove(virtualFile);
+
+        return visited;
+    }
+
+    /**
+     * Current snapshot with all dirty files applied; concurrent callers may build in parallel, the first one wins
+     *
+     * @return null if graph is not available in dumb mode
+     */
+    @Nullable
+    private Graph getGraph() {
+        if(DumbService.isDumb(project)) {
+            return null;
+        }
+
+        Graph current = this.graph.get();
+
+        long stamp = invalidations.get();
+        if(current == null || current.stamp != stamp) {
+            // a canceled rebuild keeps the old snapshot, the next call starts again
+            Graph rebuild = Graph.build(project, stamp);
+            current = this.graph.compareAndSet(current, rebuild) ? rebuild : this.graph.get();
+        }
+
+        if(dirtyFiles.isEmpty() || current == null) {
+            return current;
+        }
+
+        Set<VirtualFile> files = new HashSet<>(dirtyFiles);
+        dirtyFiles.removeAll(files);
+
+        Graph updated;
+        try {
+            updated = current.update(project, files);
+        } catch (ProcessCanceledException e) {
+            dirtyFiles.addAll(files);
+            throw e;
+        }
+
+        // someone else swapped the snapshot meanwhile; apply the files again on next access
+        if(!this.graph.compareAndSet(current, updated)) {
+            dirtyFiles.addAll(files);
+        }
+
+        return updated;
+    }
+
+    @NotNull
+    private Set<String> getTemplateNames(@NotNull VirtualFile virtualFile) {
+        Set<String> templateNames = new HashSet<>(TemplateFileIndex.getTemplateNames(virtualFile));
+
+        // project relative fallback
+        String templateName = TemplateUtil.getTemplateName(project, virtualFile);
+        if(templateName != null) {
+            templateNames.add(templateName);
+        }
+
+        return templateNames;
+    }
+
+    private void invalidate() {
+        invalidations.incrementAndGet();
+    }
+
+    private void fileChanged(@NotNull VirtualFile virtualFile) {
+        dirtyFiles.add(virtualFile);
+    }
+
+    @Override
+    public void dispose() {
+    }
+
+    private class MyPsiTreeChangeListener extends PsiTreeChangeAdapter {
+        @Override
+        public void childAdded(@NotNull PsiTreeChangeEvent event) {
+            visitEvent(event);
+        }
+
+        @Override
+        public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+            visitEvent(event);
+        }
+
+        @Override
+        public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+            visitEvent(event);
+        }
+
+        @Override
+        public void childMoved(@NotNull PsiTreeChangeEvent event) {
+            visitEvent(event);
+        }
+
+        @Override
+        public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+            visitEvent(event);
+        }
+
+        private void visitEvent(@NotNull PsiTreeChangeEvent event) {
+            // in-memory copies eg of completion or injections are no part of the graph
+            PsiFile psiFile = event.getFile();
+            if(!(psiFile instanceof SmartyFile) || !psiFile.getViewProvider().isPhysical()) {
+                return;
+            }
+
+            VirtualFile virtualFile = psiFile.getVirtualFile();
+            if(virtualFile != null) {
+                fileChanged(virtualFile);
+            }
+        }
+    }
+
+    private class MyBulkFileListener implements BulkFileListener {
+        @Override
+        public void after(@NotNull List<? extends VFileEvent> events) {
+            for (VFileEvent event : events) {
+                VirtualFile virtualFile = event.getFile();
+
+                // template names of all files below can change
+                if(virtualFile == null || virtualFile.isDirectory()) {
+                    invalidate();
+                    return;
+                }
+
+                if(virtualFile.getFileType() == SmartyFileType.INSTANCE) {
+                    fileChanged(virtualFile);
+                }
+            }
+        }
+    }
+
+    /**
+     * Immutable graph snapshot; changes always create a copy
+     */
+    private static class Graph {
+        private final long stamp;
+
+        /**
+         * child file => extended template names
+         */
+        @NotNull
+        private final Map<VirtualFile, Set<String>> parents;
+
+        /**
+         * extended template name => child files
+         */
+        @NotNull
+        private final Map<String, Set<VirtualFile>> children;
+
+        private Graph(long stamp, @NotNull Map<VirtualFile, Set<String>> parents, @NotNull Map<String, Set<VirtualFile>> children) {
+            this.stamp = stamp;
+            this.parents = parents;
+            this.children = children;
+        }
+
+        @NotNull
+        private static Graph build(@NotNull Project project, long stamp) {
+            Map<VirtualFile, Set<String>> parents = new HashMap<>();
+            Map<String, Set<VirtualFile>> children = new HashMap<>();
+
+            GlobalSearchScope scope = GlobalSearchScope.getScopeRestrictedByFileTypes(GlobalSearchScope.allScope(project), SmartyFileType.INSTANCE);
+
+            Set<String> templateNames = new HashSet<>();
+            FileBasedIndex.getInstance().processAllKeys(SmartyExtendsStubIndex.KEY, templateName -> {
+                templateNames.add(templateName);
+                return true;
+            }, scope, null);
+
+            for (String templateName : templateNames) {
+                ProgressManager.checkCanceled();
+
+                FileBasedIndex.getInstance().processValues(SmartyExtendsStubIndex.KEY, templateName, null, (virtualFile, value) -> {
+                    addEdge(parents, children, virtualFile, templateName);
+                    return true;
+                }, scope);
+            }
+
+            return new Graph(stamp, parents, children);
+        }
+
+        /**
+         * Copy with the edges of the given files parsed again
+         */
+        @NotNull
+        private Graph update(@NotNull Project project, @NotNull Collection<VirtualFile> virtualFiles) {
+            Map<VirtualFile, Set<String>> parents = new HashMap<>(this.parents);
+            Map<String, Set<VirtualFile>> children = new HashMap<>(this.children);
+
+            for (VirtualFile virtualFile : virtualFiles) {
+                ProgressManager.checkCanceled();
+
+                Set<String> templateNames = parents.remove(virtualFile);
+                if(templateNames != null) {
+                    for (String templateName : templateNames) {
+                        Set<VirtualFile> files = children.get(templateName);
+                        if(files == null) {
+                            continue;
+                        }
+
+                        // sets are shared with the previous snapshot
+                        files = new HashSet<>(files);
+                        files.remove(virtualFile);
+
+                        if(files.size() == 0) {
+                            children.remove(templateName);
+                        } else {
+                            children.put(templateName, files);
+                        }
+                    }
+                }
+
+                if(!virtualFile.isValid()) {
+                    continue;
+                }
+
+                PsiFile psiFile = PsiManager.getInstance(project).findFile(virtualFile);
+                if(psiFile instanceof SmartyFile) {
+                    for (String templateName : SmartyExtendsStubIndex.getExtendsTemplateNames(psiFile)) {
+                        parents.computeIfAbsent(virtualFile, f -> new HashSet<>()).add(templateName);
+
+                        Set<VirtualFile> files = new HashSet<>(children.getOrDefault(templateName, Collections.emptySet()));
+                        files.add(virtualFile);
+                        children.put(templateName, files);
+                    }
+                }
+            }
+
+            return new Graph(stamp, parents, children);
+        }
+
+        private static void addEdge(@NotNull Map<VirtualFile, Set<String>> parents, @NotNull Map<String, Set<VirtualFile>> children, @NotNull VirtualFile child, @NotNull String templateName) {
+            parents.computeIfAbsent(child, virtualFile -> new HashSet<>()).add(templateName);
+            children.computeIfAbsent(templateName, s -> new HashSet<>()).add(child);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import com.intellij.psi.PsiElement;
 import com.intellij.util.ProcessingContext;
 import de.espend.idea.shopware.ShopwareProjectComponent;
 import de.espend.idea.shopware.util.ExtJsUtil;
+import de.espend.idea.shopware.util.RegexUtil;
 import de.espend.idea.shopware.util.SnippetUtil;
 import fr.adrienbrault.idea.symfony2plugin.Symfony2Icons;
 import fr.adrienbrault.idea.symfony2plugin.Symfony2ProjectComponent;
@@ -17,8 +18,9 @@ import fr.adrienbrault.idea.symfony2plugin.util.PsiElementUtils;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * @author Daniel Espendiller <daniel@espendiller.net>
@@ -41,7 +43,7 @@ public class ShopwareJavaScriptCompletion extends CompletionContributor {
                 }
 
                 Object value = ((JSLiteralExpression) parent).getValue();
-                if(!(value instanceof String) || !((String) value).matches("^.*name=[']*([^=]*)$")) {
+                if(!(value instanceof String) || !RegexUtil.SNIPPET_NAME_PREFIX.matcher((String) value).matches()) {
                     return;
                 }
 
@@ -61,8 +63,8 @@ public class ShopwareJavaScriptCompletion extends CompletionContributor {
                 }
 
                 CompletionResultSet myResultSet = resultSet.withPrefixMatcher(prefix);
-                for (String s : SnippetUtil.getSnippetKeysByNamespace(position.getProject(), namespace)) {
-                    myResultSet.addElement(LookupElementBuilder.create(s).withIcon(Symfony2Icons.TRANSLATION).withTypeText(namespace, true));
+                for (Map.Entry<String, Set<String>> entry : SnippetUtil.getSnippetKeyLocales(position.getProject(), namespace).entrySet()) {
+                    myResultSet.addElement(SnippetUtil.createSnippetLookupElement(entry.getKey(), namespace, entry.getValue()));
                 }
             }
         });
@@ -82,7 +84,7 @@ public class ShopwareJavaScriptCompletion extends CompletionContributor {
                 }
 
                 Object value = ((JSLiteralExpression) parent).getValue();
-                if(!(value instanceof String) || !((String) value).matches("^.*namespace=[']*([^=]*)$")) {
+                if(!(value instanceof String) || !RegexUtil.SNIPPET_NAMESPACE_PREFIX.matcher((String) value).matches()) {
                     return;
                 }
 
@@ -125,7 +127,7 @@ public class ShopwareJavaScriptCompletion extends CompletionContributor {
                 }
 
                 String substring = text.substring(0, endIndex);
-                Matcher matcher = Pattern.compile("^[^\n]*\\{.*namespace.*name=[']*([^=]*)$").matcher(substring);
+                Matcher matcher = RegexUtil.JS_NAMESPACE_PREFIX.matcher(substring);
                 if(!matcher.find()) {
                     return;
                 }
@@ -6,14 +6,13 @@ import com.intellij.icons.AllIcons;
 import com.intellij.patterns.PlatformPatterns;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.util.PsiTreeUtil;
-import com.intellij.psi.xml.XmlTag;
 import com.intellij.util.ProcessingContext;
 import com.jetbrains.php.PhpIcons;
-import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.parser.PhpElementTypes;
 import com.jetbrains.php.lang.psi.elements.*;
 import de.espend.idea.shopware.ShopwarePluginIcons;
 import de.espend.idea.shopware.ShopwareProjectComponent;
+import de.espend.idea.shopware.index.dict.PluginConfigElement;
 import de.espend.idea.shopware.util.ConfigUtil;
 import de.espend.idea.shopware.util.ShopwareUtil;
 import de.espend.idea.shopware.util.ThemeUtil;
@@ -22,6 +21,8 @@ import fr.adrienbrault.idea.symfony2plugin.util.MethodMatcher;
 import icons.ShopwareIcons;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Map;
+
 /**
  * @author Daniel Espendiller <daniel@espendiller.net>
  */
@@ -63,7 +64,7 @@ public class ShopwarePhpCompletion extends CompletionContributor{
                     }
 
                     if(new MethodMatcher.StringParameterRecursiveMatcher(originalPosition.getContext(), 0).withSignature("\\Shopware_Components_Config", "get").match() != null) {
-                        for(String type: ShopwareUtil.PLUGIN_CONFIGS) {
+                        for(String type: ShopwareUtil.getPluginConfigs(originalPosition.getProject())) {
                             result.addElement(LookupElementBuilder.create(type).withIcon(Symfony2Icons.CONFIG_VALUE));
                         }
                     }
@@ -239,9 +240,8 @@ public class ShopwarePhpCompletion extends CompletionContributor{
                         return;
                     }
 
-                    for(PhpClass phpClass: PhpIndex.getInstance(parent.getProject()).getAllSubclasses("\\Shopware\\Components\\Theme")) {
-                        String name = phpClass.getContainingFile().getContainingDirectory().getName();
-                        result.addElement(LookupElementBuilder.create(name).withIcon(ShopwarePluginIcons.SHOPWARE));
+                    for(Map.Entry<String, String> theme: ThemeUtil.getThemes(parent.getProject()).entrySet()) {
+                        result.addElement(LookupElementBuilder.create(theme.getKey()).withTypeText(theme.getValue(), true).withIcon(ShopwarePluginIcons.SHOPWARE));
                     }
 
                 }
@@ -338,17 +338,18 @@ public class ShopwarePhpCompletion extends CompletionContributor{
                         return;
                     }
 
-                    ConfigUtil.visitNamespaceConfigurations(originalPosition.getProject(), namespace, pair -> {
-                        XmlTag parentTag = pair.getSecond().getParentTag();
+                    // <element required="true" type="text"><name>foobar</name></element>
+                    for (PluginConfigElement element : ConfigUtil.getNamespaceConfigurations(originalPosition.getProject(), namespace)) {
+                        LookupElementBuilder lookupElement = LookupElementBuilder.create(element.getName())
+                            .withTypeText(element.getType(), true)
+                            .withIcon(ShopwareIcons.SHOPWARE);
 
-                        // <element required="true" type="text"><name>foobar</name></element>
-                        String type = null;
-                        if (parentTag != null) {
-                            type = parentTag.getAttributeValue("type");
+                        if(element.isRequired()) {
+                            lookupElement = lookupElement.withTailText(" (required)", true);
                         }
 
-                        result.addElement(LookupElementBuilder.create(pair.getFirst()).withTypeText(type, true).withIcon(ShopwareIcons.SHOPWARE));
-                    });
+                        result.addElement(lookupElement);
+                    }
                 }
             }
         );
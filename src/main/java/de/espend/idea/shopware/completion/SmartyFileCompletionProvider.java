@@ -4,27 +4,22 @@ import com.intellij.codeInsight.completion.*;
 import com.intellij.codeInsight.lookup.LookupElement;
 import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
-import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.util.ProcessingContext;
-import com.intellij.util.indexing.FileBasedIndex;
 import com.jetbrains.php.PhpIcons;
 import com.jetbrains.php.lang.psi.elements.Method;
-import com.jetbrains.php.lang.psi.elements.PhpTypedElement;
 import com.jetbrains.smarty.SmartyFile;
-import com.jetbrains.smarty.SmartyFileType;
 import com.jetbrains.smarty.lang.SmartyTokenTypes;
 import com.jetbrains.smarty.lang.psi.SmartyTag;
 import de.espend.idea.shopware.ShopwarePluginIcons;
 import de.espend.idea.shopware.ShopwareProjectComponent;
-import de.espend.idea.shopware.index.SmartyBlockStubIndex;
+import de.espend.idea.shopware.index.utils.ControllerViewVariableIndexUtil;
 import de.espend.idea.shopware.lookup.TemplateLookupElement;
 import de.espend.idea.shopware.util.*;
+import de.espend.idea.shopware.util.dict.BlockCatalog;
 import fr.adrienbrault.idea.symfony2plugin.Symfony2Icons;
-import fr.adrienbrault.idea.symfony2plugin.stubs.SymfonyProcessors;
 import fr.adrienbrault.idea.symfony2plugin.templating.util.TwigTypeResolveUtil;
 import org.jetbrains.annotations.NotNull;
 
@@ -105,41 +100,23 @@ public class SmartyFileCompletionProvider extends CompletionContributor  {
                         return;
                     }
 
-                    // weak block on file include; use index here
-                    for(String s: SymfonyProcessors.createResult(containingFile.getProject(), SmartyBlockStubIndex.KEY)) {
-                        Collection<VirtualFile> files = FileBasedIndex.getInstance().getContainingFiles(SmartyBlockStubIndex.KEY, s, GlobalSearchScope.getScopeRestrictedByFileTypes(GlobalSearchScope.allScope(containingFile.getProject()), SmartyFileType.INSTANCE));
-
-                        LookupElementBuilder lookupElementBuilder = LookupElementBuilder.create(s).withIcon(ShopwarePluginIcons.SHOPWARE_WEAK);
-
-                        String templateName;
-                        if(files.size() > 0) {
-                            templateName = TemplateUtil.getTemplateName(containingFile.getProject(), files.iterator().next());
-                            if(templateName != null) {
-
-                                if(files.size() > 1) {
-                                    templateName = "(" + files.size() + ") " + templateName;
-                                }
-
-                                lookupElementBuilder = lookupElementBuilder.withTypeText(templateName, true);
-                            }
+                    // weak block on file include; use precomputed index catalog here
+                    BlockCatalog.getInstance(containingFile.getProject()).visit(result.getPrefixMatcher(), (name, fileCount, templateName) -> {
+                        LookupElementBuilder lookupElementBuilder = LookupElementBuilder.create(name).withIcon(ShopwarePluginIcons.SHOPWARE_WEAK);
 
+                        if(templateName != null) {
+                            lookupElementBuilder = lookupElementBuilder.withTypeText(fileCount > 1 ? "(" + fileCount + ") " + templateName : templateName, true);
                         }
 
                         result.addElement(lookupElementBuilder);
-                    }
+
+                        return true;
+                    });
 
                 }
 
                 private void collectExtendsBlockNames(Project project, PsiFile psiFile, final @NotNull CompletionResultSet result) {
-
-                    final Map<VirtualFile, String> map = new HashMap<>();
-
-                    TemplateUtil.collectFiles(project, map::put);
-
-                    List<SmartyBlockUtil.SmartyBlock> blockNameSet = new ArrayList<>();
-                    SmartyBlockUtil.collectFileBlocks(psiFile, map, blockNameSet, 0);
-
-                    for(SmartyBlockUtil.SmartyBlock smartyBlock: blockNameSet) {
+                    for(SmartyBlockUtil.SmartyBlock smartyBlock: SmartyBlockUtil.collectFileBlocks(psiFile, 2)) {
                         result.addElement(LookupElementBuilder.create(smartyBlock.getName()).withTypeText(smartyBlock.getElement().getContainingFile().getName(), true).withIcon(ShopwarePluginIcons.SHOPWARE));
                     }
 
@@ -187,13 +164,13 @@ public class SmartyFileCompletionProvider extends CompletionContributor  {
                         result.addElement(LookupElementBuilder.create(s).withIcon(Symfony2Icons.TRANSLATION).withTypeText("Snippet", true));
                     }
 
-                    TemplateUtil.collectFiles(psiElement.getProject(), (VirtualFile virtualFile, String fileName) -> {
+                    for(String fileName: TemplateUtil.getTemplateNames(psiElement.getProject(), "tpl")) {
                         String lookupString = fileName.replaceFirst("[.][^.]+$", "");
 
                         if(!strong.contains(lookupString)) {
                             result.addElement(LookupElementBuilder.create(lookupString).withIcon(ShopwarePluginIcons.SHOPWARE).withTypeText("Template", true));
                         }
-                    }, "tpl");
+                    }
                 }
             }
         );
@@ -241,13 +218,19 @@ public class SmartyFileCompletionProvider extends CompletionContributor  {
                         return;
                     }
 
-                    ShopwareUtil.collectControllerViewVariable(method, (variableName, sourceElement, typeElement) -> {
-                        if (typeElement instanceof PhpTypedElement) {
-                            result.addElement(LookupElementBuilder.create(variableName).withTypeText(TwigTypeResolveUtil.getTypeDisplayName(psiFile.getProject(), ((PhpTypedElement) typeElement).getType().getTypes())));
-                        } else {
-                            result.addElement(LookupElementBuilder.create(variableName));
+                    // action and "PostDispatch" subscriber variables
+                    Set<String> visited = new HashSet<>();
+                    ControllerViewVariableIndexUtil.visitViewVariables(method, (virtualFile, variable) -> {
+                        if(!visited.add(variable.getName())) {
+                            return;
                         }
 
+                        Set<String> types = ControllerViewVariableIndexUtil.getTypes(psiFile.getProject(), variable);
+                        if(types.size() > 0) {
+                            result.addElement(LookupElementBuilder.create(variable.getName()).withTypeText(TwigTypeResolveUtil.getTypeDisplayName(psiFile.getProject(), types)));
+                        } else {
+                            result.addElement(LookupElementBuilder.create(variable.getName()));
+                        }
                     });
 
                 }
@@ -286,7 +269,7 @@ public class SmartyFileCompletionProvider extends CompletionContributor  {
                         return;
                     }
 
-                    for(String config: ShopwareUtil.PLUGIN_CONFIGS) {
+                    for(String config: ShopwareUtil.getPluginConfigs(parameters.getPosition().getProject())) {
                         result.addElement(LookupElementBuilder.create(config).withIcon(Symfony2Icons.CONFIG_VALUE));
                     }
 
@@ -332,8 +315,8 @@ public class SmartyFileCompletionProvider extends CompletionContributor  {
                         return;
                     }
 
-                    for (String s : SnippetUtil.getSnippetKeysByNamespace(psiElement.getProject(), namespace)) {
-                        result.addElement(LookupElementBuilder.create(s).withIcon(Symfony2Icons.TRANSLATION).withTypeText(namespace, true));
+                    for (Map.Entry<String, Set<String>> entry : SnippetUtil.getSnippetKeyLocales(psiElement.getProject(), namespace).entrySet()) {
+                        result.addElement(SnippetUtil.createSnippetLookupElement(entry.getKey(), namespace, entry.getValue()));
                     }
                 }
             }
@@ -343,14 +326,10 @@ public class SmartyFileCompletionProvider extends CompletionContributor  {
     public static List<LookupElement> getTemplateCompletion(Project project, String... extensions) {
 
         final List<LookupElement> lookupElements = new ArrayList<>();
-        final Set<String> uniqueList = new HashSet<>();
 
-        TemplateUtil.collectFiles(project, (virtualFile, fileName) -> {
-            if(!uniqueList.contains(fileName)) {
-                lookupElements.add(new TemplateLookupElement(fileName));
-                uniqueList.add(fileName);
-            }
-        }, extensions);
+        for(String fileName: TemplateUtil.getTemplateNames(project, extensions)) {
+            lookupElements.add(new TemplateLookupElement(fileName));
+        }
 
         return lookupElements;
     }
@@ -8,7 +8,7 @@ import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.PsiComment;
 import com.intellij.psi.PsiElement;
 import de.espend.idea.shopware.ShopwareProjectComponent;
-import de.espend.idea.shopware.util.ExtJsUtil;
+import de.espend.idea.shopware.util.RegexUtil;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -16,7 +16,6 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * @author Daniel Espendiller <daniel@espendiller.net>
@@ -34,7 +33,7 @@ public class JavascriptFoldingBuilder extends FoldingBuilderEx {
         for (PsiElement element : psiElement.getChildren()) {
             if(element instanceof PsiComment) {
                 String text = element.getText();
-                Matcher matcher = Pattern.compile(ExtJsUtil.JS_NAMESPACE_PATTERN).matcher(text);
+                Matcher matcher = RegexUtil.JS_NAMESPACE_COMMENT.matcher(text);
                 if(!matcher.find()) {
                     return new FoldingDescriptor[0];
                 }
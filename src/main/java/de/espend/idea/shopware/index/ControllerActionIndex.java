@@ -0,0 +1,139 @@
+package de.espend.idea.shopware.index;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.jetbrains.php.lang.PhpFileType;
+import com.jetbrains.php.lang.psi.PhpFile;
+import com.jetbrains.php.lang.psi.elements.Method;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import de.espend.idea.shopware.index.dict.ControllerDefinition;
+import de.espend.idea.shopware.index.externalizer.ControllerDefinitionExternalizer;
+import fr.adrienbrault.idea.symfony2plugin.Symfony2ProjectComponent;
+import gnu.trove.THashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lowercase "module/controller" to its controller class and actions
+ *
+ * "Shopware_Controllers_Frontend_Checkout" => "frontend/checkout"
+ *
+ * Class hierarchy is not available while indexing, so the dispatcher naming convention decides; inherited actions are
+ * resolved by following the indexed super classes
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class ControllerActionIndex extends FileBasedIndexExtension<String, ControllerDefinition> {
+
+    public static final ID<String, ControllerDefinition> KEY = ID.create("de.espend.idea.shopware.controller_action");
+    private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
+
+    private static final Pattern CONTROLLER_CLASS = Pattern.compile("^Shopware_Controllers_([A-Za-z]+)_(\\w+)$", Pattern.CASE_INSENSITIVE);
+
+    @NotNull
+    @Override
+    public ID<String, ControllerDefinition> getName() {
+        return KEY;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, ControllerDefinition, FileContent> getIndexer() {
+        return inputData -> {
+            Map<String, ControllerDefinition> map = new THashMap<>();
+
+            PsiFile psiFile = inputData.getPsiFile();
+            if(!(psiFile instanceof PhpFile) || !Symfony2ProjectComponent.isEnabled(psiFile.getProject())) {
+                return map;
+            }
+
+            for (PhpClass phpClass : PsiTreeUtil.findChildrenOfType(psiFile, PhpClass.class)) {
+                if(phpClass.isInterface() || phpClass.isTrait()) {
+                    continue;
+                }
+
+                Matcher matcher = CONTROLLER_CLASS.matcher(phpClass.getName());
+                if(!matcher.matches()) {
+                    continue;
+                }
+
+                String superClass = phpClass.getSuperFQN();
+                if(superClass == null) {
+                    continue;
+                }
+
+                Map<String, Integer> actions = new LinkedHashMap<>();
+                for (Method method : phpClass.getOwnMethods()) {
+                    if(method.getAccess().isPublic() && method.getName().endsWith("Action")) {
+                        actions.put(method.getName(), method.getTextOffset());
+                    }
+                }
+
+                String module = matcher.group(1);
+                String controller = matcher.group(2);
+
+                map.put(createKey(module, controller), new ControllerDefinition(module, controller, phpClass.getFQN(), superClass, phpClass.getTextOffset(), actions));
+            }
+
+            return map;
+        };
+    }
+
+    /**
+     * "Frontend", "Checkout" => "frontend/checkout"
+     */
+    @NotNull
+    public static String createKey(@NotNull String module, @NotNull String controller) {
+        return (module + "/" + controller).toLowerCase();
+    }
+
+    /**
+     * "\Shopware_Controllers_Backend_Application" => "backend/application"
+     */
+    @Nullable
+    public static String getKeyForClass(@NotNull String className) {
+        Matcher matcher = CONTROLLER_CLASS.matcher(className.startsWith("\\") ? className.substring(1) : className);
+        if(!matcher.matches()) {
+            return null;
+        }
+
+        return createKey(matcher.group(1), matcher.group(2));
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return this.myKeyDescriptor;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<ControllerDefinition> getValueExternalizer() {
+        return ControllerDefinitionExternalizer.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> file.getFileType() == PhpFileType.INSTANCE;
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+}
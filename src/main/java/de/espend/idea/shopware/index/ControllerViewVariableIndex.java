@@ -0,0 +1,275 @@
+package de.espend.idea.shopware.index;
+
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.jetbrains.php.lang.PhpFileType;
+import com.jetbrains.php.lang.psi.PhpFile;
+import com.jetbrains.php.lang.psi.elements.*;
+import de.espend.idea.shopware.index.dict.ViewVariable;
+import de.espend.idea.shopware.index.externalizer.ViewVariableExternalizer;
+import de.espend.idea.shopware.util.HookSubscriberUtil;
+import fr.adrienbrault.idea.symfony2plugin.Symfony2ProjectComponent;
+import gnu.trove.THashMap;
+import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Template variables assigned inside controller actions and dispatch subscribers
+ *
+ * Shopware_Controllers_Frontend_Account::ajaxLoginAction => "frontend/account/ajaxlogin"
+ * 'Enlight_Controller_Action_PostDispatchSecure_Frontend' => 'onPostDispatch' => "enlight_controller_action_postdispatchsecure_frontend"
+ *
+ * Types are stored as unresolved signatures, they are completed on usage
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class ControllerViewVariableIndex extends FileBasedIndexExtension<String, List<ViewVariable>> {
+
+    public static final ID<String, List<ViewVariable>> KEY = ID.create("de.espend.idea.shopware.controller_view_variable");
+    private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
+
+    private static final String ACTION_EVENT_PREFIX = "enlight_controller_action_";
+
+    @NotNull
+    @Override
+    public ID<String, List<ViewVariable>> getName() {
+        return KEY;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, List<ViewVariable>, FileContent> getIndexer() {
+        return inputData -> {
+            Map<String, List<ViewVariable>> map = new THashMap<>();
+
+            // every assignment goes through a "View()" call; method names are case insensitive
+            if(StringUtil.indexOfIgnoreCase(inputData.getContentAsText(), "View", 0) < 0) {
+                return map;
+            }
+
+            PsiFile psiFile = inputData.getPsiFile();
+            if(!(psiFile instanceof PhpFile) || !Symfony2ProjectComponent.isEnabled(psiFile.getProject())) {
+                return map;
+            }
+
+            for (PhpClass phpClass : PsiTreeUtil.findChildrenOfType(psiFile, PhpClass.class)) {
+                if(phpClass.isInterface()) {
+                    continue;
+                }
+
+                Map<String, Set<String>> subscribedMethods = getSubscribedMethods(phpClass);
+
+                for (Method method : phpClass.getOwnMethods()) {
+                    Set<String> keys = new HashSet<>(subscribedMethods.getOrDefault(method.getName().toLowerCase(), Collections.emptySet()));
+
+                    String actionKey = getKeyForAction(phpClass.getName(), method.getName());
+                    if(actionKey != null) {
+                        keys.add(actionKey);
+                    }
+
+                    if(keys.isEmpty()) {
+                        continue;
+                    }
+
+                    List<ViewVariable> variables = collectViewVariables(method);
+                    if(variables.isEmpty()) {
+                        continue;
+                    }
+
+                    for (String key : keys) {
+                        map.computeIfAbsent(key, s -> new ArrayList<>()).addAll(variables);
+                    }
+                }
+            }
+
+            return map;
+        };
+    }
+
+    /**
+     * "Shopware_Controllers_Frontend_Account", "ajaxLoginAction" => "frontend/account/ajaxlogin"
+     */
+    @Nullable
+    public static String getKeyForAction(@NotNull String className, @NotNull String methodName) {
+        if(!methodName.endsWith("Action") || methodName.length() == 6) {
+            return null;
+        }
+
+        String controllerKey = ControllerActionIndex.getKeyForClass(className);
+        if(controllerKey == null) {
+            return null;
+        }
+
+        return controllerKey + "/" + methodName.substring(0, methodName.length() - 6).toLowerCase();
+    }
+
+    /**
+     * "Enlight_Controller_Action_PostDispatch_Frontend" => "enlight_controller_action_postdispatch_frontend"
+     */
+    @NotNull
+    public static String getKeyForEvent(@NotNull String event) {
+        return event.toLowerCase();
+    }
+
+    /**
+     * Lowercase method name to its controller action events of "getSubscribedEvents" and Bootstrap "subscribeEvent"
+     */
+    @NotNull
+    private static Map<String, Set<String>> getSubscribedMethods(@NotNull PhpClass phpClass) {
+        Map<String, Set<String>> methods = new HashMap<>();
+
+        Method subscribedEvents = phpClass.findOwnMethodByName("getSubscribedEvents");
+        if(subscribedEvents != null) {
+            HookSubscriberUtil.visitSubscriberEvents(subscribedEvents, (event, methodName, key) ->
+                addSubscribedMethod(methods, event, methodName)
+            );
+        }
+
+        for (MethodReference methodReference : PsiTreeUtil.findChildrenOfType(phpClass, MethodReference.class)) {
+            if(!"subscribeEvent".equals(methodReference.getName())) {
+                continue;
+            }
+
+            PsiElement[] parameters = methodReference.getParameters();
+            if(parameters.length >= 2 && parameters[0] instanceof StringLiteralExpression && parameters[1] instanceof StringLiteralExpression) {
+                addSubscribedMethod(methods, ((StringLiteralExpression) parameters[0]).getContents(), ((StringLiteralExpression) parameters[1]).getContents());
+            }
+        }
+
+        return methods;
+    }
+
+    private static void addSubscribedMethod(@NotNull Map<String, Set<String>> methods, @NotNull String event, @NotNull String methodName) {
+        String key = getKeyForEvent(event);
+        if(!key.startsWith(ACTION_EVENT_PREFIX) || StringUtils.isBlank(methodName)) {
+            return;
+        }
+
+        methods.computeIfAbsent(methodName.toLowerCase(), s -> new HashSet<>()).add(key);
+    }
+
+    /**
+     * View()->foo = 'bar'; View()->assign('foo', 'bar'); View()->assign(['foo' => 'bar']);
+     * $view = $this->View(); $view->foo = 'bar';
+     */
+    @NotNull
+    private static List<ViewVariable> collectViewVariables(@NotNull Method method) {
+        List<ViewVariable> variables = new ArrayList<>();
+
+        // $view = $this->View();
+        Set<String> viewVariables = new HashSet<>();
+        Map<FieldReference, PhpPsiElement> variableFields = new LinkedHashMap<>();
+
+        method.acceptChildren(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                if(element instanceof AssignmentExpression) {
+                    visitAssignmentExpression((AssignmentExpression) element);
+                } else if(element instanceof MethodReference && "assign".equals(((MethodReference) element).getName())) {
+                    visitAssignMethod((MethodReference) element);
+                }
+
+                super.visitElement(element);
+            }
+
+            private void visitAssignmentExpression(@NotNull AssignmentExpression assignmentExpression) {
+                PhpPsiElement variable = assignmentExpression.getVariable();
+                PhpPsiElement value = assignmentExpression.getValue();
+
+                if(variable instanceof FieldReference) {
+                    PhpExpression classReference = ((FieldReference) variable).getClassReference();
+                    if(isViewMethod(classReference)) {
+                        addVariable(variables, ((FieldReference) variable).getName(), value, variable);
+                    } else if(classReference instanceof Variable) {
+                        variableFields.put((FieldReference) variable, value);
+                    }
+                } else if(variable instanceof Variable && isViewMethod(value)) {
+                    viewVariables.add(((Variable) variable).getName());
+                }
+            }
+
+            private void visitAssignMethod(@NotNull MethodReference methodReference) {
+                PsiElement[] parameters = methodReference.getParameters();
+                if(parameters.length == 0) {
+                    return;
+                }
+
+                if(parameters[0] instanceof ArrayCreationExpression) {
+                    for (ArrayHashElement hashElement : ((ArrayCreationExpression) parameters[0]).getHashElements()) {
+                        PhpPsiElement key = hashElement.getKey();
+                        if(key instanceof StringLiteralExpression) {
+                            addVariable(variables, ((StringLiteralExpression) key).getContents(), hashElement.getValue(), key);
+                        }
+                    }
+                } else if(parameters[0] instanceof StringLiteralExpression) {
+                    addVariable(variables, ((StringLiteralExpression) parameters[0]).getContents(), parameters.length > 1 ? parameters[1] : null, parameters[0]);
+                }
+            }
+        });
+
+        for (Map.Entry<FieldReference, PhpPsiElement> entry : variableFields.entrySet()) {
+            PhpExpression classReference = entry.getKey().getClassReference();
+            if(classReference instanceof Variable && viewVariables.contains(((Variable) classReference).getName())) {
+                addVariable(variables, entry.getKey().getName(), entry.getValue(), entry.getKey());
+            }
+        }
+
+        return variables;
+    }
+
+    private static boolean isViewMethod(@Nullable PsiElement psiElement) {
+        return psiElement instanceof MethodReference && "View".equalsIgnoreCase(((MethodReference) psiElement).getName());
+    }
+
+    private static void addVariable(@NotNull List<ViewVariable> variables, @Nullable String name, @Nullable PsiElement value, @NotNull PsiElement nameElement) {
+        if(StringUtils.isBlank(name)) {
+            return;
+        }
+
+        String signature = null;
+        if(value instanceof PhpTypedElement) {
+            signature = StringUtils.stripToNull(((PhpTypedElement) value).getType().toString());
+        }
+
+        PsiElement target = value != null ? value : nameElement;
+        variables.add(new ViewVariable(name, signature, target.getTextRange().getStartOffset()));
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return this.myKeyDescriptor;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<List<ViewVariable>> getValueExternalizer() {
+        return ViewVariableExternalizer.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> file.getFileType() == PhpFileType.INSTANCE;
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+}
@@ -1,100 +0,0 @@
-package de.espend.idea.shopware.index;
-
-import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
-import com.intellij.util.indexing.*;
-import com.intellij.util.io.DataExternalizer;
-import com.intellij.util.io.EnumeratorStringDescriptor;
-import com.intellij.util.io.KeyDescriptor;
-import com.intellij.util.io.VoidDataExternalizer;
-import com.jetbrains.php.lang.PhpFileType;
-import com.jetbrains.php.lang.psi.elements.MethodReference;
-import fr.adrienbrault.idea.symfony2plugin.Symfony2ProjectComponent;
-import gnu.trove.THashMap;
-import org.jetbrains.annotations.NotNull;
-
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-
-/**
- * @author Daniel Espendiller <daniel@espendiller.net>
- */
-public class EventConfigGoToIndex extends FileBasedIndexExtension<String, Void> {
-
-    public static final ID<String, Void> KEY = ID.create("de.espend.idea.shopware.event_config_go_to_index");
-    private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
-
-    public static final Set<String> METHOD_NAMES = new HashSet<>(Arrays.asList("notify", "notifyUntil", "setElement", "addElement", "filter", "collect"));
-
-    @NotNull
-    @Override
-    public ID<String, Void> getName() {
-        return KEY;
-    }
-
-    @NotNull
-    @Override
-    public DataIndexer<String, Void, FileContent> getIndexer() {
-        return new DataIndexer<String, Void, FileContent>() {
-
-            @NotNull
-            @Override
-            public Map<String, Void> map(@NotNull FileContent inputData) {
-                final Map<String, Void> map = new THashMap<>();
-
-                PsiFile psiFile = inputData.getPsiFile();
-                if(!Symfony2ProjectComponent.isEnabled(psiFile.getProject())) {
-                    return map;
-                }
-
-                psiFile.acceptChildren(new PsiRecursiveElementWalkingVisitor() {
-                    @Override
-                    public void visitElement(PsiElement element) {
-
-                        if(element instanceof MethodReference && METHOD_NAMES.contains(((MethodReference) element).getName())) {
-                            map.put(((MethodReference) element).getName(), null);
-                        }
-
-                        super.visitElement(element);
-                    }
-
-                });
-
-                return map;
-            }
-
-
-        };
-    }
-
-    @NotNull
-    @Override
-    public KeyDescriptor<String> getKeyDescriptor() {
-        return this.myKeyDescriptor;
-    }
-
-    @NotNull
-    @Override
-    public DataExternalizer<Void> getValueExternalizer() {
-        return VoidDataExternalizer.INSTANCE;
-    }
-
-    @NotNull
-    @Override
-    public FileBasedIndex.InputFilter getInputFilter() {
-        return file -> file.getFileType() == PhpFileType.INSTANCE;
-    }
-
-    @Override
-    public boolean dependsOnFileContent() {
-        return true;
-    }
-
-    @Override
-    public int getVersion() {
-        return 2;
-    }
-}
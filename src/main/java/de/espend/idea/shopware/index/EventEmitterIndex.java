@@ -0,0 +1,167 @@
+package de.espend.idea.shopware.index;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.jetbrains.php.lang.PhpFileType;
+import com.jetbrains.php.lang.psi.PhpFile;
+import com.jetbrains.php.lang.psi.elements.*;
+import de.espend.idea.shopware.index.dict.EventEmitter;
+import de.espend.idea.shopware.index.externalizer.EventEmitterExternalizer;
+import fr.adrienbrault.idea.symfony2plugin.Symfony2ProjectComponent;
+import gnu.trove.THashMap;
+import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Event and config names to their emitting calls
+ *
+ * Shopware()->Events()->notify('Foo_Event', [...]);
+ * $form->setElement('text', 'foo_config', [...]);
+ *
+ * Receiver types are not resolved here; they are stored as local type signature and filtered on usage
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class EventEmitterIndex extends FileBasedIndexExtension<String, List<EventEmitter>> {
+
+    public static final ID<String, List<EventEmitter>> KEY = ID.create("de.espend.idea.shopware.event_emitter");
+    private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
+
+    private static final Set<String> EVENT_METHODS = new HashSet<>(Arrays.asList("notify", "notifyUntil", "filter", "collect"));
+    private static final Set<String> CONFIG_METHODS = new HashSet<>(Arrays.asList("setElement", "addElement"));
+
+    @NotNull
+    @Override
+    public ID<String, List<EventEmitter>> getName() {
+        return KEY;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, List<EventEmitter>, FileContent> getIndexer() {
+        return inputData -> {
+            final Map<String, List<EventEmitter>> map = new THashMap<>();
+
+            PsiFile psiFile = inputData.getPsiFile();
+            if(!(psiFile instanceof PhpFile) || !Symfony2ProjectComponent.isEnabled(psiFile.getProject())) {
+                return map;
+            }
+
+            psiFile.acceptChildren(new PsiRecursiveElementWalkingVisitor() {
+                @Override
+                public void visitElement(PsiElement element) {
+                    if(element instanceof MethodReference) {
+                        visitMethodReference((MethodReference) element, map);
+                    }
+
+                    super.visitElement(element);
+                }
+            });
+
+            return map;
+        };
+    }
+
+    private static void visitMethodReference(@NotNull MethodReference methodReference, @NotNull Map<String, List<EventEmitter>> map) {
+        String name = methodReference.getName();
+
+        // notify('Foo_Event', [...])
+        if(EVENT_METHODS.contains(name)) {
+            PsiElement[] parameters = methodReference.getParameters();
+            if(parameters.length > 1 && parameters[0] instanceof StringLiteralExpression) {
+                addEmitter(methodReference, (StringLiteralExpression) parameters[0], EventEmitter.Kind.EVENT, map);
+            }
+        }
+
+        // setElement('text', 'foo_config', [...])
+        if(CONFIG_METHODS.contains(name)) {
+            PsiElement[] parameters = methodReference.getParameters();
+            if(parameters.length > 2 && parameters[1] instanceof StringLiteralExpression) {
+                addEmitter(methodReference, (StringLiteralExpression) parameters[1], EventEmitter.Kind.CONFIG, map);
+            }
+        }
+    }
+
+    private static void addEmitter(@NotNull MethodReference methodReference, @NotNull StringLiteralExpression parameter, @NotNull EventEmitter.Kind kind, @NotNull Map<String, List<EventEmitter>> map) {
+        String contents = parameter.getContents();
+        if(StringUtils.isBlank(contents)) {
+            return;
+        }
+
+        String receiverType = getReceiverType(methodReference);
+        if(receiverType == null) {
+            return;
+        }
+
+        String signature = "";
+
+        Method method = PsiTreeUtil.getParentOfType(parameter, Method.class);
+        if(method != null) {
+            PhpClass phpClass = method.getContainingClass();
+            if(phpClass != null) {
+                signature = phpClass.getPresentableFQN() + '.' + method.getName();
+            }
+        }
+
+        if(!map.containsKey(contents)) {
+            map.put(contents, new ArrayList<>());
+        }
+
+        map.get(contents).add(new EventEmitter(kind, signature, parameter.getTextRange().getStartOffset(), receiverType));
+    }
+
+    /**
+     * Local type signature of "$foo" in "$foo->notify()"; global resolving is not allowed while indexing
+     */
+    @Nullable
+    private static String getReceiverType(@NotNull MethodReference methodReference) {
+        PhpPsiElement classReference = methodReference.getClassReference();
+        if(!(classReference instanceof PhpTypedElement)) {
+            return null;
+        }
+
+        Set<String> types = ((PhpTypedElement) classReference).getType().getTypes();
+        if(types.size() == 0) {
+            return null;
+        }
+
+        return StringUtils.join(types, '|');
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return this.myKeyDescriptor;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<List<EventEmitter>> getValueExternalizer() {
+        return EventEmitterExternalizer.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> file.getFileType() == PhpFileType.INSTANCE;
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+}
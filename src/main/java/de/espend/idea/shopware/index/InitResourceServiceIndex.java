@@ -3,7 +3,6 @@ package de.espend.idea.shopware.index;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
-import com.intellij.util.containers.ContainerUtil;
 import com.intellij.util.containers.HashMap;
 import com.intellij.util.indexing.*;
 import com.intellij.util.io.DataExternalizer;
@@ -16,10 +15,10 @@ import com.jetbrains.php.lang.psi.elements.PhpClass;
 import com.jetbrains.php.lang.psi.elements.PhpReturn;
 import de.espend.idea.shopware.index.dict.ServiceResource;
 import de.espend.idea.shopware.index.dict.SubscriberInfo;
+import de.espend.idea.shopware.index.externalizer.ServiceResourceExternalizer;
 import de.espend.idea.shopware.index.utils.SubscriberIndexUtil;
 import de.espend.idea.shopware.util.HookSubscriberUtil;
 import fr.adrienbrault.idea.symfony2plugin.Symfony2ProjectComponent;
-import fr.adrienbrault.idea.symfony2plugin.stubs.indexes.externalizer.StringSetDataExternalizer;
 import gnu.trove.THashMap;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
@@ -29,28 +28,26 @@ import java.util.*;
 /**
  * @author Daniel Espendiller <daniel@espendiller.net>
  */
-public class InitResourceServiceIndex extends FileBasedIndexExtension<String, Set<String>> {
+public class InitResourceServiceIndex extends FileBasedIndexExtension<String, List<ServiceResource>> {
 
-    public static final ID<String, Set<String>> KEY = ID.create("de.espend.idea.shopware.init_resource2");
+    public static final ID<String, List<ServiceResource>> KEY = ID.create("de.espend.idea.shopware.init_resource2");
     private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
 
-    public final static char TRIM_KEY = '\u0200';
-
     @NotNull
     @Override
-    public ID<String, Set<String>> getName() {
+    public ID<String, List<ServiceResource>> getName() {
         return KEY;
     }
 
     @NotNull
     @Override
-    public DataIndexer<String, Set<String>, FileContent> getIndexer() {
-        return new DataIndexer<String, Set<String>, FileContent>() {
+    public DataIndexer<String, List<ServiceResource>, FileContent> getIndexer() {
+        return new DataIndexer<String, List<ServiceResource>, FileContent>() {
 
             @NotNull
             @Override
-            public Map<String, Set<String>> map(@NotNull FileContent inputData) {
-                final Map<String, Set<String>> events = new THashMap<>();
+            public Map<String, List<ServiceResource>> map(@NotNull FileContent inputData) {
+                final Map<String, List<ServiceResource>> events = new THashMap<>();
 
                 PsiFile psiFile = inputData.getPsiFile();
                 if (!(psiFile instanceof PhpFile) || !Symfony2ProjectComponent.isEnabled(psiFile.getProject())) {
@@ -84,13 +81,8 @@ public class InitResourceServiceIndex extends FileBasedIndexExtension<String, Se
                     method.acceptChildren(new MyEventSubscriberVisitor(method, serviceMap));
                 }
 
-                // serialize to container object
                 for (Map.Entry<String, Collection<ServiceResource>> entry : serviceMap.entrySet()) {
-                    List<String> map = ContainerUtil.map(entry.getValue(), serviceResource ->
-                        serviceResource.getEvent() + TRIM_KEY + (serviceResource.getSubscriber() != null ? serviceResource.getSubscriber().getText() : "") + TRIM_KEY + serviceResource.getServiceName() + TRIM_KEY + serviceResource.getSignature()
-                    );
-
-                    events.put(entry.getKey(), new HashSet<>(map));
+                    events.put(entry.getKey(), new ArrayList<>(entry.getValue()));
                 }
 
                 return events;
@@ -107,8 +99,8 @@ public class InitResourceServiceIndex extends FileBasedIndexExtension<String, Se
 
     @NotNull
     @Override
-    public DataExternalizer<Set<String>> getValueExternalizer() {
-        return new StringSetDataExternalizer();
+    public DataExternalizer<List<ServiceResource>> getValueExternalizer() {
+        return ServiceResourceExternalizer.INSTANCE;
     }
 
     @NotNull
@@ -124,7 +116,7 @@ public class InitResourceServiceIndex extends FileBasedIndexExtension<String, Se
 
     @Override
     public int getVersion() {
-        return 5;
+        return 7;
     }
 
     private static class MyEventSubscriberVisitor extends PsiRecursiveElementWalkingVisitor {
@@ -161,7 +153,7 @@ public class InitResourceServiceIndex extends FileBasedIndexExtension<String, Se
                     return;
                 }
 
-                ServiceResource serviceResource = new ServiceResource(event, subscriberInfo.getEvent().getText(), subscriberInfo.getService())
+                ServiceResource serviceResource = new ServiceResource(event, subscriberInfo.getEvent(), subscriberInfo.getService())
                     .setSignature(StringUtils.strip(phpClass.getFQN(), "\\") + '.' + methodName);
 
                 String resourceKey = subscriberInfo.getEvent().getText();
@@ -0,0 +1,139 @@
+package de.espend.idea.shopware.index;
+
+import com.intellij.ide.highlighter.XmlFileType;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import de.espend.idea.shopware.index.dict.PluginConfigElement;
+import de.espend.idea.shopware.index.externalizer.PluginConfigElementExternalizer;
+import fr.adrienbrault.idea.symfony2plugin.Symfony2ProjectComponent;
+import gnu.trove.THashMap;
+import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lowercase plugin namespace to the elements of its "Resources/config.xml"
+ *
+ * SwagFoo/Resources/config.xml: <config><elements><element type="text"><name>foobar</name></element></elements></config>
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class PluginConfigIndex extends FileBasedIndexExtension<String, List<PluginConfigElement>> {
+
+    public static final ID<String, List<PluginConfigElement>> KEY = ID.create("de.espend.idea.shopware.plugin_config");
+    private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
+
+    @NotNull
+    @Override
+    public ID<String, List<PluginConfigElement>> getName() {
+        return KEY;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, List<PluginConfigElement>, FileContent> getIndexer() {
+        return inputData -> {
+            final Map<String, List<PluginConfigElement>> map = new THashMap<>();
+
+            PsiFile psiFile = inputData.getPsiFile();
+            if(!(psiFile instanceof XmlFile) || !Symfony2ProjectComponent.isEnabled(psiFile.getProject())) {
+                return map;
+            }
+
+            String namespace = getNamespace(inputData.getFile());
+            if(namespace == null) {
+                return map;
+            }
+
+            XmlTag rootTag = ((XmlFile) psiFile).getRootTag();
+            if(rootTag == null) {
+                return map;
+            }
+
+            List<PluginConfigElement> elements = new ArrayList<>();
+
+            for (XmlTag elementsTag : rootTag.findSubTags("elements")) {
+                for (XmlTag element : elementsTag.findSubTags("element")) {
+                    XmlTag nameTag = element.findFirstSubTag("name");
+                    if(nameTag == null) {
+                        continue;
+                    }
+
+                    String name = nameTag.getValue().getTrimmedText();
+                    if(StringUtils.isBlank(name)) {
+                        continue;
+                    }
+
+                    elements.add(new PluginConfigElement(
+                        name,
+                        StringUtils.stripToNull(element.getAttributeValue("type")),
+                        "true".equalsIgnoreCase(element.getAttributeValue("required")),
+                        nameTag.getTextOffset()
+                    ));
+                }
+            }
+
+            if(elements.size() > 0) {
+                map.put(namespace, elements);
+            }
+
+            return map;
+        };
+    }
+
+    /**
+     * "SwagFoo/Resources/config.xml" => "swagfoo"
+     */
+    @Nullable
+    public static String getNamespace(@NotNull VirtualFile virtualFile) {
+        VirtualFile resources = virtualFile.getParent();
+        if(resources == null || !"Resources".equals(resources.getName())) {
+            return null;
+        }
+
+        VirtualFile pluginDir = resources.getParent();
+        if(pluginDir == null) {
+            return null;
+        }
+
+        return pluginDir.getName().toLowerCase();
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return this.myKeyDescriptor;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<List<PluginConfigElement>> getValueExternalizer() {
+        return PluginConfigElementExternalizer.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> file.getFileType() == XmlFileType.INSTANCE && "config.xml".equals(file.getName());
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+}
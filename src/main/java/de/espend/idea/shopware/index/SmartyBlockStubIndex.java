@@ -3,43 +3,52 @@ package de.espend.idea.shopware.index;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.indexing.*;
 import com.intellij.util.io.DataExternalizer;
 import com.intellij.util.io.EnumeratorStringDescriptor;
 import com.intellij.util.io.KeyDescriptor;
-import com.intellij.util.io.VoidDataExternalizer;
 import com.jetbrains.smarty.SmartyFileType;
+import com.jetbrains.smarty.lang.psi.SmartyTag;
+import de.espend.idea.shopware.index.dict.SmartyBlockDefinition;
+import de.espend.idea.shopware.index.externalizer.SmartyBlockDefinitionExternalizer;
 import de.espend.idea.shopware.util.SmartyPattern;
+import de.espend.idea.shopware.util.TemplateUtil;
 import fr.adrienbrault.idea.symfony2plugin.Symfony2ProjectComponent;
 import gnu.trove.THashMap;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
+ * Block name to all its definitions inside a file, with offset and surrounding block
+ *
  * @author Daniel Espendiller <daniel@espendiller.net>
  */
-public class SmartyBlockStubIndex extends FileBasedIndexExtension<String, Void> {
+public class SmartyBlockStubIndex extends FileBasedIndexExtension<String, List<SmartyBlockDefinition>> {
 
-    public static final ID<String, Void> KEY = ID.create("de.espend.idea.shopware.block_names");
+    public static final ID<String, List<SmartyBlockDefinition>> KEY = ID.create("de.espend.idea.shopware.block_names");
     private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
 
     @NotNull
     @Override
-    public ID<String, Void> getName() {
+    public ID<String, List<SmartyBlockDefinition>> getName() {
         return KEY;
     }
 
     @NotNull
     @Override
-    public DataIndexer<String, Void, FileContent> getIndexer() {
-        return new DataIndexer<String, Void, FileContent>() {
+    public DataIndexer<String, List<SmartyBlockDefinition>, FileContent> getIndexer() {
+        return new DataIndexer<String, List<SmartyBlockDefinition>, FileContent>() {
 
             @NotNull
             @Override
-            public Map<String, Void> map(@NotNull FileContent inputData) {
-                final Map<String, Void> map = new THashMap<>();
+            public Map<String, List<SmartyBlockDefinition>> map(@NotNull FileContent inputData) {
+                final Map<String, List<SmartyBlockDefinition>> map = new THashMap<>();
 
                 PsiFile psiFile = inputData.getPsiFile();
                 if(!Symfony2ProjectComponent.isEnabled(psiFile.getProject())) {
@@ -60,7 +69,9 @@ public class SmartyBlockStubIndex extends FileBasedIndexExtension<String, Void>
                     private void visitBlock(PsiElement element) {
                         String content = element.getText();
                         if(StringUtils.isNotBlank(content)) {
-                            map.put(content, null);
+                            map.computeIfAbsent(content, s -> new ArrayList<>()).add(
+                                new SmartyBlockDefinition(element.getTextOffset(), StringUtils.defaultString(getParentBlockName(element)))
+                            );
                         }
                     }
 
@@ -73,6 +84,25 @@ public class SmartyBlockStubIndex extends FileBasedIndexExtension<String, Void>
         };
     }
 
+    /**
+     * {block name="parent"}{block name="<caret>"}{/block}{/block}
+     */
+    @Nullable
+    private static String getParentBlockName(@NotNull PsiElement element) {
+        SmartyTag ownTag = PsiTreeUtil.getParentOfType(element, SmartyTag.class);
+        if(ownTag == null) {
+            return null;
+        }
+
+        for(SmartyTag tag = PsiTreeUtil.getParentOfType(ownTag, SmartyTag.class); tag != null; tag = PsiTreeUtil.getParentOfType(tag, SmartyTag.class)) {
+            if("block".equals(tag.getName())) {
+                return TemplateUtil.getTagAttributeValueByName(tag, "name");
+            }
+        }
+
+        return null;
+    }
+
     @NotNull
     @Override
     public KeyDescriptor<String> getKeyDescriptor() {
@@ -81,8 +111,8 @@ public class SmartyBlockStubIndex extends FileBasedIndexExtension<String, Void>
 
     @NotNull
     @Override
-    public DataExternalizer<Void> getValueExternalizer() {
-        return VoidDataExternalizer.INSTANCE;
+    public DataExternalizer<List<SmartyBlockDefinition>> getValueExternalizer() {
+        return SmartyBlockDefinitionExternalizer.INSTANCE;
     }
 
     @NotNull
@@ -98,6 +128,6 @@ public class SmartyBlockStubIndex extends FileBasedIndexExtension<String, Void>
 
     @Override
     public int getVersion() {
-        return 1;
+        return 2;
     }
 }
@@ -16,7 +16,9 @@ import gnu.trove.THashMap;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author Daniel Espendiller <daniel@espendiller.net>
@@ -47,36 +49,39 @@ public class SmartyExtendsStubIndex extends FileBasedIndexExtension<String, Void
                     return map;
                 }
 
-                psiFile.acceptChildren(new PsiRecursiveElementWalkingVisitor() {
-                    @Override
-                    public void visitElement(PsiElement element) {
-
-                        if(SmartyPattern.getExtendPattern().accepts(element)) {
-                            visitBlock(element);
-                        }
+                for (String templateName : getExtendsTemplateNames(psiFile)) {
+                    map.put(templateName, null);
+                }
 
-                        super.visitElement(element);
-                    }
+                return map;
+            }
 
-                    private void visitBlock(PsiElement element) {
 
-                        String content = element.getText();
-                        if(content == null || StringUtils.isBlank(content) || !content.contains("/") || !content.endsWith(".tpl")) {
-                            return;
-                        }
+        };
+    }
 
-                        content = TemplateUtil.cleanTemplateName(content);
+    /**
+     * {extends file="parent:frontend/index/index.tpl"} => "frontend/index/index.tpl"
+     */
+    @NotNull
+    public static Set<String> getExtendsTemplateNames(@NotNull PsiFile psiFile) {
+        Set<String> templateNames = new HashSet<>();
 
-                        map.put(content, null);
+        psiFile.acceptChildren(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                if(SmartyPattern.getExtendPattern().accepts(element)) {
+                    String content = element.getText();
+                    if(StringUtils.isNotBlank(content) && content.contains("/") && content.endsWith(".tpl")) {
+                        templateNames.add(TemplateUtil.cleanTemplateName(content));
                     }
+                }
 
-                });
-
-                return map;
+                super.visitElement(element);
             }
+        });
 
-
-        };
+        return templateNames;
     }
 
     @NotNull
@@ -7,8 +7,8 @@ import com.intellij.util.indexing.*;
 import com.intellij.util.io.DataExternalizer;
 import com.intellij.util.io.EnumeratorStringDescriptor;
 import com.intellij.util.io.KeyDescriptor;
-import com.intellij.util.io.VoidDataExternalizer;
 import com.jetbrains.smarty.SmartyFileType;
+import de.espend.idea.shopware.index.externalizer.IntegerListExternalizer;
 import de.espend.idea.shopware.util.SmartyPattern;
 import de.espend.idea.shopware.util.TemplateUtil;
 import fr.adrienbrault.idea.symfony2plugin.Symfony2ProjectComponent;
@@ -16,31 +16,35 @@ import gnu.trove.THashMap;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
+ * Included template name to the text offsets of the include file attribute
+ *
  * @author Daniel Espendiller <daniel@espendiller.net>
  */
-public class SmartyIncludeStubIndex extends FileBasedIndexExtension<String, Void> {
+public class SmartyIncludeStubIndex extends FileBasedIndexExtension<String, List<Integer>> {
 
-    public static final ID<String, Void> KEY = ID.create("de.espend.idea.shopware.smarty_includes");
+    public static final ID<String, List<Integer>> KEY = ID.create("de.espend.idea.shopware.smarty_includes");
     private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
 
     @NotNull
     @Override
-    public ID<String, Void> getName() {
+    public ID<String, List<Integer>> getName() {
         return KEY;
     }
 
     @NotNull
     @Override
-    public DataIndexer<String, Void, FileContent> getIndexer() {
-        return new DataIndexer<String, Void, FileContent>() {
+    public DataIndexer<String, List<Integer>, FileContent> getIndexer() {
+        return new DataIndexer<String, List<Integer>, FileContent>() {
 
             @NotNull
             @Override
-            public Map<String, Void> map(@NotNull FileContent inputData) {
-                final Map<String, Void> map = new THashMap<>();
+            public Map<String, List<Integer>> map(@NotNull FileContent inputData) {
+                final Map<String, List<Integer>> map = new THashMap<>();
 
                 PsiFile psiFile = inputData.getPsiFile();
                 if(!Symfony2ProjectComponent.isEnabled(psiFile.getProject())) {
@@ -66,7 +70,7 @@ public class SmartyIncludeStubIndex extends FileBasedIndexExtension<String, Void
 
                         content = TemplateUtil.cleanTemplateName(content);
 
-                        map.put(content, null);
+                        map.computeIfAbsent(content, s -> new ArrayList<>()).add(element.getTextOffset());
                     }
 
                 });
@@ -86,8 +90,8 @@ public class SmartyIncludeStubIndex extends FileBasedIndexExtension<String, Void
 
     @NotNull
     @Override
-    public DataExternalizer<Void> getValueExternalizer() {
-        return VoidDataExternalizer.INSTANCE;
+    public DataExternalizer<List<Integer>> getValueExternalizer() {
+        return IntegerListExternalizer.INSTANCE;
     }
 
     @NotNull
@@ -103,6 +107,6 @@ public class SmartyIncludeStubIndex extends FileBasedIndexExtension<String, Void
 
     @Override
     public int getVersion() {
-        return 1;
+        return 2;
     }
 }
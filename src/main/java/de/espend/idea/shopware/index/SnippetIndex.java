@@ -1,76 +1,70 @@
 package de.espend.idea.shopware.index;
 
 import com.intellij.lang.javascript.JavaScriptFileType;
-import com.intellij.lang.javascript.psi.JSFile;
 import com.intellij.openapi.fileTypes.FileType;
 import com.intellij.util.indexing.*;
 import com.intellij.util.io.DataExternalizer;
 import com.intellij.util.io.EnumeratorStringDescriptor;
 import com.intellij.util.io.KeyDescriptor;
-import com.jetbrains.smarty.SmartyFile;
 import com.jetbrains.smarty.SmartyFileType;
+import de.espend.idea.shopware.index.externalizer.LocaleKeysExternalizer;
+import de.espend.idea.shopware.util.SnippetScanner;
 import de.espend.idea.shopware.util.SnippetUtil;
-import de.espend.idea.shopware.util.dict.ShopwareSnippet;
 import fr.adrienbrault.idea.symfony2plugin.Symfony2ProjectComponent;
-import fr.adrienbrault.idea.symfony2plugin.stubs.indexes.externalizer.StringSetDataExternalizer;
 import gnu.trove.THashMap;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
 /**
+ * Snippet namespace to its keys, grouped by locale section of ini files
+ *
+ * Template and ExtJs usages have no locale, they are stored with an empty one
+ *
  * @author Daniel Espendiller <daniel@espendiller.net>
  */
-public class SnippetIndex extends FileBasedIndexExtension<String, Set<String>> {
+public class SnippetIndex extends FileBasedIndexExtension<String, Map<String, Set<String>>> {
 
-    public static final ID<String, Set<String>> KEY = ID.create("de.espend.idea.shopware.snippets");
+    public static final ID<String, Map<String, Set<String>>> KEY = ID.create("de.espend.idea.shopware.snippets");
     private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
 
     @NotNull
     @Override
-    public ID<String, Set<String>> getName() {
+    public ID<String, Map<String, Set<String>>> getName() {
         return KEY;
     }
 
     @NotNull
     @Override
-    public DataIndexer<String, Set<String>, FileContent> getIndexer() {
+    public DataIndexer<String, Map<String, Set<String>>, FileContent> getIndexer() {
         return inputData -> {
             if(!Symfony2ProjectComponent.isEnabled(inputData.getProject())) {
                 return Collections.emptyMap();
             }
 
-            Map<String, Set<String>> snippets = new THashMap<>();
+            Map<String, Map<String, Set<String>>> snippets = new THashMap<>();
 
             FileType fileType = inputData.getFileType();
-            if (fileType == SmartyFileType.INSTANCE && inputData.getPsiFile() instanceof SmartyFile) {
-                // template files
+            if (fileType == SmartyFileType.INSTANCE || fileType == JavaScriptFileType.INSTANCE) {
+                // template and ExtJs files; plain text scan, building psi is too expensive for all of them
 
-                for (ShopwareSnippet snippet : SnippetUtil.getSnippetsInFile((SmartyFile) inputData.getPsiFile())) {
-                    snippets.putIfAbsent(snippet.getNamespace(), new HashSet<>());
-                    snippets.get(snippet.getNamespace()).add(snippet.getName());
-                }
+                SnippetScanner.visit(inputData.getContentAsText(), (namespace, name) ->
+                    snippets.computeIfAbsent(namespace, s -> new HashMap<>()).computeIfAbsent("", s -> new HashSet<>()).add(name)
+                );
             } else if (inputData.getFileName().endsWith(".ini")) {
                 // ini files
 
-                String presentableUrl = inputData.getFile().getUrl();
-                int i = presentableUrl.lastIndexOf("/snippets/");
-                if(i > 0) {
-                    Set<String> iniKeys = SnippetUtil.getIniKeys(inputData.getContentAsText().toString());
+                String namespace = SnippetUtil.getIniNamespace(inputData.getFile());
+                if(namespace != null) {
+                    Map<String, Set<String>> iniKeys = SnippetUtil.getIniKeysByLocale(inputData.getContentAsText());
                     if(iniKeys.size() > 0) {
-                        String namespace = presentableUrl.substring(i + "/snippets/".length(), presentableUrl.length() - 4);
-                        snippets.putIfAbsent(namespace, new HashSet<>());
-                        snippets.get(namespace).addAll(iniKeys);
+                        snippets.put(namespace, iniKeys);
                     }
                 }
-            } else if (fileType  == JavaScriptFileType.INSTANCE && inputData.getPsiFile() instanceof JSFile) {
-                for (ShopwareSnippet snippet : SnippetUtil.getSnippetsInFile((JSFile) inputData.getPsiFile())) {
-                    snippets.putIfAbsent(snippet.getNamespace(), new HashSet<>());
-                    snippets.get(snippet.getNamespace()).add(snippet.getName());
-                }
             }
 
             return snippets;
@@ -86,8 +80,8 @@ public class SnippetIndex extends FileBasedIndexExtension<String, Set<String>> {
 
     @NotNull
     @Override
-    public DataExternalizer<Set<String>> getValueExternalizer() {
-        return new StringSetDataExternalizer();
+    public DataExternalizer<Map<String, Set<String>>> getValueExternalizer() {
+        return LocaleKeysExternalizer.INSTANCE;
     }
 
     @NotNull
@@ -106,6 +100,6 @@ public class SnippetIndex extends FileBasedIndexExtension<String, Set<String>> {
 
     @Override
     public int getVersion() {
-        return 1;
+        return 3;
     }
 }
@@ -0,0 +1,96 @@
+package de.espend.idea.shopware.index;
+
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import de.espend.idea.shopware.index.dict.SnippetLocation;
+import de.espend.idea.shopware.index.externalizer.SnippetLocationExternalizer;
+import de.espend.idea.shopware.util.SnippetUtil;
+import fr.adrienbrault.idea.symfony2plugin.Symfony2ProjectComponent;
+import gnu.trove.THashMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snippet "namespace/name" of ini files to its entries per locale, so targets and values are available without
+ * loading the ini file
+ *
+ * "snippets/frontend/detail/index.ini" => "frontend/detail/index/DetailBuyActionAdd"
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class SnippetLocationIndex extends FileBasedIndexExtension<String, List<SnippetLocation>> {
+
+    public static final ID<String, List<SnippetLocation>> KEY = ID.create("de.espend.idea.shopware.snippet_location");
+    private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
+
+    private static final int MAX_VALUE_LENGTH = 200;
+
+    @NotNull
+    @Override
+    public ID<String, List<SnippetLocation>> getName() {
+        return KEY;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, List<SnippetLocation>, FileContent> getIndexer() {
+        return inputData -> {
+            if(!Symfony2ProjectComponent.isEnabled(inputData.getProject())) {
+                return Collections.emptyMap();
+            }
+
+            String namespace = SnippetUtil.getIniNamespace(inputData.getFile());
+            if(namespace == null) {
+                return Collections.emptyMap();
+            }
+
+            Map<String, List<SnippetLocation>> map = new THashMap<>();
+
+            SnippetUtil.visitIniEntries(inputData.getContentAsText(), (locale, key, value, offset) -> {
+                String text = value.length() > MAX_VALUE_LENGTH ? value.substring(0, MAX_VALUE_LENGTH) + "..." : value;
+                map.computeIfAbsent(createKey(namespace, key), s -> new ArrayList<>()).add(new SnippetLocation(offset, locale, text));
+            });
+
+            return map;
+        };
+    }
+
+    @NotNull
+    public static String createKey(@NotNull String namespace, @NotNull String name) {
+        return namespace + "/" + name;
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return this.myKeyDescriptor;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<List<SnippetLocation>> getValueExternalizer() {
+        return SnippetLocationExternalizer.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> "ini".equalsIgnoreCase(file.getExtension());
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+}
@@ -0,0 +1,134 @@
+package de.espend.idea.shopware.index;
+
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.jetbrains.php.lang.PhpFileType;
+import com.jetbrains.php.lang.psi.PhpFile;
+import com.jetbrains.php.lang.psi.elements.Method;
+import com.jetbrains.php.lang.psi.elements.MethodReference;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import de.espend.idea.shopware.index.externalizer.IntegerListExternalizer;
+import fr.adrienbrault.idea.symfony2plugin.Symfony2ProjectComponent;
+import gnu.trove.THashMap;
+import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Event names of legacy plugin Bootstrap subscriptions to the text offsets of the event literal
+ *
+ * public function install() {
+ *   $this->subscribeEvent('Enlight_Controller_Action_PostDispatch', 'onPostDispatch');
+ *   $this->createEvent('Enlight_Controller_Dispatcher_ControllerPath_Frontend_Foo', 'onGetControllerPath');
+ * }
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class SubscribedEventIndex extends FileBasedIndexExtension<String, List<Integer>> {
+
+    public static final ID<String, List<Integer>> KEY = ID.create("de.espend.idea.shopware.subscribed_event");
+    private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
+
+    private static final Set<String> SUBSCRIBE_METHODS = new HashSet<>(Arrays.asList("subscribeEvent", "createEvent"));
+    private static final Set<String> BOOTSTRAP_METHODS = new HashSet<>(Arrays.asList("install", "update"));
+
+    @NotNull
+    @Override
+    public ID<String, List<Integer>> getName() {
+        return KEY;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, List<Integer>, FileContent> getIndexer() {
+        return inputData -> {
+            final Map<String, List<Integer>> map = new THashMap<>();
+
+            // most php files have no subscription; dont build psi for them
+            CharSequence content = inputData.getContentAsText();
+            if(!StringUtil.contains(content, "subscribeEvent") && !StringUtil.contains(content, "createEvent")) {
+                return map;
+            }
+
+            PsiFile psiFile = inputData.getPsiFile();
+            if(!(psiFile instanceof PhpFile) || !Symfony2ProjectComponent.isEnabled(psiFile.getProject())) {
+                return map;
+            }
+
+            psiFile.acceptChildren(new PsiRecursiveElementWalkingVisitor() {
+                @Override
+                public void visitElement(PsiElement element) {
+                    if(element instanceof MethodReference && SUBSCRIBE_METHODS.contains(((MethodReference) element).getName())) {
+                        visitMethodReference((MethodReference) element, map);
+                    }
+
+                    super.visitElement(element);
+                }
+            });
+
+            return map;
+        };
+    }
+
+    private static void visitMethodReference(@NotNull MethodReference methodReference, @NotNull Map<String, List<Integer>> map) {
+        PsiElement[] parameters = methodReference.getParameters();
+        if(parameters.length == 0 || !(parameters[0] instanceof StringLiteralExpression)) {
+            return;
+        }
+
+        String contents = ((StringLiteralExpression) parameters[0]).getContents();
+        if(StringUtils.isBlank(contents)) {
+            return;
+        }
+
+        // subclasses of "Shopware_Components_Plugin_Bootstrap" can not be resolved while indexing; use the naming convention
+        Method method = PsiTreeUtil.getParentOfType(methodReference, Method.class);
+        if(method == null || !BOOTSTRAP_METHODS.contains(method.getName())) {
+            return;
+        }
+
+        PhpClass phpClass = method.getContainingClass();
+        if(phpClass == null || !phpClass.getName().endsWith("Bootstrap")) {
+            return;
+        }
+
+        map.computeIfAbsent(contents, s -> new ArrayList<>()).add(parameters[0].getTextRange().getStartOffset());
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return this.myKeyDescriptor;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<List<Integer>> getValueExternalizer() {
+        return IntegerListExternalizer.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> file.getFileType() == PhpFileType.INSTANCE;
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+}
@@ -0,0 +1,183 @@
+package de.espend.idea.shopware.index;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.intellij.util.io.VoidDataExternalizer;
+import de.espend.idea.shopware.util.SmartyPattern;
+import gnu.trove.THashMap;
+import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Logical template name to file, eg "frontend/detail/index.tpl"
+ *
+ * Names are resolved on the file path:
+ * - "templates/_default/frontend/..." for shopware 4 templates
+ * - "Themes/Frontend/Bare/frontend/..." for sw5 themes
+ * - "Views/frontend/..." of a plugin
+ * - "Resources/views/frontend/..." of a sw5.2 plugin
+ *
+ * Only the path of the indexed file is used, so names never depend on other files like "Theme.php" or "Bootstrap.php"
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class TemplateFileIndex extends FileBasedIndexExtension<String, Void> {
+
+    public static final ID<String, Void> KEY = ID.create("de.espend.idea.shopware.template_files");
+    private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
+
+    private static final Set<String> EXTENSIONS = new HashSet<String>() {{
+        add("tpl");
+        addAll(Arrays.asList(SmartyPattern.TAG_LINK_FILE_EXTENSIONS));
+    }};
+
+    private static final Set<String> MODULES = new HashSet<>(Arrays.asList("frontend", "backend", "widgets"));
+
+    @NotNull
+    @Override
+    public ID<String, Void> getName() {
+        return KEY;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, Void, FileContent> getIndexer() {
+        return inputData -> {
+            Map<String, Void> map = new THashMap<>();
+            for (String templateName : getTemplateNames(inputData.getFile())) {
+                map.put(templateName, null);
+            }
+
+            return map;
+        };
+    }
+
+    /**
+     * All logical template names a file is reachable with; a file can be visible in multiple scopes
+     */
+    @NotNull
+    public static Set<String> getTemplateNames(@NotNull VirtualFile virtualFile) {
+        Set<String> names = new HashSet<>();
+
+        // try to get /templates/frontend/...
+        String path = virtualFile.getPath();
+        int i = path.lastIndexOf("/templates/");
+        if(i >= 0) {
+            String templateName = stripScope(path.substring(i + "/templates/".length()));
+            if(templateName != null) {
+                names.add(templateName);
+            }
+        } else {
+            // sw5: check if file is somewhere inside a theme folder
+            String templateName = getThemeTemplateName(virtualFile);
+            if(templateName != null) {
+                names.add(templateName);
+            }
+        }
+
+        // plugin "Views" and "Resources/views" folder
+        String templateName = getPluginTemplateName(virtualFile);
+        if(templateName != null) {
+            names.add(templateName);
+        }
+
+        return names;
+    }
+
+    /**
+     * "_default/frontend/detail/index.tpl" => "frontend/detail/index.tpl"
+     */
+    @Nullable
+    private static String stripScope(@NotNull String path) {
+        String[] pathSplits = StringUtils.split(path, "/");
+        if(pathSplits.length < 3 || !MODULES.contains(pathSplits[1])) {
+            return null;
+        }
+
+        return path.substring(path.indexOf('/') + 1);
+    }
+
+    /**
+     * "Themes/Frontend/Bare/frontend/detail/index.tpl" => "frontend/detail/index.tpl"
+     *
+     * Only the path shape "Themes/<Scope>/<Theme>/<module>" is checked; a "Theme.php" would be a foreign file for this index
+     */
+    @Nullable
+    private static String getThemeTemplateName(@NotNull VirtualFile virtualFile) {
+        String[] parts = StringUtils.split(virtualFile.getPath(), "/");
+
+        for (int i = parts.length - 5; i >= 0; i--) {
+            if("themes".equalsIgnoreCase(parts[i]) && MODULES.contains(parts[i + 3])) {
+                return StringUtils.join(parts, "/", i + 3, parts.length);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * "SwagFoo/Views/frontend/detail/index.tpl" => "frontend/detail/index.tpl"
+     * "SwagFoo/Resources/views/frontend/detail/index.tpl" => "frontend/detail/index.tpl"
+     *
+     * Path shape only, plugin roots are not checked for a "Bootstrap.php" or plugin class
+     */
+    @Nullable
+    private static String getPluginTemplateName(@NotNull VirtualFile virtualFile) {
+        String[] parts = StringUtils.split(virtualFile.getPath(), "/");
+
+        for (int i = parts.length - 3; i > 0; i--) {
+            if(!MODULES.contains(parts[i + 1])) {
+                continue;
+            }
+
+            if("Views".equals(parts[i]) || ("views".equals(parts[i]) && "Resources".equals(parts[i - 1]))) {
+                return StringUtils.join(parts, "/", i + 1, parts.length);
+            }
+        }
+
+        return null;
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return this.myKeyDescriptor;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<Void> getValueExternalizer() {
+        return VoidDataExternalizer.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> {
+            String extension = file.getExtension();
+            return extension != null && EXTENSIONS.contains(extension.toLowerCase());
+        };
+    }
+
+    /**
+     * path only index; dont load content of all template and asset files
+     */
+    @Override
+    public boolean dependsOnFileContent() {
+        return false;
+    }
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+}
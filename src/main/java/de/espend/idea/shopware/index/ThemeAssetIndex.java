@@ -0,0 +1,93 @@
+package de.espend.idea.shopware.index;
+
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import gnu.trove.THashMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Theme name to the path of its assets relative to "frontend/_public"
+ *
+ * "Themes/Frontend/Responsive/frontend/_public/src/js/jquery.foo.js" => "Responsive": "src/js/jquery.foo.js"
+ *
+ * Only the path is indexed; if the folder is really a theme is checked on usage with the ThemeIndex
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class ThemeAssetIndex extends FileBasedIndexExtension<String, String> {
+
+    public static final ID<String, String> KEY = ID.create("de.espend.idea.shopware.theme_asset");
+    private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
+
+    private static final Set<String> EXTENSIONS = new HashSet<>(Arrays.asList("js", "less"));
+
+    private static final String PUBLIC_PATH = "/frontend/_public/";
+
+    @NotNull
+    @Override
+    public ID<String, String> getName() {
+        return KEY;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, String, FileContent> getIndexer() {
+        return inputData -> {
+            Map<String, String> map = new THashMap<>();
+
+            // path shape only; a "Theme.php" is a foreign file for this index and checked on usage
+            String path = inputData.getFile().getPath();
+
+            int i = path.indexOf(PUBLIC_PATH);
+            if(i > 0 && path.length() > i + PUBLIC_PATH.length()) {
+                String themeName = path.substring(path.lastIndexOf('/', i - 1) + 1, i);
+                if(themeName.length() > 0) {
+                    map.put(themeName, path.substring(i + PUBLIC_PATH.length()));
+                }
+            }
+
+            return map;
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return this.myKeyDescriptor;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<String> getValueExternalizer() {
+        return this.myKeyDescriptor;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> {
+            String extension = file.getExtension();
+            return extension != null && EXTENSIONS.contains(extension.toLowerCase()) && file.getPath().contains(PUBLIC_PATH);
+        };
+    }
+
+    /**
+     * path only index; vendor assets can be huge, dont load their content
+     */
+    @Override
+    public boolean dependsOnFileContent() {
+        return false;
+    }
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+}
@@ -0,0 +1,106 @@
+package de.espend.idea.shopware.index;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.jetbrains.php.lang.PhpFileType;
+import com.jetbrains.php.lang.psi.PhpFile;
+import com.jetbrains.php.lang.psi.elements.Field;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.jetbrains.php.lang.psi.elements.PhpNamedElement;
+import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import fr.adrienbrault.idea.symfony2plugin.Symfony2ProjectComponent;
+import gnu.trove.THashMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * Theme name, which is the folder containing the "Theme.php", to the name of the extended theme; empty if none
+ *
+ * Themes/Frontend/Responsive/Theme.php: class Theme extends \Shopware\Components\Theme { protected $extend = 'Bare'; }
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class ThemeIndex extends FileBasedIndexExtension<String, String> {
+
+    public static final ID<String, String> KEY = ID.create("de.espend.idea.shopware.theme");
+    private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
+
+    @NotNull
+    @Override
+    public ID<String, String> getName() {
+        return KEY;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, String, FileContent> getIndexer() {
+        return inputData -> {
+            final Map<String, String> map = new THashMap<>();
+
+            PsiFile psiFile = inputData.getPsiFile();
+            if(!(psiFile instanceof PhpFile) || !Symfony2ProjectComponent.isEnabled(psiFile.getProject())) {
+                return map;
+            }
+
+            VirtualFile themeDir = inputData.getFile().getParent();
+            if(themeDir == null) {
+                return map;
+            }
+
+            // "\Shopware\Components\Theme" subclasses can not be resolved while indexing; "Theme.php" with a "Theme" class is the convention
+            for (PhpNamedElement phpNamedElement : ((PhpFile) psiFile).getTopLevelDefs().values()) {
+                if(!(phpNamedElement instanceof PhpClass) || !"Theme".equals(phpNamedElement.getName()) || ((PhpClass) phpNamedElement).getSuperFQN() == null) {
+                    continue;
+                }
+
+                String extend = "";
+
+                Field field = ((PhpClass) phpNamedElement).findOwnFieldByName("extend", false);
+                if(field != null) {
+                    PsiElement defaultValue = field.getDefaultValue();
+                    if(defaultValue instanceof StringLiteralExpression) {
+                        extend = ((StringLiteralExpression) defaultValue).getContents();
+                    }
+                }
+
+                map.put(themeDir.getName(), extend);
+            }
+
+            return map;
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return this.myKeyDescriptor;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<String> getValueExternalizer() {
+        return this.myKeyDescriptor;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> file.getFileType() == PhpFileType.INSTANCE && "Theme.php".equals(file.getName());
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+}
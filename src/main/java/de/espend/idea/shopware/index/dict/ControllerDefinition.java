@@ -0,0 +1,112 @@
+package de.espend.idea.shopware.index.dict;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Indexed "Shopware_Controllers_Frontend_Checkout" class and its public "*Action" methods
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class ControllerDefinition {
+
+    /**
+     * Module as written in class name: "Frontend"
+     */
+    @NotNull
+    private final String module;
+
+    /**
+     * Controller as written in class name: "Checkout"
+     */
+    @NotNull
+    private final String controller;
+
+    /**
+     * "\Shopware_Controllers_Frontend_Checkout"
+     */
+    @NotNull
+    private final String className;
+
+    /**
+     * Extended class "\Enlight_Controller_Action"; empty if there is none
+     */
+    @NotNull
+    private final String superClass;
+
+    /**
+     * Text offset of the class name
+     */
+    private final int offset;
+
+    /**
+     * Own action methods "finishAction" and their name offset
+     */
+    @NotNull
+    private final Map<String, Integer> actions;
+
+    public ControllerDefinition(@NotNull String module, @NotNull String controller, @NotNull String className, @NotNull String superClass, int offset, @NotNull Map<String, Integer> actions) {
+        this.module = module;
+        this.controller = controller;
+        this.className = className;
+        this.superClass = superClass;
+        this.offset = offset;
+        this.actions = actions;
+    }
+
+    @NotNull
+    public String getModule() {
+        return module;
+    }
+
+    @NotNull
+    public String getController() {
+        return controller;
+    }
+
+    @NotNull
+    public String getClassName() {
+        return className;
+    }
+
+    @NotNull
+    public String getSuperClass() {
+        return superClass;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    @NotNull
+    public Map<String, Integer> getActions() {
+        return actions;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        ControllerDefinition that = (ControllerDefinition) o;
+
+        return offset == that.offset &&
+            module.equals(that.module) &&
+            controller.equals(that.controller) &&
+            className.equals(that.className) &&
+            superClass.equals(that.superClass) &&
+            actions.equals(that.actions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(module, controller, className, superClass, offset, actions);
+    }
+}
@@ -0,0 +1,89 @@
+package de.espend.idea.shopware.index.dict;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Indexed call emitting an event or defining a plugin config element
+ *
+ * Shopware()->Events()->notify('Foo_Event', [...]);
+ * $form->setElement('text', 'foo_config', [...]);
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class EventEmitter {
+
+    public enum Kind {
+        EVENT, CONFIG
+    }
+
+    @NotNull
+    private final Kind kind;
+
+    /**
+     * Emitting method "Class.method"
+     */
+    @NotNull
+    private final String signature;
+
+    /**
+     * Text offset of the event or config name literal
+     */
+    private final int offset;
+
+    /**
+     * Local type signature of the call receiver; resolved when needed
+     */
+    @NotNull
+    private final String receiverType;
+
+    public EventEmitter(@NotNull Kind kind, @NotNull String signature, int offset, @NotNull String receiverType) {
+        this.kind = kind;
+        this.signature = signature;
+        this.offset = offset;
+        this.receiverType = receiverType;
+    }
+
+    @NotNull
+    public Kind getKind() {
+        return kind;
+    }
+
+    @NotNull
+    public String getSignature() {
+        return signature;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    @NotNull
+    public String getReceiverType() {
+        return receiverType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        EventEmitter that = (EventEmitter) o;
+
+        return offset == that.offset &&
+            kind == that.kind &&
+            signature.equals(that.signature) &&
+            receiverType.equals(that.receiverType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, signature, offset, receiverType);
+    }
+}
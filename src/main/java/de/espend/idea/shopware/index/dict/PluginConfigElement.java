@@ -0,0 +1,80 @@
+package de.espend.idea.shopware.index.dict;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Indexed element of a plugin "Resources/config.xml"
+ *
+ * <element required="true" type="text"><name>foobar</name></element>
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class PluginConfigElement {
+
+    @NotNull
+    private final String name;
+
+    /**
+     * Element "type" attribute; null if not given
+     */
+    @Nullable
+    private final String type;
+
+    private final boolean required;
+
+    /**
+     * Text offset of the "name" tag
+     */
+    private final int offset;
+
+    public PluginConfigElement(@NotNull String name, @Nullable String type, boolean required, int offset) {
+        this.name = name;
+        this.type = type;
+        this.required = required;
+        this.offset = offset;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    @Nullable
+    public String getType() {
+        return type;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        PluginConfigElement that = (PluginConfigElement) o;
+
+        return required == that.required &&
+            offset == that.offset &&
+            name.equals(that.name) &&
+            Objects.equals(type, that.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, type, required, offset);
+    }
+}
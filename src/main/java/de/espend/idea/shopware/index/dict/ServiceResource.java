@@ -4,6 +4,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.Serializable;
+import java.util.Objects;
 
 /**
  * @author Daniel Espendiller <daniel@espendiller.net>
@@ -35,6 +36,12 @@ public class ServiceResource implements Serializable {
         this.serviceName = serviceName;
     }
 
+    public ServiceResource(@Nullable String event, @Nullable BootstrapResource subscriber, @Nullable String serviceName) {
+        this.event = event;
+        this.subscriber = subscriber != null ? subscriber.getText() : null;
+        this.serviceName = serviceName;
+    }
+
     @Nullable
     public String getEvent() {
         return event;
@@ -71,4 +78,27 @@ public class ServiceResource implements Serializable {
     public BootstrapResource getSubscriber() {
         return BootstrapResource.fromString(subscriber);
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        ServiceResource that = (ServiceResource) o;
+
+        return Objects.equals(event, that.event) &&
+            Objects.equals(subscriber, that.subscriber) &&
+            Objects.equals(serviceName, that.serviceName) &&
+            Objects.equals(signature, that.signature);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(event, subscriber, serviceName, signature);
+    }
 }
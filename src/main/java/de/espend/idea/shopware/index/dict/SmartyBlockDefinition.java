@@ -0,0 +1,58 @@
+package de.espend.idea.shopware.index.dict;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Indexed "{block name='foo'}" definition
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class SmartyBlockDefinition {
+
+    /**
+     * Text offset of the block name literal
+     */
+    private final int offset;
+
+    /**
+     * Name of the surrounding block; empty on root level
+     */
+    @NotNull
+    private final String parent;
+
+    public SmartyBlockDefinition(int offset, @NotNull String parent) {
+        this.offset = offset;
+        this.parent = parent;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    @NotNull
+    public String getParent() {
+        return parent;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        SmartyBlockDefinition that = (SmartyBlockDefinition) o;
+
+        return offset == that.offset && parent.equals(that.parent);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, parent);
+    }
+}
@@ -0,0 +1,75 @@
+package de.espend.idea.shopware.index.dict;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Indexed snippet ini file entry
+ *
+ * [en_GB]
+ * swag-last-registrations/customer = "Customer"
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class SnippetLocation {
+
+    /**
+     * Text offset of the snippet key
+     */
+    private final int offset;
+
+    /**
+     * Ini section "en_GB"; empty if entry is not inside a section
+     */
+    @NotNull
+    private final String locale;
+
+    /**
+     * Unquoted value; truncated for long texts
+     */
+    @NotNull
+    private final String value;
+
+    public SnippetLocation(int offset, @NotNull String locale, @NotNull String value) {
+        this.offset = offset;
+        this.locale = locale;
+        this.value = value;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    @NotNull
+    public String getLocale() {
+        return locale;
+    }
+
+    @NotNull
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        SnippetLocation that = (SnippetLocation) o;
+
+        return offset == that.offset &&
+            locale.equals(that.locale) &&
+            value.equals(that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, locale, value);
+    }
+}
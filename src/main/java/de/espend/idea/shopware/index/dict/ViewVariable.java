@@ -0,0 +1,73 @@
+package de.espend.idea.shopware.index.dict;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Indexed template variable assignment of a controller action or a dispatch subscriber
+ *
+ * $this->View()->assign('sArticle', $article);
+ * $args->getSubject()->View()->sBasket = $basket;
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class ViewVariable {
+
+    @NotNull
+    private final String name;
+
+    /**
+     * Type signature of the assigned value, not resolved while indexing; null if unknown
+     */
+    @Nullable
+    private final String signature;
+
+    /**
+     * Text offset of the assigned value or of the variable name without a value
+     */
+    private final int offset;
+
+    public ViewVariable(@NotNull String name, @Nullable String signature, int offset) {
+        this.name = name;
+        this.signature = signature;
+        this.offset = offset;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    @Nullable
+    public String getSignature() {
+        return signature;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        ViewVariable that = (ViewVariable) o;
+
+        return offset == that.offset &&
+            name.equals(that.name) &&
+            Objects.equals(signature, that.signature);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, signature, offset);
+    }
+}
@@ -0,0 +1,54 @@
+package de.espend.idea.shopware.index.externalizer;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import de.espend.idea.shopware.index.dict.ControllerDefinition;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class ControllerDefinitionExternalizer implements DataExternalizer<ControllerDefinition> {
+
+    public static final ControllerDefinitionExternalizer INSTANCE = new ControllerDefinitionExternalizer();
+
+    @Override
+    public void save(@NotNull DataOutput out, ControllerDefinition definition) throws IOException {
+        IOUtil.writeUTF(out, definition.getModule());
+        IOUtil.writeUTF(out, definition.getController());
+        IOUtil.writeUTF(out, definition.getClassName());
+        IOUtil.writeUTF(out, definition.getSuperClass());
+        DataInputOutputUtil.writeINT(out, definition.getOffset());
+
+        DataInputOutputUtil.writeINT(out, definition.getActions().size());
+        for (Map.Entry<String, Integer> entry : definition.getActions().entrySet()) {
+            IOUtil.writeUTF(out, entry.getKey());
+            DataInputOutputUtil.writeINT(out, entry.getValue());
+        }
+    }
+
+    @Override
+    public ControllerDefinition read(@NotNull DataInput in) throws IOException {
+        String module = IOUtil.readUTF(in);
+        String controller = IOUtil.readUTF(in);
+        String className = IOUtil.readUTF(in);
+        String superClass = IOUtil.readUTF(in);
+        int offset = DataInputOutputUtil.readINT(in);
+
+        int size = DataInputOutputUtil.readINT(in);
+
+        Map<String, Integer> actions = new LinkedHashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            actions.put(IOUtil.readUTF(in), DataInputOutputUtil.readINT(in));
+        }
+
+        return new ControllerDefinition(module, controller, className, superClass, offset, actions);
+    }
+}
@@ -0,0 +1,52 @@
+package de.espend.idea.shopware.index.externalizer;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import de.espend.idea.shopware.index.dict.EventEmitter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class EventEmitterExternalizer implements DataExternalizer<List<EventEmitter>> {
+
+    public static final EventEmitterExternalizer INSTANCE = new EventEmitterExternalizer();
+
+    private static final EventEmitter.Kind[] KINDS = EventEmitter.Kind.values();
+
+    @Override
+    public void save(@NotNull DataOutput out, List<EventEmitter> emitters) throws IOException {
+        DataInputOutputUtil.writeINT(out, emitters.size());
+
+        for (EventEmitter emitter : emitters) {
+            DataInputOutputUtil.writeINT(out, emitter.getKind().ordinal());
+            IOUtil.writeUTF(out, emitter.getSignature());
+            DataInputOutputUtil.writeINT(out, emitter.getOffset());
+            IOUtil.writeUTF(out, emitter.getReceiverType());
+        }
+    }
+
+    @Override
+    public List<EventEmitter> read(@NotNull DataInput in) throws IOException {
+        int size = DataInputOutputUtil.readINT(in);
+
+        List<EventEmitter> emitters = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            emitters.add(new EventEmitter(
+                KINDS[DataInputOutputUtil.readINT(in)],
+                IOUtil.readUTF(in),
+                DataInputOutputUtil.readINT(in),
+                IOUtil.readUTF(in)
+            ));
+        }
+
+        return emitters;
+    }
+}
@@ -0,0 +1,40 @@
+package de.espend.idea.shopware.index.externalizer;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class IntegerListExternalizer implements DataExternalizer<List<Integer>> {
+
+    public static final IntegerListExternalizer INSTANCE = new IntegerListExternalizer();
+
+    @Override
+    public void save(@NotNull DataOutput out, List<Integer> values) throws IOException {
+        DataInputOutputUtil.writeINT(out, values.size());
+
+        for (Integer value : values) {
+            DataInputOutputUtil.writeINT(out, value);
+        }
+    }
+
+    @Override
+    public List<Integer> read(@NotNull DataInput in) throws IOException {
+        int size = DataInputOutputUtil.readINT(in);
+
+        List<Integer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(DataInputOutputUtil.readINT(in));
+        }
+
+        return values;
+    }
+}
@@ -0,0 +1,59 @@
+package de.espend.idea.shopware.index.externalizer;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Locale => keys
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class LocaleKeysExternalizer implements DataExternalizer<Map<String, Set<String>>> {
+
+    public static final LocaleKeysExternalizer INSTANCE = new LocaleKeysExternalizer();
+
+    @Override
+    public void save(@NotNull DataOutput out, Map<String, Set<String>> locales) throws IOException {
+        DataInputOutputUtil.writeINT(out, locales.size());
+
+        for (Map.Entry<String, Set<String>> entry : locales.entrySet()) {
+            IOUtil.writeUTF(out, entry.getKey());
+
+            DataInputOutputUtil.writeINT(out, entry.getValue().size());
+            for (String key : entry.getValue()) {
+                IOUtil.writeUTF(out, key);
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Set<String>> read(@NotNull DataInput in) throws IOException {
+        int size = DataInputOutputUtil.readINT(in);
+
+        Map<String, Set<String>> locales = new HashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            String locale = IOUtil.readUTF(in);
+
+            int keySize = DataInputOutputUtil.readINT(in);
+
+            Set<String> keys = new HashSet<>(keySize);
+            for (int j = 0; j < keySize; j++) {
+                keys.add(IOUtil.readUTF(in));
+            }
+
+            locales.put(locale, keys);
+        }
+
+        return locales;
+    }
+}
@@ -0,0 +1,49 @@
+package de.espend.idea.shopware.index.externalizer;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import de.espend.idea.shopware.index.dict.PluginConfigElement;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class PluginConfigElementExternalizer implements DataExternalizer<List<PluginConfigElement>> {
+
+    public static final PluginConfigElementExternalizer INSTANCE = new PluginConfigElementExternalizer();
+
+    @Override
+    public void save(@NotNull DataOutput out, List<PluginConfigElement> elements) throws IOException {
+        DataInputOutputUtil.writeINT(out, elements.size());
+
+        for (PluginConfigElement element : elements) {
+            IOUtil.writeUTF(out, element.getName());
+            IOUtil.writeUTF(out, element.getType() != null ? element.getType() : "");
+            out.writeBoolean(element.isRequired());
+            DataInputOutputUtil.writeINT(out, element.getOffset());
+        }
+    }
+
+    @Override
+    public List<PluginConfigElement> read(@NotNull DataInput in) throws IOException {
+        int size = DataInputOutputUtil.readINT(in);
+
+        List<PluginConfigElement> elements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = IOUtil.readUTF(in);
+            String type = IOUtil.readUTF(in);
+            boolean required = in.readBoolean();
+
+            elements.add(new PluginConfigElement(name, type.length() > 0 ? type : null, required, DataInputOutputUtil.readINT(in)));
+        }
+
+        return elements;
+    }
+}
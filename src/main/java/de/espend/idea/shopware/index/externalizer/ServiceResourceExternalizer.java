@@ -0,0 +1,99 @@
+package de.espend.idea.shopware.index.externalizer;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import de.espend.idea.shopware.index.dict.BootstrapResource;
+import de.espend.idea.shopware.index.dict.ServiceResource;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resources of one event share most of their strings (event, service name, signature of the same subscriber),
+ * so every distinct string is written once as a table in front of the records; records only store table indexes.
+ *
+ * Subscriber is stored as BootstrapResource ordinal; index and ordinal are shifted by one, zero is null
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class ServiceResourceExternalizer implements DataExternalizer<List<ServiceResource>> {
+
+    public static final ServiceResourceExternalizer INSTANCE = new ServiceResourceExternalizer();
+
+    private static final BootstrapResource[] BOOTSTRAP_RESOURCES = BootstrapResource.values();
+
+    @Override
+    public void save(@NotNull DataOutput out, List<ServiceResource> resources) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (ServiceResource resource : resources) {
+            addString(strings, resource.getEvent());
+            addString(strings, resource.getServiceName());
+            addString(strings, resource.getSignature());
+        }
+
+        DataInputOutputUtil.writeINT(out, strings.size());
+        for (String value : strings.keySet()) {
+            IOUtil.writeUTF(out, value);
+        }
+
+        DataInputOutputUtil.writeINT(out, resources.size());
+
+        for (ServiceResource resource : resources) {
+            writeStringIndex(out, strings, resource.getEvent());
+
+            BootstrapResource subscriber = resource.getSubscriber();
+            DataInputOutputUtil.writeINT(out, subscriber != null ? subscriber.ordinal() + 1 : 0);
+
+            writeStringIndex(out, strings, resource.getServiceName());
+            writeStringIndex(out, strings, resource.getSignature());
+        }
+    }
+
+    @Override
+    public List<ServiceResource> read(@NotNull DataInput in) throws IOException {
+        String[] strings = new String[DataInputOutputUtil.readINT(in)];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = IOUtil.readUTF(in);
+        }
+
+        int size = DataInputOutputUtil.readINT(in);
+
+        List<ServiceResource> resources = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String event = readStringIndex(in, strings);
+
+            int subscriber = DataInputOutputUtil.readINT(in);
+
+            String serviceName = readStringIndex(in, strings);
+            String signature = readStringIndex(in, strings);
+
+            resources.add(new ServiceResource(event, subscriber > 0 ? BOOTSTRAP_RESOURCES[subscriber - 1] : null, serviceName).setSignature(signature));
+        }
+
+        return resources;
+    }
+
+    private static void addString(@NotNull Map<String, Integer> strings, @Nullable String value) {
+        if(value != null && !strings.containsKey(value)) {
+            strings.put(value, strings.size());
+        }
+    }
+
+    private static void writeStringIndex(@NotNull DataOutput out, @NotNull Map<String, Integer> strings, @Nullable String value) throws IOException {
+        DataInputOutputUtil.writeINT(out, value != null ? strings.get(value) + 1 : 0);
+    }
+
+    @Nullable
+    private static String readStringIndex(@NotNull DataInput in, @NotNull String[] strings) throws IOException {
+        int index = DataInputOutputUtil.readINT(in);
+        return index > 0 ? strings[index - 1] : null;
+    }
+}
@@ -0,0 +1,43 @@
+package de.espend.idea.shopware.index.externalizer;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import de.espend.idea.shopware.index.dict.SmartyBlockDefinition;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class SmartyBlockDefinitionExternalizer implements DataExternalizer<List<SmartyBlockDefinition>> {
+
+    public static final SmartyBlockDefinitionExternalizer INSTANCE = new SmartyBlockDefinitionExternalizer();
+
+    @Override
+    public void save(@NotNull DataOutput out, List<SmartyBlockDefinition> definitions) throws IOException {
+        DataInputOutputUtil.writeINT(out, definitions.size());
+
+        for (SmartyBlockDefinition definition : definitions) {
+            DataInputOutputUtil.writeINT(out, definition.getOffset());
+            IOUtil.writeUTF(out, definition.getParent());
+        }
+    }
+
+    @Override
+    public List<SmartyBlockDefinition> read(@NotNull DataInput in) throws IOException {
+        int size = DataInputOutputUtil.readINT(in);
+
+        List<SmartyBlockDefinition> definitions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            definitions.add(new SmartyBlockDefinition(DataInputOutputUtil.readINT(in), IOUtil.readUTF(in)));
+        }
+
+        return definitions;
+    }
+}
@@ -0,0 +1,44 @@
+package de.espend.idea.shopware.index.externalizer;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import de.espend.idea.shopware.index.dict.SnippetLocation;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class SnippetLocationExternalizer implements DataExternalizer<List<SnippetLocation>> {
+
+    public static final SnippetLocationExternalizer INSTANCE = new SnippetLocationExternalizer();
+
+    @Override
+    public void save(@NotNull DataOutput out, List<SnippetLocation> locations) throws IOException {
+        DataInputOutputUtil.writeINT(out, locations.size());
+
+        for (SnippetLocation location : locations) {
+            DataInputOutputUtil.writeINT(out, location.getOffset());
+            IOUtil.writeUTF(out, location.getLocale());
+            IOUtil.writeUTF(out, location.getValue());
+        }
+    }
+
+    @Override
+    public List<SnippetLocation> read(@NotNull DataInput in) throws IOException {
+        int size = DataInputOutputUtil.readINT(in);
+
+        List<SnippetLocation> locations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            locations.add(new SnippetLocation(DataInputOutputUtil.readINT(in), IOUtil.readUTF(in), IOUtil.readUTF(in)));
+        }
+
+        return locations;
+    }
+}
@@ -0,0 +1,47 @@
+package de.espend.idea.shopware.index.externalizer;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import de.espend.idea.shopware.index.dict.ViewVariable;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class ViewVariableExternalizer implements DataExternalizer<List<ViewVariable>> {
+
+    public static final ViewVariableExternalizer INSTANCE = new ViewVariableExternalizer();
+
+    @Override
+    public void save(@NotNull DataOutput out, List<ViewVariable> variables) throws IOException {
+        DataInputOutputUtil.writeINT(out, variables.size());
+
+        for (ViewVariable variable : variables) {
+            IOUtil.writeUTF(out, variable.getName());
+            IOUtil.writeUTF(out, variable.getSignature() != null ? variable.getSignature() : "");
+            DataInputOutputUtil.writeINT(out, variable.getOffset());
+        }
+    }
+
+    @Override
+    public List<ViewVariable> read(@NotNull DataInput in) throws IOException {
+        int size = DataInputOutputUtil.readINT(in);
+
+        List<ViewVariable> variables = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = IOUtil.readUTF(in);
+            String signature = IOUtil.readUTF(in);
+
+            variables.add(new ViewVariable(name, signature.length() > 0 ? signature : null, DataInputOutputUtil.readINT(in)));
+        }
+
+        return variables;
+    }
+}
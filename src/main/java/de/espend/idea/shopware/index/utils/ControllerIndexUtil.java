@@ -0,0 +1,224 @@
+package de.espend.idea.shopware.index.utils;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Pair;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.jetbrains.php.lang.PhpFileType;
+import com.jetbrains.php.lang.psi.elements.Method;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import de.espend.idea.shopware.index.ControllerActionIndex;
+import de.espend.idea.shopware.index.dict.ControllerDefinition;
+import de.espend.idea.shopware.util.ShopwareUtil;
+import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class ControllerIndexUtil {
+
+    /**
+     * All controller classes of the given modules; module names are case insensitive
+     */
+    public static void visitControllerClasses(@NotNull Project project, @NotNull ShopwareUtil.ControllerClassVisitor visitor, @NotNull String... modules) {
+        Set<String> modulePrefixes = new HashSet<>();
+        for (String module : modules) {
+            modulePrefixes.add(module.toLowerCase() + "/");
+        }
+
+        GlobalSearchScope scope = getScope(project);
+
+        Set<String> keys = new HashSet<>();
+        FileBasedIndex.getInstance().processAllKeys(ControllerActionIndex.KEY, key -> {
+            int i = key.indexOf('/');
+            if(i > 0 && modulePrefixes.contains(key.substring(0, i + 1))) {
+                keys.add(key);
+            }
+
+            return true;
+        }, scope, null);
+
+        // collect first; visitors are free to access indexes again
+        List<Pair<VirtualFile, ControllerDefinition>> definitions = new ArrayList<>();
+        for (String key : keys) {
+            ProgressManager.checkCanceled();
+            definitions.addAll(getDefinitions(scope, key));
+        }
+
+        PsiManager psiManager = PsiManager.getInstance(project);
+        for (Pair<VirtualFile, ControllerDefinition> pair : definitions) {
+            ControllerDefinition definition = pair.getSecond();
+
+            PhpClass phpClass = getPhpClass(psiManager, pair.getFirst(), definition);
+            if(phpClass != null) {
+                visitor.visitClass(phpClass, definition.getModule(), definition.getController());
+            }
+        }
+    }
+
+    /**
+     * Public "*Action" methods of a controller including inherited and trait ones; overwritten actions are only visited once
+     *
+     * Super classes following the "Shopware_Controllers_*" convention are read from the index, all others and traits
+     * are resolved on PHP classes
+     */
+    public static void visitControllerActions(@NotNull Project project, @NotNull String moduleName, @NotNull String controllerName, @NotNull ShopwareUtil.ControllerActionVisitor visitor) {
+        new ActionCollector(project, moduleName, controllerName, visitor)
+            .visitKey(ControllerActionIndex.createKey(moduleName, controllerName));
+    }
+
+    @NotNull
+    private static List<Pair<VirtualFile, ControllerDefinition>> getDefinitions(@NotNull GlobalSearchScope scope, @NotNull String key) {
+        List<Pair<VirtualFile, ControllerDefinition>> definitions = new ArrayList<>();
+
+        FileBasedIndex.getInstance().processValues(ControllerActionIndex.KEY, key, null, (virtualFile, definition) -> {
+            definitions.add(Pair.create(virtualFile, definition));
+            return true;
+        }, scope);
+
+        return definitions;
+    }
+
+    @Nullable
+    private static PhpClass getPhpClass(@NotNull PsiManager psiManager, @NotNull VirtualFile virtualFile, @NotNull ControllerDefinition definition) {
+        PsiFile psiFile = psiManager.findFile(virtualFile);
+        if(psiFile == null) {
+            return null;
+        }
+
+        PhpClass phpClass = PsiTreeUtil.getParentOfType(psiFile.findElementAt(definition.getOffset()), PhpClass.class);
+        if(phpClass == null || !definition.getClassName().equals(phpClass.getFQN())) {
+            return null;
+        }
+
+        return phpClass;
+    }
+
+    @NotNull
+    private static GlobalSearchScope getScope(@NotNull Project project) {
+        return GlobalSearchScope.getScopeRestrictedByFileTypes(GlobalSearchScope.allScope(project), PhpFileType.INSTANCE);
+    }
+
+    private static class ActionCollector {
+        @NotNull
+        private final Project project;
+
+        @NotNull
+        private final GlobalSearchScope scope;
+
+        @NotNull
+        private final String moduleName;
+
+        @NotNull
+        private final String controllerName;
+
+        @NotNull
+        private final ShopwareUtil.ControllerActionVisitor visitor;
+
+        private final Set<String> visitedKeys = new HashSet<>();
+        private final Set<String> visitedClasses = new HashSet<>();
+        private final Set<String> visitedActions = new HashSet<>();
+
+        private ActionCollector(@NotNull Project project, @NotNull String moduleName, @NotNull String controllerName, @NotNull ShopwareUtil.ControllerActionVisitor visitor) {
+            this.project = project;
+            this.scope = getScope(project);
+            this.moduleName = moduleName;
+            this.controllerName = controllerName;
+            this.visitor = visitor;
+        }
+
+        /**
+         * @return false if there is no indexed controller for the key
+         */
+        private boolean visitKey(@NotNull String key) {
+            if(!visitedKeys.add(key)) {
+                return true;
+            }
+
+            List<Pair<VirtualFile, ControllerDefinition>> definitions = getDefinitions(scope, key);
+
+            PsiManager psiManager = PsiManager.getInstance(project);
+            for (Pair<VirtualFile, ControllerDefinition> pair : definitions) {
+                ControllerDefinition definition = pair.getSecond();
+
+                PhpClass phpClass = getPhpClass(psiManager, pair.getFirst(), definition);
+                if(phpClass == null || !visitedClasses.add(phpClass.getFQN())) {
+                    continue;
+                }
+
+                PsiFile psiFile = phpClass.getContainingFile();
+                for (Map.Entry<String, Integer> entry : definition.getActions().entrySet()) {
+                    Method method = PsiTreeUtil.getParentOfType(psiFile.findElementAt(entry.getValue()), Method.class);
+                    if(method != null && entry.getKey().equals(method.getName())) {
+                        visitAction(method);
+                    }
+                }
+
+                visitTraits(phpClass);
+                visitSuperClass(phpClass, definition.getSuperClass());
+            }
+
+            return definitions.size() > 0;
+        }
+
+        /**
+         * Fallback for super classes not covered by the index, eg "Enlight_Controller_Action" or plugin base controllers
+         */
+        private void visitClass(@NotNull PhpClass phpClass) {
+            if(!visitedClasses.add(phpClass.getFQN())) {
+                return;
+            }
+
+            for (Method method : phpClass.getOwnMethods()) {
+                visitAction(method);
+            }
+
+            visitTraits(phpClass);
+            visitSuperClass(phpClass, StringUtils.defaultString(phpClass.getSuperFQN()));
+        }
+
+        private void visitTraits(@NotNull PhpClass phpClass) {
+            for (PhpClass trait : phpClass.getTraits()) {
+                visitClass(trait);
+            }
+        }
+
+        private void visitSuperClass(@NotNull PhpClass phpClass, @NotNull String superClassName) {
+            if(StringUtils.isBlank(superClassName)) {
+                return;
+            }
+
+            String superKey = ControllerActionIndex.getKeyForClass(superClassName);
+            if(superKey != null && visitKey(superKey)) {
+                return;
+            }
+
+            PhpClass superClass = phpClass.getSuperClass();
+            if(superClass != null) {
+                visitClass(superClass);
+            }
+        }
+
+        private void visitAction(@NotNull Method method) {
+            String actionName = method.getName();
+            if(!method.getAccess().isPublic() || !actionName.endsWith("Action") || !visitedActions.add(actionName.toLowerCase())) {
+                return;
+            }
+
+            visitor.visitMethod(method, actionName.substring(0, actionName.length() - 6), moduleName, controllerName);
+        }
+    }
+}
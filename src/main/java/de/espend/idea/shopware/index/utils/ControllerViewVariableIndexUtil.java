@@ -0,0 +1,135 @@
+package de.espend.idea.shopware.index.utils;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.jetbrains.php.PhpIndex;
+import com.jetbrains.php.lang.PhpFileType;
+import com.jetbrains.php.lang.psi.elements.Method;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.jetbrains.php.lang.psi.elements.PhpPsiElement;
+import com.jetbrains.php.lang.psi.resolve.types.PhpType;
+import de.espend.idea.shopware.index.ControllerViewVariableIndex;
+import de.espend.idea.shopware.index.dict.ViewVariable;
+import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class ControllerViewVariableIndexUtil {
+
+    private static final String[] DISPATCH_EVENTS = new String[] {
+        "PreDispatch", "PostDispatch", "PostDispatchSecure"
+    };
+
+    /**
+     * Variables of the action itself and of all dispatch subscribers of its controller
+     */
+    public static void visitViewVariables(@NotNull Method method, @NotNull ViewVariableVisitor visitor) {
+        PhpClass phpClass = method.getContainingClass();
+        if(phpClass == null) {
+            return;
+        }
+
+        Collection<String> keys = getKeys(phpClass.getName(), method.getName());
+        if(keys.isEmpty()) {
+            return;
+        }
+
+        Project project = method.getProject();
+        GlobalSearchScope scope = GlobalSearchScope.getScopeRestrictedByFileTypes(GlobalSearchScope.allScope(project), PhpFileType.INSTANCE);
+
+        // collect first; visitors are free to access indexes again
+        Map<VirtualFile, List<ViewVariable>> variables = new LinkedHashMap<>();
+        for (String key : keys) {
+            ProgressManager.checkCanceled();
+
+            FileBasedIndex.getInstance().processValues(ControllerViewVariableIndex.KEY, key, null, (virtualFile, values) -> {
+                variables.computeIfAbsent(virtualFile, v -> new ArrayList<>()).addAll(values);
+                return true;
+            }, scope);
+        }
+
+        for (Map.Entry<VirtualFile, List<ViewVariable>> entry : variables.entrySet()) {
+            for (ViewVariable variable : entry.getValue()) {
+                visitor.visit(entry.getKey(), variable);
+            }
+        }
+    }
+
+    /**
+     * Assigned value or variable name the index entry was created for
+     */
+    @Nullable
+    public static PsiElement getTarget(@NotNull Project project, @NotNull VirtualFile virtualFile, @NotNull ViewVariable variable) {
+        PsiFile psiFile = PsiManager.getInstance(project).findFile(virtualFile);
+        if(psiFile == null) {
+            return null;
+        }
+
+        return PsiTreeUtil.getParentOfType(psiFile.findElementAt(variable.getOffset()), PhpPsiElement.class, false);
+    }
+
+    /**
+     * Resolved types of the indexed signature
+     */
+    @NotNull
+    public static Set<String> getTypes(@NotNull Project project, @NotNull ViewVariable variable) {
+        String signature = variable.getSignature();
+        if(signature == null) {
+            return Collections.emptySet();
+        }
+
+        PhpType phpType = new PhpType();
+        for (String type : StringUtils.split(signature, '|')) {
+            phpType.add(type);
+        }
+
+        return PhpIndex.getInstance(project).completeType(project, phpType, new HashSet<>()).getTypes();
+    }
+
+    /**
+     * "Shopware_Controllers_Frontend_Account::ajaxLoginAction" => action key and all dispatch events of the controller
+     */
+    @NotNull
+    private static Collection<String> getKeys(@NotNull String className, @NotNull String methodName) {
+        String actionKey = ControllerViewVariableIndex.getKeyForAction(className, methodName);
+        if(actionKey == null) {
+            return Collections.emptyList();
+        }
+
+        // "frontend/account/ajaxlogin"
+        String[] parts = StringUtils.split(actionKey, '/');
+        if(parts.length != 3) {
+            return Collections.emptyList();
+        }
+
+        Collection<String> keys = new LinkedHashSet<>();
+        keys.add(actionKey);
+
+        for (String event : DISPATCH_EVENTS) {
+            keys.add(ControllerViewVariableIndex.getKeyForEvent("Enlight_Controller_Action_" + event));
+            keys.add(ControllerViewVariableIndex.getKeyForEvent("Enlight_Controller_Action_" + event + "_" + parts[0]));
+            keys.add(ControllerViewVariableIndex.getKeyForEvent("Enlight_Controller_Action_" + event + "_" + parts[0] + "_" + parts[1]));
+        }
+
+        // replaced or extended action: "Enlight_Controller_Action_Frontend_Account_AjaxLogin"
+        keys.add(ControllerViewVariableIndex.getKeyForEvent("Enlight_Controller_Action_" + parts[0] + "_" + parts[1] + "_" + parts[2]));
+
+        return keys;
+    }
+
+    public interface ViewVariableVisitor {
+        void visit(@NotNull VirtualFile virtualFile, @NotNull ViewVariable variable);
+    }
+}
@@ -0,0 +1,147 @@
+package de.espend.idea.shopware.index.utils;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.jetbrains.php.PhpIndex;
+import com.jetbrains.php.lang.PhpFileType;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.jetbrains.php.lang.psi.resolve.types.PhpType;
+import de.espend.idea.shopware.index.EventEmitterIndex;
+import de.espend.idea.shopware.index.dict.EventEmitter;
+import fr.adrienbrault.idea.symfony2plugin.util.PhpElementsUtil;
+import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class EventEmitterIndexUtil {
+
+    private static final String EVENT_MANAGER = "\\Enlight_Event_EventManager";
+    private static final String CONFIG_FORM = "\\Shopware\\Models\\Config\\Form";
+
+    /**
+     * All indexed names of the given kind and their emitters, with a receiver resolved to the event manager or config form
+     */
+    @NotNull
+    public static Map<String, Collection<EventEmitter>> getEmitters(@NotNull Project project, @NotNull EventEmitter.Kind kind) {
+        Map<String, Collection<EventEmitter>> emitters = new HashMap<>();
+
+        visitEmitters(project, kind, (name, virtualFile, emitter) ->
+            emitters.computeIfAbsent(name, s -> new ArrayList<>()).add(emitter)
+        );
+
+        return emitters;
+    }
+
+    /**
+     * Same as getEmitters, but also provides the file of every emitter for resolving its literal offset
+     */
+    public static void visitEmitters(@NotNull Project project, @NotNull EventEmitter.Kind kind, @NotNull EmitterVisitor visitor) {
+        visitEmitters(project, visitor, kind, new ReceiverFilter(project));
+    }
+
+    /**
+     * One pass over the index for all emitter kinds; use "EventEmitter.getKind" to split them
+     *
+     * Receivers are not filtered, filter them with a ReceiverFilter whenever they are used
+     */
+    public static void visitAllEmitters(@NotNull Project project, @NotNull EmitterVisitor visitor) {
+        visitEmitters(project, visitor, null, null);
+    }
+
+    /**
+     * Emitters of a single file; reads the index data of the file without any key scan
+     *
+     * Receivers are not filtered, filter them with a ReceiverFilter whenever they are used
+     */
+    public static void visitFileEmitters(@NotNull Project project, @NotNull VirtualFile virtualFile, @NotNull EmitterVisitor visitor) {
+        Map<String, List<EventEmitter>> fileData = FileBasedIndex.getInstance().getFileData(EventEmitterIndex.KEY, virtualFile, project);
+        for (Map.Entry<String, List<EventEmitter>> entry : fileData.entrySet()) {
+            for (EventEmitter emitter : entry.getValue()) {
+                visitor.visit(entry.getKey(), virtualFile, emitter);
+            }
+        }
+    }
+
+    private static void visitEmitters(@NotNull Project project, @NotNull EmitterVisitor visitor, @Nullable EventEmitter.Kind kind, @Nullable ReceiverFilter receivers) {
+        GlobalSearchScope scope = GlobalSearchScope.getScopeRestrictedByFileTypes(GlobalSearchScope.allScope(project), PhpFileType.INSTANCE);
+
+        Set<String> names = new HashSet<>();
+        FileBasedIndex.getInstance().processAllKeys(EventEmitterIndex.KEY, name -> {
+            names.add(name);
+            return true;
+        }, scope, null);
+
+        for (String name : names) {
+            ProgressManager.checkCanceled();
+
+            // no nested index access for resolving receivers inside the value processor
+            Map<VirtualFile, List<EventEmitter>> files = new HashMap<>();
+            FileBasedIndex.getInstance().processValues(EventEmitterIndex.KEY, name, null, (virtualFile, values) -> {
+                files.computeIfAbsent(virtualFile, f -> new ArrayList<>()).addAll(values);
+                return true;
+            }, scope);
+
+            for (Map.Entry<VirtualFile, List<EventEmitter>> entry : files.entrySet()) {
+                for (EventEmitter emitter : entry.getValue()) {
+                    if((kind == null || emitter.getKind() == kind) && (receivers == null || receivers.accepts(emitter))) {
+                        visitor.visit(name, entry.getKey(), emitter);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isReceiverInstanceOf(@NotNull Project project, @NotNull String receiverType, @NotNull String instance) {
+        PhpType phpType = new PhpType();
+        for (String type : StringUtils.split(receiverType, '|')) {
+            phpType.add(type);
+        }
+
+        PhpType resolvedType = PhpIndex.getInstance(project).completeType(project, phpType, new HashSet<>());
+        for (PhpClass phpClass : PhpElementsUtil.getClassFromPhpTypeSet(project, resolvedType.getTypes())) {
+            if(PhpElementsUtil.isInstanceOf(phpClass, instance)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public interface EmitterVisitor {
+        void visit(@NotNull String name, @NotNull VirtualFile virtualFile, @NotNull EventEmitter emitter);
+    }
+
+    /**
+     * Emitters with a receiver resolved to the event manager or config form
+     *
+     * Receivers are mostly the same calls eg "Shopware()->Events()"; they are resolved only once per filter instance,
+     * so use a new instance for every pass
+     */
+    public static class ReceiverFilter {
+        @NotNull
+        private final Project project;
+
+        private final Map<String, Boolean> events = new HashMap<>();
+        private final Map<String, Boolean> configs = new HashMap<>();
+
+        public ReceiverFilter(@NotNull Project project) {
+            this.project = project;
+        }
+
+        public boolean accepts(@NotNull EventEmitter emitter) {
+            boolean isEvent = emitter.getKind() == EventEmitter.Kind.EVENT;
+
+            return (isEvent ? events : configs).computeIfAbsent(emitter.getReceiverType(), receiverType ->
+                isReceiverInstanceOf(project, receiverType, isEvent ? EVENT_MANAGER : CONFIG_FORM)
+            );
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package de.espend.idea.shopware.index.utils;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.jetbrains.php.lang.PhpFileType;
+import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import de.espend.idea.shopware.index.SubscribedEventIndex;
+import de.espend.idea.shopware.util.ShopwareUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class SubscribedEventIndexUtil {
+
+    /**
+     * Event names of all Bootstrap "subscribeEvent" and "createEvent" calls; index data only, no psi is loaded
+     *
+     * Keys of outdated files are not removed instantly, like for all other key based completions
+     */
+    @NotNull
+    public static Set<String> getEventNames(@NotNull Project project) {
+        Set<String> names = new HashSet<>();
+
+        FileBasedIndex.getInstance().processAllKeys(SubscribedEventIndex.KEY, key -> {
+            names.add(key);
+            return true;
+        }, getScope(project), null);
+
+        return names;
+    }
+
+    /**
+     * Event literals of the given event name, resolved by their indexed offsets
+     */
+    @NotNull
+    public static Collection<PsiElement> getEventTargets(@NotNull Project project, @NotNull String event) {
+        // collect first; no psi is loaded inside the value processor
+        Map<VirtualFile, List<Integer>> files = new HashMap<>();
+        FileBasedIndex.getInstance().processValues(SubscribedEventIndex.KEY, event, null, (virtualFile, offsets) -> {
+            files.computeIfAbsent(virtualFile, f -> new ArrayList<>()).addAll(offsets);
+            return true;
+        }, getScope(project));
+
+        Collection<PsiElement> targets = new ArrayList<>();
+        for (Map.Entry<VirtualFile, List<Integer>> entry : files.entrySet()) {
+            for (Integer offset : entry.getValue()) {
+                StringLiteralExpression literal = ShopwareUtil.getStringLiteralAtOffset(project, entry.getKey(), offset, event);
+                if(literal != null) {
+                    targets.add(literal);
+                }
+            }
+        }
+
+        return targets;
+    }
+
+    @NotNull
+    private static GlobalSearchScope getScope(@NotNull Project project) {
+        return GlobalSearchScope.getScopeRestrictedByFileTypes(GlobalSearchScope.allScope(project), PhpFileType.INSTANCE);
+    }
+}
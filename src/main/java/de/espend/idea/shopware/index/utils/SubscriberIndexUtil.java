@@ -6,11 +6,11 @@ import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.CachedValue;
 import com.intellij.psi.util.CachedValueProvider;
 import com.intellij.psi.util.CachedValuesManager;
-import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.util.ObjectUtils;
 import com.intellij.util.indexing.FileBasedIndexImpl;
 import com.jetbrains.php.lang.parser.PhpElementTypes;
 import com.jetbrains.php.lang.psi.elements.*;
+import de.espend.idea.shopware.ShopwareModificationTracker;
 import de.espend.idea.shopware.index.InitResourceServiceIndex;
 import de.espend.idea.shopware.index.dict.BootstrapResource;
 import de.espend.idea.shopware.index.dict.ServiceResource;
@@ -24,7 +24,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Set;
+import java.util.List;
 
 /**
  * @author Daniel Espendiller <daniel@espendiller.net>
@@ -99,7 +99,7 @@ public class SubscriberIndexUtil {
         if (cache == null) {
             cache = CachedValuesManager.getManager(project).createCachedValue(() -> CachedValueProvider.Result.create(
                 getIndexedBootstrapResources(project, BootstrapResource.INIT_RESOURCE, BootstrapResource.AFTER_INIT_RESOURCE, BootstrapResource.AFTER_REGISTER_RESOURCE),
-                PsiModificationTracker.MODIFICATION_COUNT
+                ShopwareModificationTracker.getTracker(project, ShopwareModificationTracker.Kind.SUBSCRIBER)
             ), false);
 
             project.putUserData(SERVICE_RESOURCE, cache);
@@ -113,21 +113,9 @@ public class SubscriberIndexUtil {
         Collection<ServiceResource> serviceResources = new ArrayList<>();
 
         for (BootstrapResource bootstrapResource : bootstrapResources) {
-            for (Set<String> resources : FileBasedIndexImpl.getInstance().getValues(InitResourceServiceIndex.KEY, bootstrapResource.getText(), GlobalSearchScope.allScope(project))) {
-                if(resources == null) {
-                    continue;
-                }
-
-                for (String s : resources) {
-                    String[] split = s.split(String.valueOf(InitResourceServiceIndex.TRIM_KEY));
-                    if(split.length < 4) {
-                        continue;
-                    }
-
-                    ServiceResource e = new ServiceResource(split[0], split[1], split[2]);
-                    e.setSignature(split[3]);
-
-                    serviceResources.add(e);
+            for (List<ServiceResource> resources : FileBasedIndexImpl.getInstance().getValues(InitResourceServiceIndex.KEY, bootstrapResource.getText(), GlobalSearchScope.allScope(project))) {
+                if(resources != null) {
+                    serviceResources.addAll(resources);
                 }
             }
         }
@@ -6,19 +6,17 @@ import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.jetbrains.php.lang.parser.PhpElementTypes;
 import com.jetbrains.php.lang.psi.elements.*;
 import de.espend.idea.shopware.ShopwareProjectComponent;
 import de.espend.idea.shopware.inspection.quickfix.CreateMethodQuickFix;
+import de.espend.idea.shopware.util.dict.BootstrapSubscriptions;
 import fr.adrienbrault.idea.symfony2plugin.util.PhpElementsUtil;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 
 /**
  * @author Daniel Espendiller <daniel@espendiller.net>
@@ -39,66 +37,66 @@ public class ShopwareSubscriperMethodInspection extends LocalInspectionTool {
         String name = psiFile.getName();
 
         if(name.contains("Bootstrap")) {
-            psiFile.acceptChildren(new MyBootstrapRecursiveElementWalkingVisitor(holder));
-            return super.buildVisitor(holder, isOnTheFly);
+            return new MyBootstrapSubscriptionVisitor(holder, BootstrapSubscriptions.getSubscriptions(psiFile));
         }
 
         return new MySubscriberRecursiveElementWalkingVisitor(holder);
     }
 
-    private static class MyBootstrapRecursiveElementWalkingVisitor extends PsiRecursiveElementWalkingVisitor {
+    /**
+     * $this->subscribeEvent('Enlight_Controller_Action_PostDispatch', 'onPostDispatch');
+     */
+    private static class MyBootstrapSubscriptionVisitor extends PsiElementVisitor {
         @NotNull
         private final ProblemsHolder holder;
 
-        private MyBootstrapRecursiveElementWalkingVisitor(@NotNull ProblemsHolder holder) {
+        @NotNull
+        private final Map<Integer, BootstrapSubscriptions.Subscription> methodOffsets = new HashMap<>();
+
+        private MyBootstrapSubscriptionVisitor(@NotNull ProblemsHolder holder, @NotNull BootstrapSubscriptions subscriptions) {
             this.holder = holder;
+
+            for (BootstrapSubscriptions.Subscription subscription : subscriptions.getSubscriptions()) {
+                if(!subscription.isCreateEvent()) {
+                    methodOffsets.put(subscription.getMethodOffset(), subscription);
+                }
+            }
         }
 
         @Override
         public void visitElement(PsiElement element) {
-            if(element instanceof MethodReference && "subscribeEvent".equals(((MethodReference) element).getName())) {
-                visitMethodReference((MethodReference) element);
+            if(element instanceof StringLiteralExpression && methodOffsets.size() > 0) {
+                BootstrapSubscriptions.Subscription subscription = methodOffsets.get(element.getTextOffset());
+                if(subscription != null) {
+                    visitSubscription((StringLiteralExpression) element, subscription);
+                }
             }
 
             super.visitElement(element);
         }
 
-        private void visitMethodReference(@NotNull MethodReference reference) {
-
-            if(reference.getParameters().length < 2 || !(reference.getParameters()[1] instanceof StringLiteralExpression)) {
-                return;
-            }
-
-            StringLiteralExpression literalExpression = (StringLiteralExpression) reference.getParameters()[1];
-            final PhpClass phpClass = PsiTreeUtil.getParentOfType(reference, PhpClass.class);
+        private void visitSubscription(@NotNull StringLiteralExpression literalExpression, @NotNull BootstrapSubscriptions.Subscription subscription) {
+            final PhpClass phpClass = PsiTreeUtil.getParentOfType(literalExpression, PhpClass.class);
             if(phpClass == null) {
                 return;
             }
 
-            final String contents = literalExpression.getContents();
-            if(StringUtils.isBlank(contents)) {
-                return;
-            }
-
-            Method method = phpClass.findMethodByName(contents);
+            Method method = phpClass.findMethodByName(subscription.getMethodName());
             if(method != null) {
                 return;
             }
 
-
-            Method methodContext = PsiTreeUtil.getParentOfType(reference, Method.class);
+            Method methodContext = PsiTreeUtil.getParentOfType(literalExpression, Method.class);
             if(methodContext == null) {
                 return;
             }
 
             // @TODO: clean up
-            final PsiElement[] parameters = reference.getParameters();
             String subjectDoc = null;
             Method hookMethod = null;
-            String hookName = null;
-            if(parameters.length > 1 && parameters[0] instanceof StringLiteralExpression) {
-                hookName = ((StringLiteralExpression) parameters[0]).getContents();
-                PsiElement subjectTarget = CreateMethodQuickFix.getSubjectTargetOnHook(reference.getProject(), hookName);
+            String hookName = subscription.getEvent();
+            if(hookName != null) {
+                PsiElement subjectTarget = CreateMethodQuickFix.getSubjectTargetOnHook(literalExpression.getProject(), hookName);
                 if(subjectTarget instanceof PhpClass) {
                     subjectDoc = ((PhpClass) subjectTarget).getPresentableFQN();
                 } else if(subjectTarget instanceof Method) {
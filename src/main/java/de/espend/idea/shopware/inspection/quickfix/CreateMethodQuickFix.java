@@ -20,6 +20,7 @@ import com.jetbrains.php.lang.psi.resolve.types.PhpType;
 import de.espend.idea.shopware.index.utils.SubscriberIndexUtil;
 import de.espend.idea.shopware.reference.LazySubscriberReferenceProvider;
 import de.espend.idea.shopware.util.HookSubscriberUtil;
+import de.espend.idea.shopware.util.RegexUtil;
 import de.espend.idea.shopware.util.ShopwareUtil;
 import fr.adrienbrault.idea.symfony2plugin.util.PhpElementsUtil;
 import org.apache.commons.lang.StringUtils;
@@ -28,7 +29,6 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * @author Daniel Espendiller <daniel@espendiller.net>
@@ -132,8 +132,7 @@ public class CreateMethodQuickFix implements LocalQuickFix {
 
         if(generatorContainer.getHookName() != null) {
 
-            Pattern pattern = Pattern.compile("Enlight_Controller_Dispatcher_ControllerPath_(Frontend|Backend|Widget|Api)_(\\w+)");
-            Matcher matcher = pattern.matcher(generatorContainer.getHookName());
+            Matcher matcher = RegexUtil.CONTROLLER_PATH_EVENT.matcher(generatorContainer.getHookName());
 
             if(matcher.find()) {
                 stringBuilder.append("\n");
@@ -178,8 +177,9 @@ public class CreateMethodQuickFix implements LocalQuickFix {
     private void attachVariablesInScope(@NotNull Project project, StringBuilder stringBuilder) {
 
         // Events
-        if(HookSubscriberUtil.NOTIFY_EVENTS_MAP.containsKey(generatorContainer.getHookName())) {
-            Collection<String> references = HookSubscriberUtil.NOTIFY_EVENTS_MAP.get(generatorContainer.getHookName());
+        Map<String, Collection<String>> notifyEvents = HookSubscriberUtil.getNotifyEvents(project);
+        if(notifyEvents.containsKey(generatorContainer.getHookName())) {
+            Collection<String> references = notifyEvents.get(generatorContainer.getHookName());
             for (String value : references) {
                 String[] split = value.split("\\.");
                 Method classMethod = PhpElementsUtil.getClassMethod(project, split[0], split[1]);
@@ -252,8 +252,9 @@ public class CreateMethodQuickFix implements LocalQuickFix {
             }
         }
 
-        if(HookSubscriberUtil.NOTIFY_EVENTS_MAP.containsKey(contents)) {
-            Collection<String> references = HookSubscriberUtil.NOTIFY_EVENTS_MAP.get(contents);
+        Map<String, Collection<String>> notifyEvents = HookSubscriberUtil.getNotifyEvents(project);
+        if(notifyEvents.containsKey(contents)) {
+            Collection<String> references = notifyEvents.get(contents);
             for (String value : references) {
                 String[] split = value.split("\\.");
                 Method classMethod = PhpElementsUtil.getClassMethod(project, split[0], split[1]);
@@ -1,7 +1,6 @@
 package de.espend.idea.shopware.navigation;
 
 import com.intellij.codeInsight.navigation.actions.GotoDeclarationHandler;
-import com.intellij.lang.javascript.psi.JSLiteralExpression;
 import com.intellij.openapi.actionSystem.DataContext;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.patterns.PlatformPatterns;
@@ -9,7 +8,9 @@ import com.intellij.psi.PsiComment;
 import com.intellij.psi.PsiElement;
 import de.espend.idea.shopware.ShopwareProjectComponent;
 import de.espend.idea.shopware.util.ExtJsUtil;
+import de.espend.idea.shopware.util.RegexUtil;
 import de.espend.idea.shopware.util.SnippetUtil;
+import de.espend.idea.shopware.util.dict.ShopwareSnippet;
 import fr.adrienbrault.idea.symfony2plugin.util.PsiElementUtils;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
@@ -18,7 +19,6 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * @author Daniel Espendiller <daniel@espendiller.net>
@@ -56,7 +56,7 @@ public class ExtJsGoToDeclarationHandler implements GotoDeclarationHandler {
         }
 
         String text = psiElement.getText();
-        Matcher matcher = Pattern.compile("\\{.*namespace.*name=['|\"]*([^=]*)['|\"]*[\\s]*.*}").matcher(text);
+        Matcher matcher = RegexUtil.NAMESPACE_COMMENT.matcher(text);
         if(!matcher.find()) {
             return;
         }
@@ -70,27 +70,10 @@ public class ExtJsGoToDeclarationHandler implements GotoDeclarationHandler {
     }
 
     private void attachSnippets(@NotNull PsiElement sourceElement, @NotNull List<PsiElement> targets) {
-        PsiElement parent = sourceElement.getParent();
-        if(!(parent instanceof JSLiteralExpression)) {
-            return;
-        }
-
-        Object value = ((JSLiteralExpression) parent).getValue();
-        if(!(value instanceof String) || StringUtils.isBlank((String) value) || !((String) value).startsWith("{s")) {
-            return;
+        ShopwareSnippet snippet = SnippetUtil.getSnippetAtElement(sourceElement);
+        if(snippet != null) {
+            targets.addAll(SnippetUtil.getSnippetNameTargets(sourceElement.getProject(), snippet.getNamespace(), snippet.getName()));
         }
-
-        String name = ExtJsUtil.getAttributeTagValueFromSmartyString("s", "name", (String) value);
-        if(name == null) {
-            return;
-        }
-
-        String namespace = ExtJsUtil.getNamespaceFromStringLiteral((JSLiteralExpression) parent);
-        if(namespace == null) {
-            return;
-        }
-
-        targets.addAll(SnippetUtil.getSnippetNameTargets(parent.getProject(), namespace, name));
     }
 
     private void attachControllerActionNameGoto(PsiElement sourceElement, final List<PsiElement> psiElements) {
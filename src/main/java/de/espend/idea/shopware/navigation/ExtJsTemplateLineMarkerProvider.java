@@ -3,6 +3,7 @@ package de.espend.idea.shopware.navigation;
 import com.intellij.codeInsight.daemon.LineMarkerInfo;
 import com.intellij.codeInsight.daemon.LineMarkerProvider;
 import com.intellij.codeInsight.navigation.NavigationGutterIconBuilder;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.jetbrains.php.PhpIndex;
@@ -107,6 +108,8 @@ public class ExtJsTemplateLineMarkerProvider implements LineMarkerProvider {
 
         // @TODO: to be dropped no need as handled by symfony+annotations plugin
         for(PhpClass phpClass: PhpIndex.getInstance(project).getAllSubclasses("\\Shopware\\Components\\Model\\ModelEntity")) {
+            ProgressManager.checkCanceled();
+
             String className = phpClass.getPresentableFQN();
             if(classMap.contains(className.toLowerCase())) {
                 targets.add(phpClass);
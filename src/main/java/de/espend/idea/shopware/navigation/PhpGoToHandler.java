@@ -12,7 +12,6 @@ import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
 import com.intellij.psi.xml.XmlFile;
 import com.intellij.util.containers.ContainerUtil;
-import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
 import de.espend.idea.shopware.ShopwareProjectComponent;
@@ -118,11 +117,7 @@ public class PhpGoToHandler implements GotoDeclarationHandler {
             return;
         }
 
-        ConfigUtil.visitNamespaceConfigurations(psiElement.getProject(), namespace, pair -> {
-            if(contents.equalsIgnoreCase(pair.getFirst())) {
-                psiElements.add(pair.getSecond());
-            }
-        });
+        psiElements.addAll(ConfigUtil.getNamespaceConfigurationTargets(psiElement.getProject(), namespace, contents));
     }
 
     private void attachThemeJsFieldReferences(final PsiElement psiElement, final List<PsiElement> psiElements) {
@@ -163,11 +158,9 @@ public class PhpGoToHandler implements GotoDeclarationHandler {
             return;
         }
 
-        for(PhpClass phpClass: PhpIndex.getInstance(parent.getProject()).getAllSubclasses("\\Shopware\\Components\\Theme")) {
-            String name = phpClass.getContainingFile().getContainingDirectory().getName();
-            if(contents.equals(name)) {
-                psiElements.add(phpClass.getContainingFile().getContainingDirectory());
-            }
+        PsiManager psiManager = PsiManager.getInstance(parent.getProject());
+        for(VirtualFile themeDir: ThemeUtil.getThemeDirectories(parent.getProject(), contents)) {
+            ContainerUtil.addIfNotNull(psiElements, psiManager.findDirectory(themeDir));
         }
 
     }
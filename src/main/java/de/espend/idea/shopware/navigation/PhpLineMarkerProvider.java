@@ -9,17 +9,15 @@ import com.intellij.openapi.util.NotNullLazyValue;
 import com.intellij.openapi.util.Pair;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
 import com.jetbrains.php.lang.lexer.PhpTokenTypes;
 import com.jetbrains.php.lang.psi.elements.Method;
-import com.jetbrains.php.lang.psi.elements.MethodReference;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
 import de.espend.idea.shopware.ShopwarePluginIcons;
 import de.espend.idea.shopware.ShopwareProjectComponent;
 import de.espend.idea.shopware.util.HookSubscriberUtil;
+import de.espend.idea.shopware.util.dict.BootstrapSubscriptions;
 import fr.adrienbrault.idea.symfony2plugin.util.PhpElementsUtil;
-import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -52,72 +50,36 @@ public class PhpLineMarkerProvider implements LineMarkerProvider {
     }
 
     private void collectBootstrapSubscriber(@NotNull List<PsiElement> psiElements, @NotNull Collection<LineMarkerInfo> lineMarkerInfos, PsiFile containingFile) {
-        Map<String, Method> methods = new HashMap<>();
-
-        // we dont want multiple line markers, so wrap all into one here
-        Map<String, Set<PsiElement>> methodTargets = new HashMap<>();
-
-        for(PsiElement psiElement: psiElements) {
-            if(psiElement instanceof Method && ((Method) psiElement).getModifier().isPublic()) {
-                methods.put(((Method) psiElement).getName(), (Method) psiElement);
-            }
-        }
-
-        if(methods.size() == 0) {
+        BootstrapSubscriptions subscriptions = BootstrapSubscriptions.getSubscriptions(containingFile);
+        if(subscriptions.getSubscriptions().size() == 0) {
             return;
         }
 
-        final Project project = containingFile.getProject();
-        containingFile.accept(new PsiRecursiveElementWalkingVisitor() {
-            @Override
-            public void visitElement(PsiElement element) {
-                if(!(element instanceof MethodReference)) {
-                    super.visitElement(element);
-                    return;
-                }
-
-                MethodReference methodReference = (MethodReference) element;
-                String name = methodReference.getName();
-                if(name != null && (name.equals("subscribeEvent") || name.equals("createEvent"))) {
-                    PsiElement[] parameters = methodReference.getParameters();
-                    if(parameters.length >= 2 && parameters[0] instanceof StringLiteralExpression && parameters[1] instanceof StringLiteralExpression) {
-                        String subscriberName = ((StringLiteralExpression) parameters[0]).getContents();
-                        String methodName = ((StringLiteralExpression) parameters[1]).getContents();
-
-                        if(StringUtils.isNotBlank(subscriberName) && StringUtils.isNotBlank(methodName)) {
-
-                            if(methods.containsKey(methodName)) {
-
-                                if(!methodTargets.containsKey(methodName)) {
-                                    methodTargets.put(methodName, new HashSet<>());
-                                }
+        for(PsiElement psiElement: psiElements) {
+            if(!(psiElement instanceof Method) || !((Method) psiElement).getModifier().isPublic()) {
+                continue;
+            }
 
-                                methodTargets.get(methodName).add(parameters[1]);
-                                methodTargets.get(methodName).addAll(HookSubscriberUtil.getAllHookTargets(project, subscriberName));
-                            }
-                        }
-                    }
+            // we allow multiple events, but we dont want multiple line markers, so wrap all into one here
+            Collection<BootstrapSubscriptions.Subscription> methodSubscriptions = new ArrayList<>();
+            for (BootstrapSubscriptions.Subscription subscription : subscriptions.getSubscriptions(((Method) psiElement).getName())) {
+                if(subscription.getEvent() != null) {
+                    methodSubscriptions.add(subscription);
                 }
-
-                super.visitElement(element);
             }
-        });
 
-        // we allow multiple events
-        for(Map.Entry<String, Set<PsiElement>> method: methodTargets.entrySet()) {
-            if(methods.containsKey(method.getKey())) {
-
-                NavigationGutterIconBuilder<PsiElement> builder = NavigationGutterIconBuilder.create(ShopwarePluginIcons.SHOPWARE_LINEMARKER).
-                    setTargets(method.getValue()).
-                    setTooltipText("Related Targets");
+            if(methodSubscriptions.size() == 0) {
+                continue;
+            }
 
-                Method psiMethod = methods.get(method.getKey());
+            NavigationGutterIconBuilder<PsiElement> builder = NavigationGutterIconBuilder.create(ShopwarePluginIcons.SHOPWARE_LINEMARKER).
+                setTargets(new MyBootstrapNotNullLazyValue(subscriptions, methodSubscriptions, containingFile.getProject())).
+                setTooltipText("Related Targets");
 
-                // attach linemarker to leaf item which is our function name for performance reasons
-                ASTNode node = psiMethod.getNode().findChildByType(PhpTokenTypes.IDENTIFIER);
-                if(node != null) {
-                    lineMarkerInfos.add(builder.createLineMarkerInfo(node.getPsi()));
-                }
+            // attach linemarker to leaf item which is our function name for performance reasons
+            ASTNode node = psiElement.getNode().findChildByType(PhpTokenTypes.IDENTIFIER);
+            if(node != null) {
+                lineMarkerInfos.add(builder.createLineMarkerInfo(node.getPsi()));
             }
         }
     }
@@ -162,6 +124,40 @@ public class PhpLineMarkerProvider implements LineMarkerProvider {
         }
     }
 
+    private static class MyBootstrapNotNullLazyValue extends NotNullLazyValue<Collection<? extends PsiElement>> {
+        @NotNull
+        private final BootstrapSubscriptions subscriptions;
+
+        @NotNull
+        private final Collection<BootstrapSubscriptions.Subscription> methodSubscriptions;
+
+        @NotNull
+        private final Project project;
+
+        MyBootstrapNotNullLazyValue(@NotNull BootstrapSubscriptions subscriptions, @NotNull Collection<BootstrapSubscriptions.Subscription> methodSubscriptions, @NotNull Project project) {
+            this.subscriptions = subscriptions;
+            this.methodSubscriptions = methodSubscriptions;
+            this.project = project;
+        }
+
+        @NotNull
+        @Override
+        protected Collection<? extends PsiElement> compute() {
+            Collection<PsiElement> targets = new HashSet<>();
+
+            for (BootstrapSubscriptions.Subscription subscription : methodSubscriptions) {
+                StringLiteralExpression literal = subscriptions.getLiteral(subscription.getMethodOffset());
+                if(literal != null) {
+                    targets.add(literal);
+                }
+
+                targets.addAll(HookSubscriberUtil.getAllHookTargets(project, subscription.getEvent()));
+            }
+
+            return targets;
+        }
+    }
+
     private static class MyCollectionNotNullLazyValue extends NotNullLazyValue<Collection<? extends PsiElement>> {
         @NotNull
         private final PsiElement event;
@@ -10,12 +10,13 @@ import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
 import com.jetbrains.php.lang.psi.elements.Method;
 import com.jetbrains.smarty.SmartyFile;
-import com.jetbrains.smarty.lang.psi.SmartyTag;
 import de.espend.idea.shopware.ShopwareProjectComponent;
+import de.espend.idea.shopware.index.utils.ControllerViewVariableIndexUtil;
 import de.espend.idea.shopware.util.ShopwareUtil;
 import de.espend.idea.shopware.util.SmartyPattern;
 import de.espend.idea.shopware.util.SnippetUtil;
 import de.espend.idea.shopware.util.TemplateUtil;
+import de.espend.idea.shopware.util.dict.ShopwareSnippet;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -88,22 +89,10 @@ public class SmartyFileGoToDeclarationHandler implements GotoDeclarationHandler
     }
 
     private void attachSnippetNameTagGoto(@NotNull PsiElement psiElement, @NotNull Collection<PsiElement> targets) {
-        String contents = psiElement.getText();
-        if(StringUtils.isBlank(contents)) {
-            return;
-        }
-
-        PsiElement parent = psiElement.getParent();
-        if(!(parent instanceof SmartyTag)) {
-            return;
-        }
-
-        String namespace = TemplateUtil.getSnippetNamespaceByScope((SmartyTag) parent);
-        if(namespace == null) {
-            return;
+        ShopwareSnippet snippet = SnippetUtil.getSnippetAtElement(psiElement);
+        if(snippet != null) {
+            targets.addAll(SnippetUtil.getSnippetNameTargets(psiElement.getProject(), snippet.getNamespace(), snippet.getName()));
         }
-
-        targets.addAll(SnippetUtil.getSnippetNameTargets(psiElement.getProject(), namespace, contents));
     }
 
     private void attachControllerVariableGoto(PsiElement sourceElement, final List<PsiElement> psiElements) {
@@ -120,9 +109,12 @@ public class SmartyFileGoToDeclarationHandler implements GotoDeclarationHandler
             return;
         }
 
-        ShopwareUtil.collectControllerViewVariable(method, (variableName, sourceType, typeElement) -> {
-            if (variableName.equals(finalText)) {
-                psiElements.add(typeElement != null ? typeElement : sourceType);
+        ControllerViewVariableIndexUtil.visitViewVariables(method, (virtualFile, variable) -> {
+            if (variable.getName().equals(finalText)) {
+                PsiElement target = ControllerViewVariableIndexUtil.getTarget(sourceElement.getProject(), virtualFile, variable);
+                if(target != null) {
+                    psiElements.add(target);
+                }
             }
         });
 
@@ -180,21 +172,16 @@ public class SmartyFileGoToDeclarationHandler implements GotoDeclarationHandler
         final VirtualFile currentFile = sourceElement.getContainingFile().getVirtualFile();
 
         final String finalText = normalizeFilename(sourceElement.getText());
-        TemplateUtil.collectFiles(project, new TemplateUtil.SmartyTemplatePreventSelfVisitor(currentFile) {
-            @Override
-            public void visitNonSelfFile(VirtualFile virtualFile, String fileName) {
-
-                if (!fileName.equals(finalText)) {
-                    return;
-                }
-
-                PsiFile psiFile = PsiManager.getInstance(project).findFile(virtualFile);
-                if (psiFile != null) {
-                    psiElements.add(psiFile);
-                }
+        for(VirtualFile virtualFile: TemplateUtil.getTemplateFiles(project, finalText)) {
+            if(virtualFile.equals(currentFile)) {
+                continue;
+            }
 
+            PsiFile psiFile = PsiManager.getInstance(project).findFile(virtualFile);
+            if (psiFile != null) {
+                psiElements.add(psiFile);
             }
-        });
+        }
 
     }
 
@@ -208,17 +195,12 @@ public class SmartyFileGoToDeclarationHandler implements GotoDeclarationHandler
         }
 
         final String finalText = normalizeFilename(namespace);
-        TemplateUtil.collectFiles(sourceElement.getProject(), (virtualFile, fileName) -> {
-
-            if (!fileName.replaceFirst("[.][^.]+$", "").equals(finalText)) {
-                return;
-            }
-
+        for(VirtualFile virtualFile: TemplateUtil.getTemplateFiles(project, finalText + ".tpl")) {
             PsiFile psiFile = PsiManager.getInstance(project).findFile(virtualFile);
             if (psiFile != null) {
                 psiElements.add(psiFile);
             }
-        }, "tpl");
+        }
 
         psiElements.addAll(SnippetUtil.getSnippetNamespaceTargets(sourceElement.getProject(), namespace));
     }
@@ -228,18 +210,12 @@ public class SmartyFileGoToDeclarationHandler implements GotoDeclarationHandler
         final Project project = sourceElement.getProject();
 
         final String finalText = normalizeFilename(sourceElement.getText());
-        TemplateUtil.collectFiles(sourceElement.getProject(), (virtualFile, fileName) -> {
-
-            if (!fileName.equals(finalText)) {
-                return;
-            }
-
+        for(VirtualFile virtualFile: TemplateUtil.getTemplateFiles(project, finalText)) {
             PsiFile psiFile = PsiManager.getInstance(project).findFile(virtualFile);
             if (psiFile != null) {
                 psiElements.add(psiFile);
             }
-        }, SmartyPattern.TAG_LINK_FILE_EXTENSIONS);
-
+        }
 
     }
 
@@ -0,0 +1,76 @@
+package de.espend.idea.shopware.navigation;
+
+import com.intellij.lang.documentation.AbstractDocumentationProvider;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.containers.ContainerUtil;
+import de.espend.idea.shopware.ShopwareProjectComponent;
+import de.espend.idea.shopware.index.dict.SnippetLocation;
+import de.espend.idea.shopware.util.SnippetUtil;
+import de.espend.idea.shopware.util.dict.ShopwareSnippet;
+import de.espend.idea.shopware.util.dict.SnippetTarget;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Snippet values of all locales for quick doc and ctrl + hover, taken from SnippetLocationIndex
+ *
+ * {s name="swag-last-registrations/customer" namespace="foobar/widgets"}{/s}
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class SnippetDocumentationProvider extends AbstractDocumentationProvider {
+
+    @Nullable
+    @Override
+    public PsiElement getCustomDocumentationElement(Editor editor, PsiFile file, @Nullable PsiElement contextElement) {
+        if(contextElement == null || !ShopwareProjectComponent.isValidForProject(contextElement)) {
+            return null;
+        }
+
+        // only the snippet name under the caret is queried
+        ShopwareSnippet snippet = SnippetUtil.getSnippetAtElement(contextElement);
+        if(snippet == null) {
+            return null;
+        }
+
+        return ContainerUtil.getFirstItem(SnippetUtil.getSnippetNameTargets(contextElement.getProject(), snippet.getNamespace(), snippet.getName()));
+    }
+
+    @Nullable
+    @Override
+    public String getQuickNavigateInfo(PsiElement element, PsiElement originalElement) {
+        if(!(element instanceof SnippetTarget)) {
+            return null;
+        }
+
+        SnippetLocation location = ((SnippetTarget) element).getLocation();
+
+        return StringUtil.escapeXml(location.getLocale().length() > 0 ? "[" + location.getLocale() + "] " + location.getValue() : location.getValue());
+    }
+
+    @Nullable
+    @Override
+    public String generateDoc(PsiElement element, @Nullable PsiElement originalElement) {
+        if(!(element instanceof SnippetTarget)) {
+            return null;
+        }
+
+        SnippetTarget target = (SnippetTarget) element;
+
+        StringBuilder doc = new StringBuilder()
+            .append(StringUtil.escapeXml(target.getNamespace()))
+            .append("<br/><b>").append(StringUtil.escapeXml(target.getName())).append("</b><br/><br/>");
+
+        for (SnippetLocation location : SnippetUtil.getSnippetLocations(element.getProject(), target.getNamespace(), target.getName())) {
+            if(location.getLocale().length() > 0) {
+                doc.append("<b>").append(StringUtil.escapeXml(location.getLocale())).append("</b>: ");
+            }
+
+            doc.append(StringUtil.escapeXml(location.getValue())).append("<br/>");
+        }
+
+        return doc.toString();
+    }
+}
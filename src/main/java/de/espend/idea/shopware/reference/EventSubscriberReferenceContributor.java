@@ -9,12 +9,13 @@ import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.ObjectUtils;
 import com.intellij.util.ProcessingContext;
 import com.jetbrains.php.PhpIcons;
-import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.PhpLanguage;
 import com.jetbrains.php.lang.parser.PhpElementTypes;
 import com.jetbrains.php.lang.psi.elements.*;
+import de.espend.idea.shopware.NotifyEventService;
 import de.espend.idea.shopware.ShopwarePluginIcons;
 import de.espend.idea.shopware.ShopwareProjectComponent;
+import de.espend.idea.shopware.index.utils.SubscribedEventIndexUtil;
 import de.espend.idea.shopware.reference.provider.ControllerActionReferenceProvider;
 import de.espend.idea.shopware.reference.provider.ControllerReferenceProvider;
 import de.espend.idea.shopware.reference.provider.SmartyTemplateProvider;
@@ -23,13 +24,10 @@ import de.espend.idea.shopware.util.HookSubscriberUtil;
 import de.espend.idea.shopware.util.ShopwareUtil;
 import fr.adrienbrault.idea.symfony2plugin.util.MethodMatcher;
 import fr.adrienbrault.idea.symfony2plugin.util.PhpElementsUtil;
-import fr.adrienbrault.idea.symfony2plugin.util.PsiElementUtils;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * @author Daniel Espendiller <daniel@espendiller.net>
@@ -373,12 +371,22 @@ public class EventSubscriberReferenceContributor extends PsiReferenceContributor
         public ResolveResult[] multiResolve(boolean incompleteCode) {
             final List<ResolveResult> results = new ArrayList<>();
 
-            collectEvents(getElement().getProject(), (psiElement, value) -> {
+            Project project = getElement().getProject();
+
+            collectControllerEvents(project, (psiElement, value) -> {
                 if(value.equals(valueName)) {
                     results.add(new PsiElementResolveResult(psiElement));
                 }
             });
 
+            for (PsiElement psiElement : SubscribedEventIndexUtil.getEventTargets(project, valueName)) {
+                results.add(new PsiElementResolveResult(psiElement));
+            }
+
+            for (PsiElement psiElement : NotifyEventService.getInstance(project).getEventTargets(valueName)) {
+                results.add(new PsiElementResolveResult(psiElement));
+            }
+
             return results.toArray(new ResolveResult[0]);
 
         }
@@ -387,12 +395,9 @@ public class EventSubscriberReferenceContributor extends PsiReferenceContributor
         @Override
         public Object[] getVariants() {
 
-            final Set<String> events = new HashSet<>(HookSubscriberUtil.NOTIFY_EVENTS_MAP.keySet());
-
             final List<LookupElement> lookupElements = new ArrayList<>();
-            collectEvents(getElement().getProject(), (psiElement, value) -> events.add(value));
 
-            for(String event: events) {
+            for(String event: collectEventNames(getElement().getProject())) {
                 lookupElements.add(LookupElementBuilder.create(event).withIcon(ShopwarePluginIcons.SHOPWARE).withTypeText("Event", true));
             }
 
@@ -438,94 +443,28 @@ public class EventSubscriberReferenceContributor extends PsiReferenceContributor
     }
 
     public static void collectControllerEvents(Project project, Collector collector) {
-
-        PhpIndex phpIndex = PhpIndex.getInstance(project);
-
-        Collection<PhpClass> phpClasses = phpIndex.getAllSubclasses("\\Enlight_Controller_Action");
-
-        Pattern pattern = Pattern.compile(".*_(Frontend|Backend|Core|Widgets)_(\\w+)");
-
-
-        for (PhpClass phpClass : phpClasses) {
-
-            String className = phpClass.getName();
-            Matcher matcher = pattern.matcher(className);
-
-            if(matcher.find()) {
-                String moduleName = matcher.group(1);
-                String controller = matcher.group(2);
-
-
-                // http://wiki.shopware.de/Shopware-4-Event-Auflistung-System-Events_detail_988.html
-                // http://wiki.shopware.de/Shopware-4.1-Upgrade-Guide-fuer-Entwickler_detail_1297.html
-                collector.collect(phpClass, String.format("Enlight_Controller_Action_PostDispatch_%s_%s", moduleName, controller));
-                collector.collect(phpClass, String.format("Enlight_Controller_Action_PostDispatchSecure_%s_%s", moduleName, controller));
-                collector.collect(phpClass, String.format("Enlight_Controller_Action_PreDispatch_%s_%s", moduleName, controller));
-
-                collector.collect(phpClass, String.format("Enlight_Controller_Dispatcher_ControllerPath_%s_%s", moduleName, controller));
-            }
-
-        }
+        ShopwareUtil.collectControllerClass(project, (phpClass, moduleName, controller) -> {
+            // http://wiki.shopware.de/Shopware-4-Event-Auflistung-System-Events_detail_988.html
+            // http://wiki.shopware.de/Shopware-4.1-Upgrade-Guide-fuer-Entwickler_detail_1297.html
+            collector.collect(phpClass, String.format("Enlight_Controller_Action_PostDispatch_%s_%s", moduleName, controller));
+            collector.collect(phpClass, String.format("Enlight_Controller_Action_PostDispatchSecure_%s_%s", moduleName, controller));
+            collector.collect(phpClass, String.format("Enlight_Controller_Action_PreDispatch_%s_%s", moduleName, controller));
+
+            collector.collect(phpClass, String.format("Enlight_Controller_Dispatcher_ControllerPath_%s_%s", moduleName, controller));
+        }, "Frontend", "Backend", "Core", "Widgets");
     }
 
-    public static void collectEvents(Project project, Collector collector) {
-        collectControllerEvents(project, collector);
+    /**
+     * All known event names without resolving any event target
+     */
+    @NotNull
+    public static Set<String> collectEventNames(@NotNull Project project) {
+        Set<String> events = new HashSet<>(HookSubscriberUtil.getNotifyEvents(project).keySet());
+        events.addAll(SubscribedEventIndexUtil.getEventNames(project));
 
-        PhpIndex phpIndex = PhpIndex.getInstance(project);
+        collectControllerEvents(project, (psiElement, value) -> events.add(value));
 
-        Collection<PhpClass> phpClasses = phpIndex.getAllSubclasses("\\Shopware_Components_Plugin_Bootstrap");
-
-        for (PhpClass phpClass : phpClasses) {
-            for (String methodName : new String[]{"install", "update"}) {
-                Method method = phpClass.findMethodByName(methodName);
-
-                if (method != null) {
-
-                    PsiElement[] methodReferences = PsiTreeUtil.collectElements(method, element -> {
-                        if (element instanceof MethodReference) {
-                            return "subscribeEvent".equals(((MethodReference) element).getName());
-                        }
-
-                        return false;
-                    });
-
-                    for (PsiElement methodReference : methodReferences) {
-                        if (methodReference instanceof MethodReference) {
-                            PsiElement parameter = PsiElementUtils.getMethodParameterPsiElementAt((MethodReference) methodReference, 0);
-                            String parameterString = PhpElementsUtil.getStringValue(parameter);
-                            if (parameterString != null) {
-                                collector.collect(parameter, parameterString);
-                            }
-                        }
-                    }
-
-                }
-            }
-
-        }
-
-        for (final Map.Entry<String, Collection<String>> entry : HookSubscriberUtil.NOTIFY_EVENTS_MAP.entrySet()) {
-            for (String value : entry.getValue()) {
-                String[] split = value.split("\\.");
-                Method classMethod = PhpElementsUtil.getClassMethod(project, split[0], split[1]);
-                if(classMethod == null) {
-                    continue;
-                }
-
-                final PsiElement[] count = {classMethod};
-                classMethod.acceptChildren(new PsiRecursiveElementWalkingVisitor() {
-                           @Override
-                           public void visitElement(PsiElement element) {
-                               if ((element instanceof StringLiteralExpression) && ((StringLiteralExpression) element).getContents().equals(entry.getKey())) {
-                                   count[0] = element;
-                               }
-                               super.visitElement(element);
-                           }
-                       });
-
-                collector.collect(count[0], entry.getKey());
-            }
-        }
+        return events;
     }
 
     public interface Collector {
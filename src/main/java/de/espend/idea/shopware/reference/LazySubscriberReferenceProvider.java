@@ -1,23 +1,27 @@
 package de.espend.idea.shopware.reference;
 
 import com.intellij.codeInsight.completion.*;
+import com.intellij.codeInsight.lookup.LookupElement;
 import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.codeInsight.navigation.actions.GotoDeclarationHandler;
 import com.intellij.openapi.actionSystem.DataContext;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Key;
 import com.intellij.patterns.PlatformPatterns;
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
 import com.intellij.psi.util.*;
 import com.intellij.util.ProcessingContext;
 import com.jetbrains.php.PhpIcons;
 import com.jetbrains.php.lang.psi.elements.*;
+import de.espend.idea.shopware.NotifyEventService;
+import de.espend.idea.shopware.ShopwareModificationTracker;
 import de.espend.idea.shopware.ShopwarePluginIcons;
 import de.espend.idea.shopware.ShopwareProjectComponent;
 import de.espend.idea.shopware.util.HookSubscriberUtil;
 import de.espend.idea.shopware.util.ShopwareUtil;
+import de.espend.idea.shopware.util.dict.HookCatalog;
 import fr.adrienbrault.idea.symfony2plugin.Symfony2Icons;
 import fr.adrienbrault.idea.symfony2plugin.stubs.ContainerCollectionResolver;
 import fr.adrienbrault.idea.symfony2plugin.util.MethodMatcher;
@@ -37,7 +41,6 @@ public class LazySubscriberReferenceProvider extends CompletionContributor imple
     private static final List<String> DOCTRINE_LIFECYCLES = Arrays.asList("prePersist", "postPersist", "preUpdate", "postUpdate", "preRemove", "postRemove");
     private static List<String> HOOK_EVENTS = Arrays.asList("after", "before", "replace");
 
-    private static final Key<CachedValue<String[]>> HOOK_CACHE = new Key<>("SW_HOOK_CACHE");
     private static final Key<CachedValue<String[]>> EVENT_CACHE = new Key<>("SW_EVENT_CACHE");
 
     public LazySubscriberReferenceProvider() {
@@ -151,58 +154,19 @@ public class LazySubscriberReferenceProvider extends CompletionContributor imple
     }
 
     private void collectHookLookupElements(@NotNull final Project project, final CompletionResultSet result, boolean withReferences) {
-
-        CachedValue<String[]> hookCache = project.getUserData(HOOK_CACHE);
-
-        if(hookCache == null) {
-            hookCache = CachedValuesManager.getManager(project).createCachedValue(() -> {
-
-                final Collection<String> set = new HashSet<>();
-
-                HookSubscriberUtil.collectHooks(project, (phpClass, method) -> {
-                    for (String hookName : new String[]{"after", "before", "replace"}) {
-                        set.add(String.format("%s::%s::%s", phpClass.getPresentableFQN(), method.getName(), hookName));
-                    }
-
-                    return true;
-                });
-
-                return CachedValueProvider.Result.create(set.toArray(new String[0]), PsiModificationTracker.MODIFICATION_COUNT);
-            }, false);
-
-            project.putUserData(HOOK_CACHE, hookCache);
-        }
-
-        for (String s : hookCache.getValue()) {
-            result.addElement(LookupElementBuilder.create(s).withIcon(PhpIcons.METHOD_ICON).withTypeText("Hook", true));
-        }
-
-        HookSubscriberUtil.collectDoctrineLifecycleHooks(project, phpClass -> {
-
-            for (String lifecycleName : new String[]{"prePersist", "postPersist", "preUpdate", "postUpdate", "preRemove", "postRemove"}) {
-                result.addElement(LookupElementBuilder.create(String.format("%s::%s", phpClass.getPresentableFQN(), lifecycleName)).withIcon(Symfony2Icons.DOCTRINE).withTypeText("Doctrine", true));
-            }
-
-            return true;
-        });
-
-        HookSubscriberUtil.visitDoctrineQueryBuilderClasses(project, phpClass -> {
-
-            for(Method method: phpClass.getOwnMethods()) {
-
-                String presentableFQN = phpClass.getPresentableFQN();
-                if((presentableFQN.endsWith("Proxy") || PhpElementsUtil.isInstanceOf(phpClass, "\\Enlight_Hook_Proxy"))) {
-                    continue;
-                }
-
-                if(method.getAccess().isPublic() || method.getAccess().isProtected()) {
-                    String name = method.getName();
-                    if(!name.startsWith("__")) {
-                        for (String hookName : new String[]{"after", "before", "replace"}) {
-                            result.addElement(LookupElementBuilder.create(String.format("%s::%s::%s", presentableFQN, name, hookName)).withIcon(Symfony2Icons.DOCTRINE).withTypeText("QueryBuilder", true));
-                        }
-                    }
-                }
+        PrefixMatcher matcher = result.getPrefixMatcher();
+        LookupBatch batch = new LookupBatch(result);
+
+        HookCatalog.getInstance(project).visit(matcher, (hook, type) -> {
+            switch (type) {
+                case DOCTRINE:
+                    batch.add(LookupElementBuilder.create(hook).withIcon(Symfony2Icons.DOCTRINE).withTypeText("Doctrine", true));
+                    break;
+                case QUERY_BUILDER:
+                    batch.add(LookupElementBuilder.create(hook).withIcon(Symfony2Icons.DOCTRINE).withTypeText("QueryBuilder", true));
+                    break;
+                default:
+                    batch.add(LookupElementBuilder.create(hook).withIcon(PhpIcons.METHOD_ICON).withTypeText("Hook", true));
             }
 
             return true;
@@ -210,10 +174,10 @@ public class LazySubscriberReferenceProvider extends CompletionContributor imple
 
         for (String service : ContainerCollectionResolver.getServiceNames(project)) {
             for (String prefix : ShopwareUtil.CONTAINER_SERVICE_PREFIX) {
-                result.addElement(
-                    LookupElementBuilder.create(prefix + service)
-                        .withIcon(Symfony2Icons.SERVICE).withTypeText("Service", true)
-                );
+                String lookupString = prefix + service;
+                if(matcher.prefixMatches(lookupString)) {
+                    batch.add(LookupElementBuilder.create(lookupString).withIcon(Symfony2Icons.SERVICE).withTypeText("Service", true));
+                }
             }
         }
 
@@ -224,21 +188,26 @@ public class LazySubscriberReferenceProvider extends CompletionContributor imple
             if(eventCache == null) {
                 eventCache = CachedValuesManager.getManager(project).createCachedValue(() -> {
 
-                    final Collection<String> set = new HashSet<>();
-
-                    EventSubscriberReferenceContributor.collectEvents(project, (psiElement, value) -> set.add(value));
-
-                    return CachedValueProvider.Result.create(set.toArray(new String[0]), PsiModificationTracker.MODIFICATION_COUNT);
+                    return CachedValueProvider.Result.create(
+                        EventSubscriberReferenceContributor.collectEventNames(project).toArray(new String[0]),
+                        ShopwareModificationTracker.getTracker(project, ShopwareModificationTracker.Kind.SUBSCRIBER),
+                        ShopwareModificationTracker.getTracker(project, ShopwareModificationTracker.Kind.CONTROLLER),
+                        NotifyEventService.getInstance(project).getModificationTracker()
+                    );
                 }, false);
 
                 project.putUserData(EVENT_CACHE, eventCache);
             }
 
             for (String s : eventCache.getValue()) {
-                result.addElement(LookupElementBuilder.create(s).withIcon(ShopwarePluginIcons.SHOPWARE).withTypeText("Event", true));
+                if(matcher.prefixMatches(s)) {
+                    batch.add(LookupElementBuilder.create(s).withIcon(ShopwarePluginIcons.SHOPWARE).withTypeText("Event", true));
+                }
             }
         }
 
+        batch.flush();
+
     }
 
     @Nullable
@@ -297,31 +266,7 @@ public class LazySubscriberReferenceProvider extends CompletionContributor imple
         final Collection<PsiElement> psiElements = new ArrayList<>();
 
         if(!hookNameContent.contains(":")) {
-
-            for (final Map.Entry<String, Collection<String>> entry : HookSubscriberUtil.NOTIFY_EVENTS_MAP.entrySet()) {
-
-                if(!entry.getKey().equals(hookNameContent)) {
-                    continue;
-                }
-
-                for (String value : entry.getValue()) {
-                    String[] split = value.split("\\.");
-                    Method classMethod = PhpElementsUtil.getClassMethod(project, split[0], split[1]);
-                    if(classMethod == null) {
-                        continue;
-                    }
-
-                    classMethod.acceptChildren(new PsiRecursiveElementWalkingVisitor() {
-                        @Override
-                        public void visitElement(PsiElement element) {
-                            if ((element instanceof StringLiteralExpression) && ((StringLiteralExpression) element).getContents().equals(entry.getKey())) {
-                                psiElements.add(element);
-                            }
-                            super.visitElement(element);
-                        }
-                    });
-                }
-            }
+            psiElements.addAll(HookSubscriberUtil.getNotifyEventTargets(project, hookNameContent));
         }
 
         // eg Enlight_Bootstrap_InitResource_SERVICE_NAME
@@ -370,4 +315,35 @@ public class LazySubscriberReferenceProvider extends CompletionContributor imple
         return null;
     }
 
+    /**
+     * Push lookup elements in chunks, so the popup is filled while hooks are still collected
+     */
+    private static class LookupBatch {
+        private static final int SIZE = 250;
+
+        @NotNull
+        private final CompletionResultSet result;
+
+        @NotNull
+        private final List<LookupElement> elements = new ArrayList<>(SIZE);
+
+        LookupBatch(@NotNull CompletionResultSet result) {
+            this.result = result;
+        }
+
+        void add(@NotNull LookupElement element) {
+            elements.add(element);
+
+            if(elements.size() >= SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            ProgressManager.checkCanceled();
+
+            result.addAllElements(elements);
+            elements.clear();
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package de.espend.idea.shopware.reference.provider;
 
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
 import de.espend.idea.shopware.completion.SmartyFileCompletionProvider;
@@ -28,18 +29,12 @@ public class SmartyTemplateProvider extends PsiPolyVariantReferenceBase<PsiEleme
 
         final List<ResolveResult> results = new ArrayList<>();
 
-
-        TemplateUtil.collectFiles(getElement().getProject(), (virtualFile, fileName) -> {
-
-            if (!fileName.equals(valueName)) {
-                return;
-            }
-
+        for(VirtualFile virtualFile: TemplateUtil.getTemplateFiles(getElement().getProject(), valueName)) {
             PsiFile psiFile = PsiManager.getInstance(getElement().getProject()).findFile(virtualFile);
             if (psiFile != null) {
                 results.add(new PsiElementResolveResult(psiFile));
             }
-        }, extensions);
+        }
 
         return results.toArray(new ResolveResult[0]);
 
@@ -4,9 +4,9 @@ import com.intellij.openapi.util.Key;
 import com.intellij.psi.util.CachedValue;
 import com.intellij.psi.util.CachedValueProvider;
 import com.intellij.psi.util.CachedValuesManager;
-import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.util.Function;
 import com.intellij.util.containers.ContainerUtil;
+import de.espend.idea.shopware.ShopwareModificationTracker;
 import de.espend.idea.shopware.ShopwareProjectComponent;
 import de.espend.idea.shopware.index.dict.BootstrapResource;
 import de.espend.idea.shopware.index.dict.ServiceResource;
@@ -74,7 +74,7 @@ public class ServiceCollector implements fr.adrienbrault.idea.symfony2plugin.ext
             return Result.create(
                 ContainerUtil.map(SubscriberIndexUtil.getIndexedBootstrapResources(args.getProject(), BootstrapResource.INIT_RESOURCE), (Function<ServiceResource, ServiceInterface>) resource
                     -> new SerializableService(resource.getServiceName()).setClassName(SubscriberIndexUtil.getTypeForResource(args.getProject(), resource)))
-                , PsiModificationTracker.MODIFICATION_COUNT
+                , ShopwareModificationTracker.getTracker(args.getProject(), ShopwareModificationTracker.Kind.SUBSCRIBER)
             );
         }
     }
@@ -91,7 +91,7 @@ public class ServiceCollector implements fr.adrienbrault.idea.symfony2plugin.ext
         public Result<Collection<String>> compute() {
             return Result.create(
                 ContainerUtil.map(SubscriberIndexUtil.getIndexedBootstrapResources(args.getProject()), ServiceResource::getServiceName),
-                PsiModificationTracker.MODIFICATION_COUNT
+                ShopwareModificationTracker.getTracker(args.getProject(), ShopwareModificationTracker.Kind.SUBSCRIBER)
             );
         }
     }
@@ -1,25 +1,31 @@
 package de.espend.idea.shopware.util;
 
+import com.intellij.ide.highlighter.XmlFileType;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Pair;
-import com.intellij.openapi.vfs.VfsUtil;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.psi.PsiDirectory;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
-import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.xml.XmlTag;
+import com.intellij.util.containers.ContainerUtil;
+import com.intellij.util.indexing.FileBasedIndex;
 import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.psi.elements.ParameterList;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
 import de.espend.idea.shopware.completion.ShopwarePhpCompletion;
+import de.espend.idea.shopware.index.PluginConfigIndex;
+import de.espend.idea.shopware.index.dict.PluginConfigElement;
 import fr.adrienbrault.idea.symfony2plugin.util.MethodMatcher;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.*;
 import java.util.function.Consumer;
 
 /**
@@ -29,51 +35,93 @@ public class ConfigUtil {
 
     public static void visitNamespace(@NotNull Project project, @NotNull Consumer<Pair<String, PhpClass>> pairConsumer) {
         for(PhpClass phpClass: PhpIndex.getInstance(project).getAllSubclasses(ShopwareFQDN.PLUGIN_BOOTSTRAP)) {
+            ProgressManager.checkCanceled();
             pairConsumer.accept(Pair.create(phpClass.getName(), phpClass));
         }
     }
 
-    public static void visitNamespaceConfigurations(@NotNull Project project, @NotNull String namespace, @NotNull Consumer<Pair<String, XmlTag>> pairConsumer) {
-        for(PhpClass phpClass: PhpIndex.getInstance(project).getAllSubclasses(ShopwareFQDN.PLUGIN_BOOTSTRAP)) {
-            if(!namespace.equalsIgnoreCase(phpClass.getName())) {
-                continue;
-            }
+    /**
+     * Elements of the plugin "Resources/config.xml"; namespace is case insensitive
+     */
+    @NotNull
+    public static Collection<PluginConfigElement> getNamespaceConfigurations(@NotNull Project project, @NotNull String namespace) {
+        Collection<PluginConfigElement> elements = new ArrayList<>();
 
-            PsiDirectory parent = phpClass.getContainingFile().getParent();
-            if(parent == null) {
-                continue;
-            }
+        for (Pair<VirtualFile, List<PluginConfigElement>> pair : getPluginConfigs(project, namespace)) {
+            elements.addAll(pair.getSecond());
+        }
 
-            VirtualFile resources = VfsUtil.findRelativeFile(parent.getVirtualFile(), "Resources", "config.xml");
-            if(resources == null) {
-                continue;
-            }
+        return elements;
+    }
 
-            PsiFile file = PsiManager.getInstance(project).findFile(resources);
-            if(!(file instanceof XmlFile)) {
+    /**
+     * "name" tags of the given plugin config element, resolved by their indexed offset
+     */
+    @NotNull
+    public static Collection<PsiElement> getNamespaceConfigurationTargets(@NotNull Project project, @NotNull String namespace, @NotNull String name) {
+        Collection<PsiElement> targets = new ArrayList<>();
+
+        PsiManager psiManager = PsiManager.getInstance(project);
+        for (Pair<VirtualFile, List<PluginConfigElement>> pair : getPluginConfigs(project, namespace)) {
+            List<PluginConfigElement> elements = ContainerUtil.filter(pair.getSecond(), element -> name.equalsIgnoreCase(element.getName()));
+            if(elements.isEmpty()) {
                 continue;
             }
 
-            XmlTag rootTag = ((XmlFile) file).getRootTag();
-            if(rootTag == null) {
+            PsiFile psiFile = psiManager.findFile(pair.getFirst());
+            if(psiFile == null) {
                 continue;
             }
 
-            XmlTag elements = rootTag.findFirstSubTag("elements");
-            if(elements == null) {
-                continue;
+            for (PluginConfigElement element : elements) {
+                XmlTag xmlTag = PsiTreeUtil.getParentOfType(psiFile.findElementAt(element.getOffset()), XmlTag.class, false);
+                if(xmlTag != null && "name".equals(xmlTag.getName())) {
+                    targets.add(xmlTag);
+                }
             }
+        }
 
-            for (XmlTag element : elements.findSubTags("element")) {
-                XmlTag xmlTag = element.findFirstSubTag("name");
-                if(xmlTag != null) {
-                    String text = xmlTag.getValue().getText();
-                    if(StringUtils.isNotBlank(text)) {
-                        pairConsumer.accept(Pair.create(text, xmlTag));
-                    }
-                }
+        return targets;
+    }
+
+    /**
+     * Index contains every "Resources/config.xml"; only the ones next to a plugin class of the namespace are plugin configs
+     *
+     * custom/plugins/SwagFoo/SwagFoo.php
+     * custom/plugins/SwagFoo/Resources/config.xml
+     */
+    @NotNull
+    private static Collection<Pair<VirtualFile, List<PluginConfigElement>>> getPluginConfigs(@NotNull Project project, @NotNull String namespace) {
+        Collection<Pair<VirtualFile, List<PluginConfigElement>>> configs = new ArrayList<>();
+
+        FileBasedIndex.getInstance().processValues(PluginConfigIndex.KEY, namespace.toLowerCase(), null, (virtualFile, elements) -> {
+            configs.add(Pair.create(virtualFile, elements));
+            return true;
+        }, getConfigScope(project));
+
+        if(configs.isEmpty()) {
+            return configs;
+        }
+
+        Set<VirtualFile> pluginDirectories = new HashSet<>();
+        for (PhpClass phpClass : PhpIndex.getInstance(project).getClassesByName(namespace)) {
+            VirtualFile virtualFile = phpClass.getContainingFile().getVirtualFile();
+            if(virtualFile != null && virtualFile.getParent() != null) {
+                pluginDirectories.add(virtualFile.getParent());
             }
         }
+
+        configs.removeIf(pair -> {
+            VirtualFile resources = pair.getFirst().getParent();
+            return resources == null || !pluginDirectories.contains(resources.getParent());
+        });
+
+        return configs;
+    }
+
+    @NotNull
+    private static GlobalSearchScope getConfigScope(@NotNull Project project) {
+        return GlobalSearchScope.getScopeRestrictedByFileTypes(GlobalSearchScope.allScope(project), XmlFileType.INSTANCE);
     }
 
     /**
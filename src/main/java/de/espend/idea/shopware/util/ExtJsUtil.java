@@ -17,7 +17,6 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * @author Daniel Espendiller <daniel@espendiller.net>
@@ -55,8 +54,7 @@ public class ExtJsUtil {
             return null;
         }
 
-        Pattern pattern = Pattern.compile(".*/backend/(\\w+)/");
-        Matcher matcher = pattern.matcher(relativeFilename);
+        Matcher matcher = RegexUtil.BACKEND_CONTROLLER_PATH.matcher(relativeFilename);
 
         if(!matcher.find()) {
             return null;
@@ -71,31 +69,25 @@ public class ExtJsUtil {
         final List<PsiElement> psiElements = new ArrayList<>();
 
         //{url controller="form" action="getFields"}
-        Pattern pattern = Pattern.compile("controller=['|\"]*(\\w+)['|\"]*");
-        Matcher matcher = pattern.matcher(text);
-
-        String controller;
-        if(!matcher.find()) {
+        String controller = RegexUtil.getAttributeWord(text, "controller");
+        if(controller == null) {
 
             // if no controller, we use backend app context
             controller = ExtJsUtil.getControllerOnPath(sourceElement.getContainingFile());
             if(controller == null) {
                 return psiElements;
             }
-        } else {
-            controller = matcher.group(1);
         }
 
         final String jsControllerName = ShopwareUtil.toCamelCase(controller, false);
 
         //{url controller="form" action="getFields"}
-        pattern = Pattern.compile("action=['|\"]*(\\w+)['|\"]*");
-        matcher = pattern.matcher(text);
-        if(!matcher.find()) {
+        String action = RegexUtil.getAttributeWord(text, "action");
+        if(action == null) {
             return psiElements;
         }
 
-        final String jsActionName = ShopwareUtil.toCamelCase(matcher.group(1), false);
+        final String jsActionName = ShopwareUtil.toCamelCase(action, false);
 
         ShopwareUtil.collectControllerAction(sourceElement.getProject(), jsControllerName, (method, methodStripped, moduleName, controllerName) -> {
             if (jsActionName.equalsIgnoreCase(methodStripped)) {
@@ -112,8 +104,6 @@ public class ExtJsUtil {
      */
     @Nullable
     public static String getSnippetNamespaceFromFile(@NotNull PsiFile psiFile) {
-        Pattern pattern = Pattern.compile("\\{namespace[^}]*name\\s*=\\s*['|\"]*([^'\\s\"}]*)['|\"]*\\s*");
-
         for (PsiElement psiElement : psiFile.getChildren()) {
             if(!(psiElement instanceof PsiComment)) {
                 continue;
@@ -122,7 +112,7 @@ public class ExtJsUtil {
             String text = psiElement.getText();
 
             // name="foo", name='foo', name=foo
-            Matcher matcher = pattern.matcher(text);
+            Matcher matcher = RegexUtil.NAMESPACE_TAG.matcher(text);
             if (matcher.find()) {
                 String group = matcher.group(1);
                 if(StringUtils.isBlank(group)) {
@@ -141,8 +131,7 @@ public class ExtJsUtil {
      */
     @Nullable
     public static String getAttributeTagValueFromSmartyString(@NotNull String tag, @NotNull String attribute, @NotNull String contents) {
-        Pattern pattern = Pattern.compile("\\{" + tag + "[^}]*" + attribute + "\\s*=\\s*['|\"]*([^'\\s\"}]*)['|\"]*\\s*");
-        Matcher matcher = pattern.matcher(contents);
+        Matcher matcher = RegexUtil.getTagAttributePattern(tag, attribute).matcher(contents);
 
         if (matcher.find()) {
             return matcher.group(1);
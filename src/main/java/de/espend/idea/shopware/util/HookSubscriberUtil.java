@@ -1,5 +1,6 @@
 package de.espend.idea.shopware.util;
 
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VfsUtil;
 import com.intellij.openapi.vfs.VirtualFile;
@@ -10,6 +11,7 @@ import com.intellij.util.Processor;
 import com.intellij.util.containers.ContainerUtil;
 import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.psi.elements.*;
+import de.espend.idea.shopware.NotifyEventService;
 import de.espend.idea.shopware.index.utils.SubscriberIndexUtil;
 import de.espend.idea.shopware.reference.LazySubscriberReferenceProvider;
 import fr.adrienbrault.idea.symfony2plugin.util.PhpElementsUtil;
@@ -17,7 +19,6 @@ import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Daniel Espendiller <daniel@espendiller.net>
@@ -30,7 +31,21 @@ public class HookSubscriberUtil {
         addAll(Arrays.asList("sCms", "sCore", "sAdmin", "sOrder", "sBasket", "sExport", "sSystem", "sArticles", "sMarketing", "sCategories", "sCategories", "sNewsletter", "sConfigurator", "sRewriteTable"));
     }};
 
-    public static Map<String, Collection<String>> NOTIFY_EVENTS_MAP = new ConcurrentHashMap<>();
+    /**
+     * Project events of "notify", "filter", ... calls; event name to "Class.method" emitters
+     */
+    @NotNull
+    public static Map<String, Collection<String>> getNotifyEvents(@NotNull Project project) {
+        return NotifyEventService.getInstance(project).getEvents();
+    }
+
+    /**
+     * Event name literals of all "notify", "filter", ... calls of the event
+     */
+    @NotNull
+    public static Collection<PsiElement> getNotifyEventTargets(@NotNull Project project, @NotNull String event) {
+        return NotifyEventService.getInstance(project).getEventTargets(event);
+    }
 
     public static void collectHooks(Project project, HookVisitor hookVisitor) {
 
@@ -57,6 +72,7 @@ public class HookSubscriberUtil {
         phpClasses.addAll(phpIndex.getAllSubclasses("\\Enlight_Hook"));
 
         for(PhpClass phpClass: phpClasses) {
+            ProgressManager.checkCanceled();
 
             // dont use proxy classes
             String presentableFQN = phpClass.getPresentableFQN();
@@ -78,12 +94,15 @@ public class HookSubscriberUtil {
 
     public static void collectDoctrineLifecycleHooks(Project project, DoctrineLifecycleHooksVisitor hookVisitor) {
         for(PhpClass phpClass: PhpIndex.getInstance(project).getAllSubclasses("\\Shopware\\Components\\Model\\ModelEntity")) {
+            ProgressManager.checkCanceled();
             hookVisitor.visitLifecycleHooks(phpClass);
         }
     }
 
     public static void visitDoctrineQueryBuilderClasses(Project project, Processor<PhpClass> processor) {
         for(PhpClass phpClass: PhpIndex.getInstance(project).getAllSubclasses("\\Shopware\\Components\\Model\\ModelRepository")) {
+            ProgressManager.checkCanceled();
+
             if(!processor.process(phpClass)) {
                 return;
             }
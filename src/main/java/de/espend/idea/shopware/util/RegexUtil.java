@@ -0,0 +1,169 @@
+package de.espend.idea.shopware.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Precompiled patterns and plain scanners for string helpers called per element while highlighting, folding or navigating
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class RegexUtil {
+
+    /**
+     * "frontend/account/login.tpl" => module, controller, action
+     */
+    public static final Pattern TEMPLATE_ACTION = Pattern.compile(".*[/]*(frontend|backend|core)/(\\w+)/(\\w+)\\.tpl");
+
+    /**
+     * "backend/article/view/detail.js" => controller
+     */
+    public static final Pattern BACKEND_CONTROLLER_PATH = Pattern.compile(".*/backend/(\\w+)/");
+
+    /**
+     * "Enlight_Controller_Action_PostDispatchSecure_Frontend_Payment" => module, controller
+     */
+    public static final Pattern ACTION_SUBSCRIBER = Pattern.compile("Enlight_Controller_Action_\\w+_(Frontend|Backend|Core|Widgets)_(\\w+)");
+
+    /**
+     * "Enlight_Controller_Dispatcher_ControllerPath_Frontend_Foo" => module, controller
+     */
+    public static final Pattern CONTROLLER_PATH_EVENT = Pattern.compile("Enlight_Controller_Dispatcher_ControllerPath_(Frontend|Backend|Widget|Api)_(\\w+)");
+
+    /**
+     * "Shopware_Controllers_Frontend_Account" => module, controller
+     */
+    public static final Pattern CONTROLLER_CLASS = Pattern.compile(".*_(Frontend|Backend|Core)_(\\w+)");
+
+    /**
+     * {namespace name=swag-last-registrations/date}
+     */
+    public static final Pattern NAMESPACE_TAG = Pattern.compile("\\{namespace[^}]*name\\s*=\\s*['|\"]*([^'\\s\"}]*)['|\"]*\\s*");
+
+    /**
+     * //{namespace name=backend/foo} as single line js comment
+     */
+    public static final Pattern JS_NAMESPACE_COMMENT = Pattern.compile(ExtJsUtil.JS_NAMESPACE_PATTERN);
+
+    /**
+     * {namespace name=backend/foo} inside any comment
+     */
+    public static final Pattern NAMESPACE_COMMENT = Pattern.compile("\\{.*namespace.*name=['|\"]*([^=]*)['|\"]*[\\s]*.*}");
+
+    /**
+     * All "{s ...}" tags inside a string
+     */
+    public static final Pattern SNIPPET_TAG = Pattern.compile("(\\{s\\s+[^{]*})");
+
+    public static final Pattern SNIPPET_NAME_PREFIX = Pattern.compile("^.*name=[']*([^=]*)$");
+
+    public static final Pattern SNIPPET_NAMESPACE_PREFIX = Pattern.compile("^.*namespace=[']*([^=]*)$");
+
+    public static final Pattern JS_NAMESPACE_PREFIX = Pattern.compile("^[^\n]*\\{.*namespace.*name=[']*([^=]*)$");
+
+    /**
+     * Normalize hook names "Foo__Bar::baz" into underscore separated words
+     */
+    public static final Pattern MULTI_UNDERSCORE = Pattern.compile("_+");
+
+    public static final Pattern MULTI_COLON = Pattern.compile(":+");
+
+    public static final Pattern MULTI_BACKSLASH = Pattern.compile("\\\\+");
+
+    public static final Pattern UPPER_CASE_SPLIT = Pattern.compile("(?=\\p{Lu})");
+
+    /**
+     * Patterns built out of method arguments; the set of arguments used by the plugin is small and fixed
+     */
+    private static final Map<String, Pattern> DYNAMIC_PATTERNS = new ConcurrentHashMap<>();
+
+    /**
+     * {s name=foo} for "s" and "name"
+     */
+    @NotNull
+    public static Pattern getTagAttributePattern(@NotNull String tag, @NotNull String attribute) {
+        return DYNAMIC_PATTERNS.computeIfAbsent("tag:" + tag + ":" + attribute, s ->
+            Pattern.compile("\\{" + tag + "[^}]*" + attribute + "\\s*=\\s*['|\"]*([^'\\s\"}]*)['|\"]*\\s*")
+        );
+    }
+
+    /**
+     * "frontend/account/login.tpl" for the given module directories
+     */
+    @NotNull
+    public static Pattern getTemplateActionPattern(@NotNull String... modules) {
+        String join = String.join("|", modules);
+        if("frontend|backend|core".equals(join)) {
+            return TEMPLATE_ACTION;
+        }
+
+        return DYNAMIC_PATTERNS.computeIfAbsent("template:" + join, s ->
+            Pattern.compile(".*[/]*(" + join + ")/(\\w+)/(\\w+)\\.tpl")
+        );
+    }
+
+    /**
+     * Replacement for "controller=['|\"]*(\\w+)['|\"]*" without any matcher allocation:
+     * {url controller="form" action='getFields'} => "form" for "controller"
+     */
+    @Nullable
+    public static String getAttributeWord(@NotNull CharSequence text, @NotNull String attribute) {
+        int length = text.length();
+        int attributeLength = attribute.length();
+
+        for (int i = indexOf(text, attribute, 0); i >= 0; i = indexOf(text, attribute, i + 1)) {
+            int position = i + attributeLength;
+            if(position >= length || text.charAt(position) != '=') {
+                continue;
+            }
+
+            position++;
+            while (position < length && isQuote(text.charAt(position))) {
+                position++;
+            }
+
+            int start = position;
+            while (position < length && isWordChar(text.charAt(position))) {
+                position++;
+            }
+
+            if(position > start) {
+                return text.subSequence(start, position).toString();
+            }
+        }
+
+        return null;
+    }
+
+    private static int indexOf(@NotNull CharSequence text, @NotNull String search, int from) {
+        int max = text.length() - search.length();
+
+        outer:
+        for (int i = from; i <= max; i++) {
+            for (int j = 0; j < search.length(); j++) {
+                if(text.charAt(i + j) != search.charAt(j)) {
+                    continue outer;
+                }
+            }
+
+            return i;
+        }
+
+        return -1;
+    }
+
+    private static boolean isQuote(char c) {
+        return c == '"' || c == '\'' || c == '|';
+    }
+
+    /**
+     * Same as regex "\w"
+     */
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+}
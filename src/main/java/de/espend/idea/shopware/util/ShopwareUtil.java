@@ -9,13 +9,16 @@ import com.intellij.patterns.PsiElementPattern;
 import com.intellij.psi.PsiDirectory;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
 import com.intellij.psi.PsiWhiteSpace;
 import com.intellij.psi.util.*;
-import com.intellij.util.containers.ContainerUtil;
 import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.psi.elements.*;
-import com.jetbrains.php.lang.psi.elements.impl.AssignmentExpressionImpl;
 import com.jetbrains.smarty.SmartyFile;
+import de.espend.idea.shopware.NotifyEventService;
+import de.espend.idea.shopware.ShopwareModificationTracker;
+import de.espend.idea.shopware.index.utils.ControllerIndexUtil;
+import de.espend.idea.shopware.util.dict.ControllerTemplateMapping;
 import fr.adrienbrault.idea.symfony2plugin.util.PhpElementsUtil;
 import fr.adrienbrault.idea.symfony2plugin.util.PsiElementUtils;
 import org.apache.commons.lang.StringUtils;
@@ -24,7 +27,6 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * @author Daniel Espendiller <daniel@espendiller.net>
@@ -32,8 +34,8 @@ import java.util.regex.Pattern;
 public class ShopwareUtil {
 
     private static Key<CachedValue<Set<String>>> PLUGIN_FILESYSTEM_KEY = new Key<>("SHOPWARE_FILESYSTEM_PLUGINS");
+    private static final Key<CachedValue<Map<String, String>>> API_RESOURCES_KEY = new Key<>("SHOPWARE_API_RESOURCES");
 
-    public static Set<String> PLUGIN_CONFIGS = ContainerUtil.newHashSet();
 
     final public static String[] PLUGIN_CONFIG_TYPES = new String[] {
         "text", "color", "datetime", "html", "interval", "mediaselection", "number", "select", "combo", "textarea", "time"
@@ -124,26 +126,11 @@ public class ShopwareUtil {
         collectControllerClass(project, controllerClassVisitor, "Frontend" , "Backend", "Core", "Widgets");
     }
 
+    /**
+     * Controller classes by "Shopware_Controllers_<Module>_<Controller>" name convention
+     */
     public static void collectControllerClass(Project project, ControllerClassVisitor controllerClassVisitor, String... modules) {
-
-        PhpIndex phpIndex = PhpIndex.getInstance(project);
-        Collection<PhpClass> phpClasses = phpIndex.getAllSubclasses("\\Enlight_Controller_Action");
-
-        Pattern pattern = Pattern.compile(".*_(" + StringUtils.join(modules, "|") + ")_(\\w+)", Pattern.CASE_INSENSITIVE);
-
-        for (PhpClass phpClass : phpClasses) {
-
-            String className = phpClass.getName();
-            Matcher matcher = pattern.matcher(className);
-
-            if(matcher.find()) {
-                String moduleName = matcher.group(1);
-                String controller = matcher.group(2);
-                controllerClassVisitor.visitClass(phpClass, moduleName, controller);
-            }
-
-        }
-
+        ControllerIndexUtil.visitControllerClasses(project, controllerClassVisitor, modules);
     }
 
     public interface ControllerClassVisitor {
@@ -156,38 +143,31 @@ public class ShopwareUtil {
 
     public static void collectControllerActionSmartyWrapper(PsiElement psiElement, ControllerActionVisitor visitor, String... modules) {
 
-        Pattern pattern = Pattern.compile("controller=[\"|']*(\\w+)[\"|']*");
-        Matcher matcher = pattern.matcher(psiElement.getParent().getText());
-        if(!matcher.find()) {
+        String controller = RegexUtil.getAttributeWord(psiElement.getParent().getText(), "controller");
+        if(controller == null) {
             return;
         }
 
-        String controllerName = toCamelCase(matcher.group(1), false);
+        String controllerName = toCamelCase(controller, false);
         collectControllerAction(psiElement.getProject(), controllerName, visitor, modules);
     }
 
     public static void collectControllerAction(Project project, String controllerName, ControllerActionVisitor visitor, String... modules) {
-
         for(String moduleName: modules) {
-            PhpClass phpClass = PhpElementsUtil.getClass(project, String.format("Shopware_Controllers_%s_%s", moduleName, controllerName));
-            if(phpClass != null) {
-                for(Method method: phpClass.getMethods()) {
-                    if(method.getAccess().isPublic() && method.getName().endsWith("Action")) {
-                        visitor.visitMethod(method, method.getName().substring(0, method.getName().length() - 6), moduleName, controllerName);
-                    }
-                }
-            }
+            ControllerIndexUtil.visitControllerActions(project, moduleName, controllerName, visitor);
         }
-
     }
 
     public interface ControllerActionVisitor {
         void visitMethod(Method method, String methodStripped, String moduleName, String controllerName);
     }
 
+    /**
+     * Cached per template file
+     */
     @Nullable
     public static Method getControllerActionOnSmartyFile(SmartyFile smartyFile) {
-        return getControllerActionOnSmartyFile(smartyFile, "frontend", "backend", "core");
+        return ControllerTemplateMapping.getInstance(smartyFile).getAction();
     }
 
     @Nullable
@@ -198,8 +178,7 @@ public class ShopwareUtil {
             return null;
         }
 
-        Pattern pattern = Pattern.compile(".*[/]*(" + StringUtils.join(modules, "|") + ")/(\\w+)/(\\w+)\\.tpl");
-        Matcher matcher = pattern.matcher(relativeFilename);
+        Matcher matcher = RegexUtil.getTemplateActionPattern(modules).matcher(relativeFilename);
 
         if(!matcher.find()) {
             return null;
@@ -229,73 +208,61 @@ public class ShopwareUtil {
         return StringUtils.join(strings);
     }
 
-    public static void collectControllerViewVariable(Method method, ControllerViewVariableVisitor controllerViewVariableVisitor) {
-
-        // Views()->test;
-        for(FieldReference fieldReference: PsiTreeUtil.collectElementsOfType(method, FieldReference.class)) {
-            PsiElement methodReference = fieldReference.getFirstChild();
-            if(methodReference instanceof MethodReference) {
-                if(((MethodReference) methodReference).getCanonicalText().equals("View")) {
-
-                    PsiElement parentElement = fieldReference.getParent();
-                    if(parentElement instanceof AssignmentExpressionImpl) {
-                        controllerViewVariableVisitor.visitVariable(fieldReference.getName(), methodReference, ((AssignmentExpressionImpl) parentElement).getValue());
-                    } else {
-                        // need this ???
-                        //controllerViewVariableVisitor.visitVariable(fieldReference.getName(), null);
-                    }
+    public static Map<String, PhpClass> getResourceClasses(Project project) {
 
-                }
-            }
-        }
+        Map<String, PhpClass> phpClassMap = new HashMap<>();
 
-        // Views()->assign('test'); // Views()->assign(['test' => 'test'])
-        for(MethodReference methodReference: PsiTreeUtil.collectElementsOfType(method, MethodReference.class)) {
-
-            if("assign".equals(methodReference.getName())) {
-                PsiElement firstParameter = PsiElementUtils.getMethodParameterPsiElementAt(methodReference, 0);
-                if(firstParameter instanceof ArrayCreationExpression) {
-                    for(String keyName: PhpElementsUtil.getArrayCreationKeys((ArrayCreationExpression) firstParameter)) {
-                        // @TODO: add source and type resolve
-                        controllerViewVariableVisitor.visitVariable(keyName, firstParameter, null);
-                    }
-                } else {
-                    String value = PhpElementsUtil.getStringValue(firstParameter);
-                    if(value != null) {
-                        // @TODO: add source and type resolve
-                        controllerViewVariableVisitor.visitVariable(value, firstParameter, null);
-                    }
-                }
+        PhpIndex phpIndex = PhpIndex.getInstance(project);
+        for(String fqn: getResourceClassNames(project).values()) {
+            for (PhpClass phpClass : phpIndex.getClassesByFQN(fqn)) {
+                phpClassMap.put(phpClass.getName(), phpClass);
             }
-
         }
-    }
 
-    public interface ControllerViewVariableVisitor {
-        void visitVariable(String variableName, @NotNull PsiElement sourceType, @Nullable PsiElement typeElement);
+        return phpClassMap;
     }
 
-    public static Map<String, PhpClass> getResourceClasses(Project project) {
+    @Nullable
+    public static PhpClass getResourceClass(Project project, String resourceName) {
 
-        Map<String, PhpClass> phpClassMap = new HashMap<>();
+        String fqn = getResourceClassNames(project).get(resourceName.toLowerCase());
+        if(fqn == null) {
+            return null;
+        }
 
-        for(PhpClass phpClass: PhpIndex.getInstance(project).getAllSubclasses("\\Shopware\\Components\\Api\\Resource\\Resource")) {
-            phpClassMap.put(phpClass.getName(), phpClass);
+        Collection<PhpClass> phpClasses = PhpIndex.getInstance(project).getClassesByFQN(fqn);
+        if(phpClasses.size() == 0) {
+            return null;
         }
 
-        return phpClassMap;
+        return phpClasses.iterator().next();
     }
 
-    @Nullable
-    public static PhpClass getResourceClass(Project project, String resourceName) {
+    /**
+     * Lowercase api resource name to class FQN; the subclass walk is only done on PHP class declaration changes
+     */
+    @NotNull
+    private static Map<String, String> getResourceClassNames(@NotNull Project project) {
+        CachedValue<Map<String, String>> cache = project.getUserData(API_RESOURCES_KEY);
 
-        for(PhpClass phpClass: PhpIndex.getInstance(project).getAllSubclasses("\\Shopware\\Components\\Api\\Resource\\Resource")) {
-            if(resourceName.equalsIgnoreCase(phpClass.getName())) {
-                return phpClass;
-            }
+        if(cache == null) {
+            cache = CachedValuesManager.getManager(project).createCachedValue(() -> {
+                Map<String, String> resources = new HashMap<>();
+
+                for(PhpClass phpClass: PhpIndex.getInstance(project).getAllSubclasses("\\Shopware\\Components\\Api\\Resource\\Resource")) {
+                    resources.putIfAbsent(phpClass.getName().toLowerCase(), phpClass.getFQN());
+                }
+
+                return CachedValueProvider.Result.create(
+                    Collections.unmodifiableMap(resources),
+                    ShopwareModificationTracker.getTracker(project, ShopwareModificationTracker.Kind.PHP_CLASS)
+                );
+            }, false);
+
+            project.putUserData(API_RESOURCES_KEY, cache);
         }
 
-        return null;
+        return cache.getValue();
     }
 
     public static PsiElementPattern.Capture<PsiElement> getBootstrapPathPattern() {
@@ -345,10 +312,12 @@ public class ShopwareUtil {
 
     public static String getCamelizeHook(String content) {
 
-        content = content.replaceAll("_+", "_").replaceAll(":+", "_").replaceAll("\\\\+", "_");
+        content = RegexUtil.MULTI_UNDERSCORE.matcher(content).replaceAll("_");
+        content = RegexUtil.MULTI_COLON.matcher(content).replaceAll("_");
+        content = RegexUtil.MULTI_BACKSLASH.matcher(content).replaceAll("_");
 
         List<String> items = new ArrayList<>();
-        for(String s: content.split("(?=\\p{Lu})")) {
+        for(String s: RegexUtil.UPPER_CASE_SPLIT.split(content)) {
             if(s.length() > 1) {
                 items.add(s);
             }
@@ -380,8 +349,7 @@ public class ShopwareUtil {
      */
     @Nullable
     public static PhpClass getControllerOnActionSubscriberName(@NotNull Project project, @NotNull String subscriberName) {
-        Pattern pattern = Pattern.compile("Enlight_Controller_Action_\\w+_(Frontend|Backend|Core|Widgets)_(\\w+)");
-        Matcher matcher = pattern.matcher(subscriberName);
+        Matcher matcher = RegexUtil.ACTION_SUBSCRIBER.matcher(subscriberName);
 
         if(matcher.find()) {
             PhpClass phpClass = PhpElementsUtil.getClass(project, String.format("Shopware_Controllers_%s_%s", matcher.group(1), matcher.group(2)));
@@ -393,6 +361,14 @@ public class ShopwareUtil {
         return null;
     }
 
+    /**
+     * Config names of "setElement" calls on plugin forms
+     */
+    @NotNull
+    public static Set<String> getPluginConfigs(@NotNull Project project) {
+        return NotifyEventService.getInstance(project).getConfigs();
+    }
+
     public static Set<String> getPluginsWithFilesystem(@NotNull Project project)
     {
         CachedValue<Set<String>> cachedPluginFilesystem = project.getUserData(PLUGIN_FILESYSTEM_KEY);
@@ -412,11 +388,33 @@ public class ShopwareUtil {
                 }
             }
 
-            return CachedValueProvider.Result.create(plugins, PsiModificationTracker.MODIFICATION_COUNT);
+            return CachedValueProvider.Result.create(plugins, ShopwareModificationTracker.getTracker(project, ShopwareModificationTracker.Kind.SUBSCRIBER));
         }, false);
 
         project.putUserData(PLUGIN_FILESYSTEM_KEY, cachedValue);
 
         return cachedValue.getValue();
     }
+
+    /**
+     * String literal with the given content at an indexed offset; null if the file was changed since indexing
+     */
+    @Nullable
+    public static StringLiteralExpression getStringLiteralAtOffset(@NotNull Project project, @NotNull VirtualFile virtualFile, int offset, @NotNull String contents) {
+        if(!virtualFile.isValid()) {
+            return null;
+        }
+
+        PsiFile psiFile = PsiManager.getInstance(project).findFile(virtualFile);
+        if(psiFile == null) {
+            return null;
+        }
+
+        StringLiteralExpression literal = PsiTreeUtil.getParentOfType(psiFile.findElementAt(offset), StringLiteralExpression.class, false);
+        if(literal == null || !contents.equals(literal.getContents())) {
+            return null;
+        }
+
+        return literal;
+    }
 }
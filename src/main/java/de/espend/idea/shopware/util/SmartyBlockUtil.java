@@ -1,10 +1,19 @@
 package de.espend.idea.shopware.util;
 
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import de.espend.idea.shopware.TemplateInheritanceService;
+import de.espend.idea.shopware.index.SmartyBlockStubIndex;
+import de.espend.idea.shopware.index.dict.SmartyBlockDefinition;
+import de.espend.idea.shopware.util.dict.SmartyBlockTarget;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
@@ -13,59 +22,66 @@ import java.util.*;
  */
 public class SmartyBlockUtil {
 
-    public static List<SmartyBlock> collectFileBlocks(PsiFile psiFile, final Map<VirtualFile, String> map, List<SmartyBlock> blockNameSet, int depth) {
-        return collectFileBlocks(psiFile, map, blockNameSet, new ArrayList<>(), depth);
-    }
+    /**
+     * Blocks of all templates the file extends, up to the given inheritance level
+     */
+    public static List<SmartyBlock> collectFileBlocks(@NotNull PsiFile psiFile, int depth) {
+        List<SmartyBlock> blockNameSet = new ArrayList<>();
 
-    public static List<SmartyBlock> collectFileBlocks(PsiFile psiFile, final Map<VirtualFile, String> map, List<SmartyBlock> blockNameSet, List<VirtualFile> virtualFilesCatch, int depth) {
+        VirtualFile virtualFile = psiFile.getOriginalFile().getVirtualFile();
+        if(virtualFile == null) {
+            return blockNameSet;
+        }
+
+        PsiManager psiManager = PsiManager.getInstance(psiFile.getProject());
+        for (VirtualFile parent : TemplateInheritanceService.getInstance(psiFile.getProject()).getAncestors(virtualFile, depth)) {
+            PsiFile parentPsiFile = psiManager.findFile(parent);
+            if(parentPsiFile != null) {
+                blockNameSet.addAll(getFileBlocks(parentPsiFile));
+            }
+        }
 
-        final List<VirtualFile> virtualFiles = new ArrayList<>();
+        return blockNameSet;
+    }
 
-        PsiTreeUtil.processElements(psiFile, element -> {
+    /**
+     * Block names by index offsets; no file is loaded until a target is navigated
+     */
+    @NotNull
+    public static Collection<PsiElement> getBlockTargets(@NotNull Project project, @NotNull String blockName, @NotNull GlobalSearchScope scope) {
+        Collection<PsiElement> targets = new ArrayList<>();
 
-            if (SmartyPattern.getExtendPattern().accepts(element)) {
-                String extendsName = element.getText();
-                if(extendsName.startsWith("parent:")) {
-                    extendsName = extendsName.substring(7);
-                }
-                for (Map.Entry<VirtualFile, String> entry : map.entrySet()) {
-                    if (entry.getValue().equals(extendsName)) {
-                        virtualFiles.add(entry.getKey());
-                    }
-
-                }
+        FileBasedIndex.getInstance().processValues(SmartyBlockStubIndex.KEY, blockName, null, (virtualFile, definitions) -> {
+            for (SmartyBlockDefinition definition : definitions) {
+                targets.add(new SmartyBlockTarget(project, virtualFile, blockName, definition.getOffset()));
             }
 
             return true;
-        });
+        }, scope);
 
-        if(virtualFiles.size() == 0) {
-            return blockNameSet;
-        }
-
-        // for recursive calls
-        List<PsiFile> parentFiles = new ArrayList<>();
-
-        for(VirtualFile virtualFile: virtualFiles) {
-            if(!virtualFilesCatch.contains(virtualFile)) {
-                virtualFilesCatch.add(virtualFile);
-                PsiFile parentPsiFile = PsiManager.getInstance(psiFile.getProject()).findFile(virtualFile);
-                if(parentPsiFile != null) {
-                    parentFiles.add(parentPsiFile);
-                    blockNameSet.addAll(getFileBlocks(parentPsiFile));
-                }
-            }
-        }
+        return targets;
+    }
 
-        if(depth-- < 0) {
-            return blockNameSet;
-        }
+    /**
+     * Check for a block without loading any file
+     */
+    public static boolean hasBlock(@NotNull Project project, @NotNull String blockName, @NotNull GlobalSearchScope scope) {
+        return !FileBasedIndex.getInstance().processValues(SmartyBlockStubIndex.KEY, blockName, null, (virtualFile, definitions) ->
+            definitions.isEmpty(), scope
+        );
+    }
 
-        for(PsiFile parentFile: parentFiles) {
-            collectFileBlocks(parentFile, map, blockNameSet,virtualFilesCatch, depth);
+    /**
+     * Leaf element at an indexed offset; null if index and file content are out of sync
+     */
+    @Nullable
+    public static PsiElement getElementAtOffset(@NotNull PsiFile psiFile, int offset, @NotNull String text) {
+        PsiElement psiElement = psiFile.findElementAt(offset);
+        if(psiElement == null || !text.equalsIgnoreCase(TemplateUtil.cleanTemplateName(psiElement.getText()))) {
+            return null;
         }
 
-        return blockNameSet;
+        return psiElement;
     }
 
     public static Set<SmartyBlock> getFileBlocks(PsiFile psiFile) {
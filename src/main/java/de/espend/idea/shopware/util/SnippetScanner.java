@@ -0,0 +1,225 @@
+package de.espend.idea.shopware.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain text scanner for snippet tags of Smarty templates and ExtJs files, so no psi is needed while indexing
+ *
+ * {namespace name="frontend/foobar"}
+ * {s name='foo' namespace="frontend/detail"}{/s}
+ * title: '{s name=foo}Foo{/s}'
+ *
+ * Smarty comments are skipped; a tag without "namespace" attribute belongs to the file namespace
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class SnippetScanner {
+
+    @NotNull
+    private final CharSequence content;
+
+    private final int length;
+
+    private int position = 0;
+
+    private SnippetScanner(@NotNull CharSequence content) {
+        this.content = content;
+        this.length = content.length();
+    }
+
+    /**
+     * Visit all snippets with a resolvable namespace
+     */
+    public static void visit(@NotNull CharSequence content, @NotNull Visitor visitor) {
+        new SnippetScanner(content).scan(visitor);
+    }
+
+    private void scan(@NotNull Visitor visitor) {
+        String fileNamespace = null;
+
+        // [name, namespace]
+        List<String[]> snippets = new ArrayList<>();
+
+        while (position < length) {
+            if(content.charAt(position) != '{') {
+                position++;
+                continue;
+            }
+
+            // {* comment *}
+            if(position + 1 < length && content.charAt(position + 1) == '*') {
+                skipComment();
+                continue;
+            }
+
+            position++;
+
+            String tagName = readIdentifier();
+            if("s".equals(tagName) && position < length && Character.isWhitespace(content.charAt(position))) {
+                Map<String, String> attributes = readAttributes();
+
+                String name = attributes.get("name");
+                if(name != null) {
+                    snippets.add(new String[]{name, attributes.get("namespace")});
+                }
+            } else if(fileNamespace == null && "namespace".equals(tagName)) {
+                fileNamespace = readAttributes().get("name");
+            }
+        }
+
+        for (String[] snippet : snippets) {
+            String namespace = snippet[1] != null ? snippet[1] : fileNamespace;
+            if(namespace != null) {
+                visitor.visit(namespace, snippet[0]);
+            }
+        }
+    }
+
+    private void skipComment() {
+        for (position += 2; position < length - 1; position++) {
+            if(content.charAt(position) == '*' && content.charAt(position + 1) == '}') {
+                position += 2;
+                return;
+            }
+        }
+
+        position = length;
+    }
+
+    @NotNull
+    private String readIdentifier() {
+        int start = position;
+
+        while (position < length && isIdentifierPart(content.charAt(position))) {
+            position++;
+        }
+
+        return content.subSequence(start, position).toString();
+    }
+
+    /**
+     * Attributes up to the closing "}"; flags without value and blank values are dropped
+     */
+    @NotNull
+    private Map<String, String> readAttributes() {
+        Map<String, String> attributes = new HashMap<>();
+
+        while (position < length) {
+            char c = content.charAt(position);
+
+            if(c == '}' || c == '{') {
+                break;
+            }
+
+            if(!isIdentifierPart(c)) {
+                position++;
+                continue;
+            }
+
+            String key = readIdentifier();
+
+            skipWhitespace();
+            if(position >= length || content.charAt(position) != '=') {
+                continue;
+            }
+
+            position++;
+            skipWhitespace();
+
+            String value = readValue();
+            if(value != null && !attributes.containsKey(key)) {
+                attributes.put(key, value);
+            }
+        }
+
+        return attributes;
+    }
+
+    /**
+     * name="foo", name='foo', name=\'foo\' inside a javascript string, name=foo
+     */
+    @Nullable
+    private String readValue() {
+        if(position >= length) {
+            return null;
+        }
+
+        char c = content.charAt(position);
+
+        boolean escaped = c == '\\' && position + 1 < length && isQuote(content.charAt(position + 1));
+        if(escaped) {
+            c = content.charAt(++position);
+        }
+
+        StringBuilder value = new StringBuilder();
+
+        if(isQuote(c)) {
+            position++;
+
+            while (position < length) {
+                char current = content.charAt(position);
+                if(current == '\\' && position + 1 < length && content.charAt(position + 1) == c) {
+                    if(escaped) {
+                        position += 2;
+                        break;
+                    }
+
+                    value.append(c);
+                    position += 2;
+                    continue;
+                }
+
+                if(current == c || current == '\n') {
+                    position++;
+                    break;
+                }
+
+                value.append(current);
+                position++;
+            }
+        } else {
+            while (position < length) {
+                char current = content.charAt(position);
+                if(Character.isWhitespace(current) || current == '}' || isQuote(current)) {
+                    break;
+                }
+
+                value.append(current);
+                position++;
+            }
+        }
+
+        String text = value.toString().trim();
+
+        // variables are runtime values: {s name=$foo}
+        if(text.length() == 0 || text.startsWith("$")) {
+            return null;
+        }
+
+        return text;
+    }
+
+    private void skipWhitespace() {
+        while (position < length && Character.isWhitespace(content.charAt(position))) {
+            position++;
+        }
+    }
+
+    private static boolean isQuote(char c) {
+        return c == '"' || c == '\'';
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '-';
+    }
+
+    public interface Visitor {
+        void visit(@NotNull String namespace, @NotNull String name);
+    }
+}
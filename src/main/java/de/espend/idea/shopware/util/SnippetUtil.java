@@ -1,10 +1,12 @@
 package de.espend.idea.shopware.util;
 
+import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.lang.javascript.psi.JSFile;
 import com.intellij.lang.javascript.psi.JSLiteralExpression;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
 import com.intellij.psi.PsiRecursiveElementVisitor;
 import com.intellij.psi.search.GlobalSearchScope;
@@ -13,19 +15,19 @@ import com.intellij.util.indexing.FileBasedIndexImpl;
 import com.jetbrains.smarty.SmartyFile;
 import com.jetbrains.smarty.lang.psi.SmartyTag;
 import de.espend.idea.shopware.index.SnippetIndex;
+import de.espend.idea.shopware.index.SnippetLocationIndex;
+import de.espend.idea.shopware.index.dict.SnippetLocation;
 import de.espend.idea.shopware.util.dict.ShopwareSnippet;
+import de.espend.idea.shopware.util.dict.SnippetTarget;
+import fr.adrienbrault.idea.symfony2plugin.Symfony2Icons;
 import fr.adrienbrault.idea.symfony2plugin.stubs.SymfonyProcessors;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.StringReader;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -92,7 +94,7 @@ public class SnippetUtil {
                 if(text.startsWith("{s")) {
                     visitSnippetText(element, text);
                 } else if(text.contains("{s") && text.contains("}")) {
-                    Matcher matcher = Pattern.compile("(\\{s\\s+[^{]*})").matcher(text);
+                    Matcher matcher = RegexUtil.SNIPPET_TAG.matcher(text);
                     while(matcher.find()){
                         visitSnippetText(element, matcher.group(1));
                     }
@@ -118,6 +120,48 @@ public class SnippetUtil {
         });
     }
 
+    /**
+     * Snippet under the caret without any index access:
+     *
+     * {s name="foobar<caret>" namespace="foobar/foobar"}{/s}
+     * '{s name=foobar<caret>}{/s}' inside ExtJs files
+     */
+    @Nullable
+    public static ShopwareSnippet getSnippetAtElement(@NotNull PsiElement psiElement) {
+        if(SmartyPattern.getTagAttributePattern("s", "name").accepts(psiElement)) {
+            String name = psiElement.getText();
+            PsiElement parent = psiElement.getParent();
+            if(StringUtils.isBlank(name) || !(parent instanceof SmartyTag)) {
+                return null;
+            }
+
+            String namespace = TemplateUtil.getSnippetNamespaceByScope((SmartyTag) parent);
+            return namespace != null ? new ShopwareSnippet(psiElement, namespace, name) : null;
+        }
+
+        if(ExtJsUtil.getStringLiteralPattern().accepts(psiElement)) {
+            PsiElement parent = psiElement.getParent();
+            if(!(parent instanceof JSLiteralExpression)) {
+                return null;
+            }
+
+            Object value = ((JSLiteralExpression) parent).getValue();
+            if(!(value instanceof String) || StringUtils.isBlank((String) value) || !((String) value).startsWith("{s")) {
+                return null;
+            }
+
+            String name = ExtJsUtil.getAttributeTagValueFromSmartyString("s", "name", (String) value);
+            if(name == null) {
+                return null;
+            }
+
+            String namespace = ExtJsUtil.getNamespaceFromStringLiteral((JSLiteralExpression) parent);
+            return namespace != null ? new ShopwareSnippet(parent, namespace, name) : null;
+        }
+
+        return null;
+    }
+
     @NotNull
     public static Collection<ShopwareSnippet> getSnippetsInFile(@NotNull SmartyFile file) {
         Collection<ShopwareSnippet> snippets = new ArrayList<>();
@@ -136,8 +180,47 @@ public class SnippetUtil {
     public static Set<String> getSnippetKeysByNamespace(@NotNull Project project, @NotNull String namespace) {
         Set<String> keys = new HashSet<>();
 
-        for (Set<String> snippetValues : FileBasedIndex.getInstance().getValues(SnippetIndex.KEY, namespace, GlobalSearchScope.allScope(project))) {
-            keys.addAll(snippetValues);
+        for (Map<String, Set<String>> locales : FileBasedIndex.getInstance().getValues(SnippetIndex.KEY, namespace, GlobalSearchScope.allScope(project))) {
+            for (Set<String> snippetValues : locales.values()) {
+                keys.addAll(snippetValues);
+            }
+        }
+
+        return keys;
+    }
+
+    /**
+     * Snippet lookup with the ini locales it is translated in: "foo en_GB, de_DE"
+     */
+    @NotNull
+    public static LookupElementBuilder createSnippetLookupElement(@NotNull String key, @NotNull String namespace, @NotNull Set<String> locales) {
+        LookupElementBuilder lookupElement = LookupElementBuilder.create(key)
+            .withIcon(Symfony2Icons.TRANSLATION)
+            .withTypeText(namespace, true);
+
+        if(locales.size() > 0) {
+            lookupElement = lookupElement.withTailText(" " + StringUtils.join(locales, ", "), true);
+        }
+
+        return lookupElement;
+    }
+
+    /**
+     * Snippet keys of a namespace and the ini locales providing them; template only usages have no locale
+     */
+    @NotNull
+    public static Map<String, Set<String>> getSnippetKeyLocales(@NotNull Project project, @NotNull String namespace) {
+        Map<String, Set<String>> keys = new TreeMap<>();
+
+        for (Map<String, Set<String>> locales : FileBasedIndex.getInstance().getValues(SnippetIndex.KEY, namespace, GlobalSearchScope.allScope(project))) {
+            for (Map.Entry<String, Set<String>> entry : locales.entrySet()) {
+                for (String key : entry.getValue()) {
+                    Set<String> keyLocales = keys.computeIfAbsent(key, s -> new TreeSet<>());
+                    if(entry.getKey().length() > 0) {
+                        keyLocales.add(entry.getKey());
+                    }
+                }
+            }
         }
 
         return keys;
@@ -148,32 +231,41 @@ public class SnippetUtil {
         return SymfonyProcessors.createResult(project, SnippetIndex.KEY);
     }
 
+    /**
+     * Ini entries of the snippet with key offset and locale; no ini file is loaded
+     */
     @NotNull
     public static Collection<PsiElement> getSnippetNameTargets(@NotNull Project project, @NotNull String namespace, @NotNull String name) {
-        Set<VirtualFile> files = new HashSet<>();
-        for (VirtualFile virtualFile : FileBasedIndex.getInstance().getContainingFiles(SnippetIndex.KEY, namespace, GlobalSearchScope.allScope(project))) {
-            // only support snippet files, to jump to template usage
-            if(!"ini".equalsIgnoreCase(virtualFile.getExtension())) {
-                continue;
+        Collection<PsiElement> targets = new ArrayList<>();
+
+        PsiManager psiManager = PsiManager.getInstance(project);
+        FileBasedIndex.getInstance().processValues(SnippetLocationIndex.KEY, SnippetLocationIndex.createKey(namespace, name), null, (virtualFile, locations) -> {
+            PsiFile psiFile = psiManager.findFile(virtualFile);
+            if(psiFile != null) {
+                for (SnippetLocation location : locations) {
+                    targets.add(new SnippetTarget(psiFile, namespace, name, location));
+                }
             }
 
-            FileBasedIndex.getInstance().processValues(SnippetIndex.KEY, namespace, virtualFile, (virtualFile1, value) -> {
-                if(value.contains(name)) {
-                    files.add(virtualFile);
-                }
+            return true;
+        }, GlobalSearchScope.allScope(project));
 
-                return true;
-            }, GlobalSearchScope.allScope(project));
-        }
+        return targets;
+    }
 
-        PsiManager instance = PsiManager.getInstance(project);
+    /**
+     * Indexed ini values of a snippet in all locales
+     */
+    @NotNull
+    public static Collection<SnippetLocation> getSnippetLocations(@NotNull Project project, @NotNull String namespace, @NotNull String name) {
+        Collection<SnippetLocation> locations = new ArrayList<>();
 
-        return files.stream()
-            .map(instance::findFile)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toSet());
-    }
+        for (List<SnippetLocation> values : FileBasedIndex.getInstance().getValues(SnippetLocationIndex.KEY, SnippetLocationIndex.createKey(namespace, name), GlobalSearchScope.allScope(project))) {
+            locations.addAll(values);
+        }
 
+        return locations;
+    }
 
     /**
      * Snippet target, only use ini files
@@ -271,26 +363,145 @@ public class SnippetUtil {
     }
 
     /**
-     * Ini file key loader for snippets
+     * Snippet namespace of an ini file below a "snippets" folder
+     *
+     * "snippets/frontend/detail/index.ini" => "frontend/detail/index"
+     */
+    @Nullable
+    public static String getIniNamespace(@NotNull VirtualFile virtualFile) {
+        String url = virtualFile.getUrl();
+        if(!url.toLowerCase().endsWith(".ini")) {
+            return null;
+        }
+
+        int i = url.lastIndexOf("/snippets/");
+        if(i <= 0) {
+            return null;
+        }
+
+        return url.substring(i + "/snippets/".length(), url.length() - 4);
+    }
+
+    /**
+     * Ini entries with offset of the key and the current "[en_GB]" section
+     *
+     * ; comment
+     * [en_GB]
+     * foo = "foobar"
+     */
+    public static void visitIniEntries(@NotNull CharSequence contents, @NotNull IniEntryVisitor visitor) {
+        scanIni(contents, (locale, keyStart, keyEnd, valueStart, valueEnd) -> visitor.visit(
+            locale,
+            contents.subSequence(keyStart, keyEnd).toString(),
+            unquote(contents.subSequence(valueStart, valueEnd).toString()),
+            keyStart
+        ));
+    }
+
+    /**
+     * Ini file keys grouped by their locale section; keys outside of any section are stored with an empty locale
+     */
+    @NotNull
+    public static Map<String, Set<String>> getIniKeysByLocale(@NotNull CharSequence contents) {
+        Map<String, Set<String>> keys = new HashMap<>();
+
+        scanIni(contents, (locale, keyStart, keyEnd, valueStart, valueEnd) ->
+            keys.computeIfAbsent(locale, s -> new HashSet<>()).add(contents.subSequence(keyStart, keyEnd).toString())
+        );
+
+        return keys;
+    }
+
+    /**
+     * Ini file key loader for snippets, all locales merged
      * "foo = foobar"
      */
     @NotNull
-    public static Set<String> getIniKeys(@NotNull String contents) {
+    public static Set<String> getIniKeys(@NotNull CharSequence contents) {
         Set<String> entries = new HashSet<>();
 
-        Pattern pattern = Pattern.compile("\\s*([^=]*)=(.*)");
+        for (Set<String> keys : getIniKeysByLocale(contents).values()) {
+            entries.addAll(keys);
+        }
+
+        return entries;
+    }
 
-        try(BufferedReader br = new BufferedReader(new StringReader(contents))) {
-            String line;
-            while((line = br.readLine()) != null) {
-                Matcher matcher = pattern.matcher(line);
-                if(matcher.matches()) {
-                    entries.add(matcher.group(1).trim());
+    /**
+     * Single pass over the content; only ranges are reported, so nothing is allocated per line
+     */
+    private static void scanIni(@NotNull CharSequence contents, @NotNull IniRangeVisitor visitor) {
+        String locale = "";
+
+        int length = contents.length();
+        int lineStart = 0;
+
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            int equal = -1;
+            int close = -1;
+
+            // line end, first "=" and section end in one go
+            for (char c; lineEnd < length && (c = contents.charAt(lineEnd)) != '\n'; lineEnd++) {
+                if(c == '=' && equal < 0) {
+                    equal = lineEnd;
+                } else if(c == ']' && close < 0) {
+                    close = lineEnd;
+                }
+            }
+
+            int start = skipWhitespace(contents, lineStart, lineEnd);
+
+            if(start < lineEnd) {
+                char c = contents.charAt(start);
+
+                if(c == '[') {
+                    if(close > start) {
+                        int localeStart = skipWhitespace(contents, start + 1, close);
+                        locale = contents.subSequence(localeStart, trimEnd(contents, localeStart, close)).toString();
+                    }
+                } else if(c != ';' && c != '#' && equal > start) {
+                    int keyEnd = trimEnd(contents, start, equal);
+                    int valueStart = skipWhitespace(contents, equal + 1, lineEnd);
+
+                    visitor.visit(locale, start, keyEnd, valueStart, trimEnd(contents, valueStart, lineEnd));
                 }
             }
-        } catch (IOException ignored) {
+
+            lineStart = lineEnd + 1;
         }
+    }
 
-        return entries;
+    private static int skipWhitespace(@NotNull CharSequence contents, int start, int end) {
+        while (start < end && Character.isWhitespace(contents.charAt(start))) {
+            start++;
+        }
+
+        return start;
+    }
+
+    private static int trimEnd(@NotNull CharSequence contents, int start, int end) {
+        while (end > start && Character.isWhitespace(contents.charAt(end - 1))) {
+            end--;
+        }
+
+        return end;
+    }
+
+    @NotNull
+    private static String unquote(@NotNull String value) {
+        if(value.length() > 1 && (value.charAt(0) == '"' || value.charAt(0) == '\'') && value.charAt(value.length() - 1) == value.charAt(0)) {
+            return value.substring(1, value.length() - 1);
+        }
+
+        return value;
+    }
+
+    public interface IniEntryVisitor {
+        void visit(@NotNull String locale, @NotNull String key, @NotNull String value, int offset);
+    }
+
+    private interface IniRangeVisitor {
+        void visit(@NotNull String locale, int keyStart, int keyEnd, int valueStart, int valueEnd);
     }
 }
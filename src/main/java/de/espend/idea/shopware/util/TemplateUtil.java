@@ -1,29 +1,24 @@
 package de.espend.idea.shopware.util;
 
-import com.intellij.lang.javascript.JavaScriptSupportLoader;
-import com.intellij.openapi.fileTypes.LanguageFileType;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Condition;
+import com.intellij.openapi.util.Pair;
 import com.intellij.openapi.vfs.VfsUtil;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.openapi.vfs.VirtualFileVisitor;
-import com.intellij.psi.PsiDirectory;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiWhiteSpace;
-import com.intellij.psi.search.FileTypeIndex;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.tree.IElementType;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.containers.ContainerUtil;
 import com.intellij.util.indexing.FileBasedIndex;
-import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.psi.PhpPsiUtil;
-import com.jetbrains.php.lang.psi.elements.PhpClass;
 import com.jetbrains.smarty.SmartyFile;
-import com.jetbrains.smarty.SmartyFileType;
 import com.jetbrains.smarty.lang.SmartyTokenTypes;
 import com.jetbrains.smarty.lang.psi.SmartyTag;
+import de.espend.idea.shopware.index.TemplateFileIndex;
 import fr.adrienbrault.idea.symfony2plugin.util.yaml.YamlHelper;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
@@ -41,183 +36,54 @@ public class TemplateUtil {
     }
 
     public static void collectFiles(Project project, final SmartyTemplateVisitor smartyTemplateVisitor, String... extensions) {
+        GlobalSearchScope scope = GlobalSearchScope.allScope(project);
 
-        final List<String> exts = Arrays.asList(extensions);
-        final List<VirtualFile> uniqueVirtualFiles = new ArrayList<>();
-
-        collectPluginTemplates(project, smartyTemplateVisitor, exts);
-
-        // search for index files; think of lib and include path
-        List<LanguageFileType> languageFileTypes = new ArrayList<>();
-
-        if(exts.contains("tpl")) {
-            languageFileTypes.add(SmartyFileType.INSTANCE);
-        }
-
-        if(exts.contains("js")) {
-            languageFileTypes.add(JavaScriptSupportLoader.JAVASCRIPT);
-        }
-
-        // sw5: provides parent class for themes
-        Set<VirtualFile> themes = new HashSet<>();
-        for(PhpClass phpClass: PhpIndex.getInstance(project).getAllSubclasses("\\Shopware\\Components\\Theme")) {
-            PsiDirectory parent = phpClass.getContainingFile().getParent();
-            if(parent != null) {
-                themes.add(parent.getVirtualFile());
-            }
-        }
-
-        for(LanguageFileType fileType: languageFileTypes) {
-            for(VirtualFile virtualFile : FileBasedIndex.getInstance().getContainingFiles(FileTypeIndex.NAME, fileType, GlobalSearchScope.allScope(project))) {
-                if(!uniqueVirtualFiles.contains(virtualFile)) {
-                    uniqueVirtualFiles.add(virtualFile);
-
-                    // try to get /templates/frontend/...
-                    String path = virtualFile.toString();
-                    int i = path.lastIndexOf("/templates/");
-                    if(i > 0) {
-                        String frontendName = path.substring(i + "/templates/".length());
-                        attachTemplates(virtualFile, frontendName, smartyTemplateVisitor);
-                    } else if (themes.size() > 0) {
-
-                        // sw5: check if file is somewhere inside a theme folder
-                        for(VirtualFile themeDir: themes) {
-                            if(VfsUtil.isAncestor(themeDir, virtualFile, false)) {
-                                String relativePath = VfsUtil.getRelativePath(virtualFile, themeDir, '/');
-                                if(relativePath != null) {
-                                    // we are too lazy prepend path name to simulate old behavior:
-                                    // "Bare/frontend/campaign"
-                                    attachTemplates(virtualFile, themeDir.getName() + "/" + relativePath, smartyTemplateVisitor);
-                                }
-
-                            }
-                        }
-
-                    }
-                }
-            }
-        }
-
-        // wooh... not a full project, so skip it
-        // shopware is in lib only condition
-        final VirtualFile templateDir = VfsUtil.findRelativeFile("templates", project.getBaseDir());
-        if(templateDir == null) {
-            return;
-        }
-
-        // collect on project template dir
-        VfsUtil.visitChildrenRecursively(templateDir, new VirtualFileVisitor() {
-            @Override
-            public boolean visitFile(@NotNull VirtualFile virtualFile) {
-
-                if(uniqueVirtualFiles.contains(virtualFile)) {
-                    return true;
-                }
-
-                uniqueVirtualFiles.add(virtualFile);
-
-                if(!isValidTemplateFile(virtualFile, exts)) {
-                    return true;
-                }
-
-                String frontendName = VfsUtil.getRelativePath(virtualFile, templateDir, '/');
-                if(frontendName == null) {
-                    return true;
-                }
-
-                attachTemplates(virtualFile, frontendName, smartyTemplateVisitor);
+        // collect first; visitors are free to access indexes again
+        List<Pair<VirtualFile, String>> files = new ArrayList<>();
+        for(String templateName: getTemplateNames(project, extensions)) {
+            ProgressManager.checkCanceled();
 
+            FileBasedIndex.getInstance().processValues(TemplateFileIndex.KEY, templateName, null, (virtualFile, value) -> {
+                files.add(Pair.create(virtualFile, templateName));
                 return true;
-            }
-        });
-    }
-
-    private static boolean attachTemplates(VirtualFile virtualFile, String frontendName, SmartyTemplateVisitor smartyTemplateVisitor) {
-
-        String[] pathSplits = StringUtils.split(frontendName, "/");
-        if(pathSplits.length < 2 || (!"frontend".equals(pathSplits[1]) && !"backend".equals(pathSplits[1])) && !"widgets".equals(pathSplits[1])) {
-            return true;
+            }, scope);
         }
 
-        int i = frontendName.indexOf("/");
-        if(i == -1) {
-            return true;
+        for(Pair<VirtualFile, String> file: files) {
+            smartyTemplateVisitor.visitFile(file.getFirst(), file.getSecond());
         }
-
-        int n = pathSplits.length-1;
-        String[] newArray = new String[n];
-        System.arraycopy(pathSplits, 1, newArray, 0, n);
-
-        String fileName = StringUtils.join(newArray, "/");
-        smartyTemplateVisitor.visitFile(virtualFile, fileName);
-
-        return false;
     }
 
-    private static void collectPluginTemplates(Project project, final SmartyTemplateVisitor smartyTemplateVisitor, final List<String> exts) {
-        Collection<PhpClass> phpClasses = PhpIndex.getInstance(project).getAllSubclasses("\\Shopware_Components_Plugin_Bootstrap");
-        for(PhpClass phpClass: phpClasses) {
-
-            PsiDirectory psiDirectory = phpClass.getContainingFile().getContainingDirectory();
-            final VirtualFile virtualViewDir = VfsUtil.findRelativeFile("Views", psiDirectory.getVirtualFile());
-            if(virtualViewDir != null) {
-                VfsUtil.visitChildrenRecursively(virtualViewDir, new VirtualFileVisitor() {
-                    @Override
-                    public boolean visitFile(@NotNull VirtualFile file) {
-
-                        if(!isValidTemplateFile(file, exts)) {
-                            return true;
-                        }
-
-                        String frontendName = VfsUtil.getRelativePath(file, virtualViewDir, '/');
-                        if(frontendName == null) {
-                            return true;
-                        }
+    /**
+     * All files providing the given logical template name; "frontend/detail/index.tpl"
+     */
+    @NotNull
+    public static Collection<VirtualFile> getTemplateFiles(@NotNull Project project, @NotNull String templateName) {
+        return FileBasedIndex.getInstance().getContainingFiles(TemplateFileIndex.KEY, templateName, GlobalSearchScope.allScope(project));
+    }
 
-                        smartyTemplateVisitor.visitFile(file, frontendName);
+    /**
+     * All logical template names of the project, filtered by file extension
+     */
+    @NotNull
+    public static Set<String> getTemplateNames(@NotNull Project project, @NotNull String... extensions) {
+        Set<String> templateNames = new HashSet<>();
 
-                        return true;
-                    }
-                });
+        FileBasedIndex.getInstance().processAllKeys(TemplateFileIndex.KEY, templateName -> {
+            if(isValidTemplateName(templateName, extensions)) {
+                templateNames.add(templateName);
             }
-        }
-
-        Collection<PhpClass> newPluginPhpClasses = PhpIndex.getInstance(project).getAllSubclasses("\\Shopware\\Components\\Plugin");
-        for(PhpClass phpClass: newPluginPhpClasses) {
-
-            PsiDirectory psiDirectory = phpClass.getContainingFile().getContainingDirectory();
-            final VirtualFile virtualViewDir = VfsUtil.findRelativeFile("Resources/views", psiDirectory.getVirtualFile());
-            if(virtualViewDir != null) {
-                VfsUtil.visitChildrenRecursively(virtualViewDir, new VirtualFileVisitor() {
-                    @Override
-                    public boolean visitFile(@NotNull VirtualFile file) {
-
-                        if(!isValidTemplateFile(file, exts)) {
-                            return true;
-                        }
 
-                        String frontendName = VfsUtil.getRelativePath(file, virtualViewDir, '/');
-                        if(frontendName == null) {
-                            return true;
-                        }
-
-                        smartyTemplateVisitor.visitFile(file, frontendName);
+            return true;
+        }, GlobalSearchScope.allScope(project), null);
 
-                        return true;
-                    }
-                });
-            }
-        }
+        return templateNames;
     }
 
-    private static boolean isValidTemplateFile(VirtualFile virtualFile, List<String> extensions) {
-
-        if(virtualFile.isDirectory()) {
-            return false;
-        }
-        String filename = virtualFile.getName();
+    private static boolean isValidTemplateName(@NotNull String templateName, @NotNull String... extensions) {
+        String filename = templateName.toLowerCase();
         for(String ext: extensions) {
-            if(filename.toLowerCase().endsWith(ext.toLowerCase())) {
+            if(filename.endsWith(ext.toLowerCase())) {
                 return true;
             }
         }
@@ -1,21 +1,30 @@
 package de.espend.idea.shopware.util;
 
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VfsUtil;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.openapi.vfs.VirtualFileVisitor;
 import com.intellij.patterns.PlatformPatterns;
 import com.intellij.patterns.PsiElementPattern;
 import com.intellij.psi.PsiDirectory;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.containers.ContainerUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.jetbrains.php.lang.PhpFileType;
 import com.jetbrains.php.lang.parser.PhpElementTypes;
 import com.jetbrains.php.lang.psi.elements.ArrayCreationExpression;
 import com.jetbrains.php.lang.psi.elements.Field;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import de.espend.idea.shopware.index.ThemeAssetIndex;
+import de.espend.idea.shopware.index.ThemeIndex;
 import fr.adrienbrault.idea.symfony2plugin.util.PhpElementsUtil;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.*;
+
 /**
  * @author Daniel Espendiller <daniel@espendiller.net>
  */
@@ -28,30 +37,75 @@ public class ThemeUtil {
             return;
         }
 
-        final VirtualFile publicFolder = VfsUtil.findRelativeFile(parent.getVirtualFile(), "frontend", "_public");
-        if(publicFolder == null) {
+        visitThemeAssets(phpClass.getProject(), parent.getVirtualFile(), "js", themeAssetVisitor);
+    }
+
+    /**
+     * Indexed assets of the theme folder with the given extension, path relative to "frontend/_public"
+     *
+     * Asset index is path based, so the folder must be a theme known by the ThemeIndex
+     */
+    public static void visitThemeAssets(@NotNull Project project, @NotNull VirtualFile themeDir, @NotNull String extension, @NotNull ThemeAssetVisitor themeAssetVisitor) {
+        if(!getThemeDirectories(project, themeDir.getName()).contains(themeDir)) {
             return;
         }
 
-        // collect on project template dir
-        VfsUtil.visitChildrenRecursively(publicFolder, new VirtualFileVisitor() {
-            @Override
-            public boolean visitFile(@NotNull VirtualFile virtualFile) {
+        Map<VirtualFile, String> assets = new HashMap<>();
+
+        FileBasedIndex.getInstance().processValues(ThemeAssetIndex.KEY, themeDir.getName(), null, (virtualFile, path) -> {
+            // other theme folder with same name
+            if(extension.equalsIgnoreCase(virtualFile.getExtension()) && VfsUtil.isAncestor(themeDir, virtualFile, true)) {
+                assets.put(virtualFile, path);
+            }
+
+            return true;
+        }, GlobalSearchScope.allScope(project));
+
+        for (Map.Entry<VirtualFile, String> entry : assets.entrySet()) {
+            if(!themeAssetVisitor.visit(entry.getKey(), entry.getValue())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Theme name to the name of the theme it extends; empty if none
+     */
+    @NotNull
+    public static Map<String, String> getThemes(@NotNull Project project) {
+        GlobalSearchScope scope = GlobalSearchScope.getScopeRestrictedByFileTypes(GlobalSearchScope.allScope(project), PhpFileType.INSTANCE);
 
-                if(!"js".equals(virtualFile.getExtension())) {
-                    return true;
-                }
+        Set<String> names = new HashSet<>();
+        FileBasedIndex.getInstance().processAllKeys(ThemeIndex.KEY, name -> {
+            names.add(name);
+            return true;
+        }, scope, null);
 
-                String relative = VfsUtil.getRelativePath(virtualFile, publicFolder, '/');
-                if(relative == null) {
-                    return true;
-                }
+        Map<String, String> themes = new HashMap<>();
+        for (String name : names) {
+            ProgressManager.checkCanceled();
 
-                return themeAssetVisitor.visit(virtualFile, relative);
+            for (String extend : FileBasedIndex.getInstance().getValues(ThemeIndex.KEY, name, scope)) {
+                themes.put(name, extend);
             }
-        });
+        }
 
+        return themes;
+    }
+
+    /**
+     * Folders of all themes with the given name
+     */
+    @NotNull
+    public static Collection<VirtualFile> getThemeDirectories(@NotNull Project project, @NotNull String name) {
+        Collection<VirtualFile> directories = new HashSet<>();
+
+        GlobalSearchScope scope = GlobalSearchScope.getScopeRestrictedByFileTypes(GlobalSearchScope.allScope(project), PhpFileType.INSTANCE);
+        for (VirtualFile virtualFile : FileBasedIndex.getInstance().getContainingFiles(ThemeIndex.KEY, name, scope)) {
+            ContainerUtil.addIfNotNull(directories, virtualFile.getParent());
+        }
 
+        return directories;
     }
 
     public interface ThemeAssetVisitor {
@@ -0,0 +1,149 @@
+package de.espend.idea.shopware.util.dict;
+
+import com.intellij.codeInsight.completion.PrefixMatcher;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.jetbrains.smarty.SmartyFileType;
+import de.espend.idea.shopware.ShopwareModificationTracker;
+import de.espend.idea.shopware.index.SmartyBlockStubIndex;
+import de.espend.idea.shopware.util.TemplateUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * All block names of the project with the number of defining files and a template name of one of them; build with one
+ * processValues call per indexed block name and kept until the block names of any template change, so typing inside
+ * a block does not rebuild it
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class BlockCatalog {
+
+    private static final Key<CachedValue<BlockCatalog>> BLOCK_CATALOG = new Key<>("SW_BLOCK_CATALOG");
+
+    /**
+     * Sorted by name
+     */
+    @NotNull
+    private final String[] names;
+
+    @NotNull
+    private final int[] fileCounts;
+
+    @NotNull
+    private final String[] templateNames;
+
+    private BlockCatalog(@NotNull SortedMap<String, Block> blocks) {
+        this.names = new String[blocks.size()];
+        this.fileCounts = new int[blocks.size()];
+        this.templateNames = new String[blocks.size()];
+
+        int i = 0;
+        for (Map.Entry<String, Block> entry : blocks.entrySet()) {
+            this.names[i] = entry.getKey();
+            this.fileCounts[i] = entry.getValue().fileCount;
+            this.templateNames[i] = entry.getValue().templateName;
+            i++;
+        }
+    }
+
+    @NotNull
+    public static BlockCatalog getInstance(@NotNull Project project) {
+        CachedValue<BlockCatalog> cache = project.getUserData(BLOCK_CATALOG);
+
+        if(cache == null) {
+            cache = CachedValuesManager.getManager(project).createCachedValue(() -> CachedValueProvider.Result.create(
+                create(project),
+                ShopwareModificationTracker.getTracker(project, ShopwareModificationTracker.Kind.SMARTY_BLOCK)
+            ), false);
+
+            project.putUserData(BLOCK_CATALOG, cache);
+        }
+
+        return cache.getValue();
+    }
+
+    @NotNull
+    private static BlockCatalog create(@NotNull Project project) {
+        GlobalSearchScope scope = GlobalSearchScope.getScopeRestrictedByFileTypes(GlobalSearchScope.allScope(project), SmartyFileType.INSTANCE);
+
+        Set<String> keys = new HashSet<>();
+        FileBasedIndex.getInstance().processAllKeys(SmartyBlockStubIndex.KEY, key -> {
+            keys.add(key);
+            return true;
+        }, scope, null);
+
+        // many blocks share the same files; resolve every template name only once
+        Map<VirtualFile, String> templateNames = new HashMap<>();
+
+        SortedMap<String, Block> blocks = new TreeMap<>();
+        for (String key : keys) {
+            ProgressManager.checkCanceled();
+
+            Set<VirtualFile> files = new HashSet<>();
+            FileBasedIndex.getInstance().processValues(SmartyBlockStubIndex.KEY, key, null, (virtualFile, definitions) -> {
+                files.add(virtualFile);
+                return true;
+            }, scope);
+
+            // outdated key
+            if(files.size() == 0) {
+                continue;
+            }
+
+            VirtualFile virtualFile = files.iterator().next();
+            String templateName = templateNames.computeIfAbsent(virtualFile, file -> TemplateUtil.getTemplateName(project, file));
+
+            blocks.put(key, new Block(files.size(), templateName));
+        }
+
+        return new BlockCatalog(blocks);
+    }
+
+    /**
+     * Visit all block names matching the given matcher, in name order
+     */
+    public void visit(@NotNull PrefixMatcher matcher, @NotNull Visitor visitor) {
+        for (int i = 0; i < names.length; i++) {
+            if(i % 1000 == 0) {
+                ProgressManager.checkCanceled();
+            }
+
+            if(matcher.prefixMatches(names[i]) && !visitor.visit(names[i], fileCounts[i], templateNames[i])) {
+                return;
+            }
+        }
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public interface Visitor {
+        /**
+         * @param templateName template name of one of the files defining the block
+         */
+        boolean visit(@NotNull String name, int fileCount, @Nullable String templateName);
+    }
+
+    private static class Block {
+        private final int fileCount;
+
+        @Nullable
+        private final String templateName;
+
+        Block(int fileCount, @Nullable String templateName) {
+            this.fileCount = fileCount;
+            this.templateName = templateName;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package de.espend.idea.shopware.util.dict;
+
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.lang.psi.elements.MethodReference;
+import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * All "subscribeEvent" and "createEvent" calls of a plugin Bootstrap file, shared by line marker and inspection
+ *
+ * $this->subscribeEvent('Enlight_Controller_Action_PostDispatch', 'onPostDispatch');
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class BootstrapSubscriptions {
+
+    private static final Key<CachedValue<BootstrapSubscriptions>> BOOTSTRAP_SUBSCRIPTIONS = new Key<>("SW_BOOTSTRAP_SUBSCRIPTIONS");
+
+    @NotNull
+    private final PsiFile psiFile;
+
+    @NotNull
+    private final List<Subscription> subscriptions;
+
+    @NotNull
+    private final Map<String, List<Subscription>> methods = new HashMap<>();
+
+    private BootstrapSubscriptions(@NotNull PsiFile psiFile, @NotNull List<Subscription> subscriptions) {
+        this.psiFile = psiFile;
+        this.subscriptions = Collections.unmodifiableList(subscriptions);
+
+        for (Subscription subscription : subscriptions) {
+            methods.computeIfAbsent(subscription.getMethodName(), s -> new ArrayList<>()).add(subscription);
+        }
+    }
+
+    /**
+     * Only depends on the file itself, hook targets are resolved by consumers on demand
+     */
+    @NotNull
+    public static BootstrapSubscriptions getSubscriptions(@NotNull PsiFile psiFile) {
+        return CachedValuesManager.getCachedValue(psiFile, BOOTSTRAP_SUBSCRIPTIONS, () ->
+            CachedValueProvider.Result.create(new BootstrapSubscriptions(psiFile, collect(psiFile)), psiFile)
+        );
+    }
+
+    @NotNull
+    public List<Subscription> getSubscriptions() {
+        return subscriptions;
+    }
+
+    @NotNull
+    public Collection<Subscription> getSubscriptions(@NotNull String methodName) {
+        return methods.getOrDefault(methodName, Collections.emptyList());
+    }
+
+    @Nullable
+    public StringLiteralExpression getLiteral(int offset) {
+        if(offset < 0) {
+            return null;
+        }
+
+        return PsiTreeUtil.getParentOfType(psiFile.findElementAt(offset), StringLiteralExpression.class, false);
+    }
+
+    @NotNull
+    private static List<Subscription> collect(@NotNull PsiFile psiFile) {
+        List<Subscription> subscriptions = new ArrayList<>();
+
+        psiFile.acceptChildren(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                if(element instanceof MethodReference) {
+                    visitMethodReference((MethodReference) element);
+                }
+
+                super.visitElement(element);
+            }
+
+            private void visitMethodReference(@NotNull MethodReference methodReference) {
+                String name = methodReference.getName();
+                if(!"subscribeEvent".equals(name) && !"createEvent".equals(name)) {
+                    return;
+                }
+
+                PsiElement[] parameters = methodReference.getParameters();
+                if(parameters.length < 2 || !(parameters[1] instanceof StringLiteralExpression)) {
+                    return;
+                }
+
+                String methodName = ((StringLiteralExpression) parameters[1]).getContents();
+                if(StringUtils.isBlank(methodName)) {
+                    return;
+                }
+
+                String event = null;
+                int eventOffset = -1;
+                if(parameters[0] instanceof StringLiteralExpression) {
+                    event = StringUtils.stripToNull(((StringLiteralExpression) parameters[0]).getContents());
+                    eventOffset = parameters[0].getTextOffset();
+                }
+
+                subscriptions.add(new Subscription(
+                    event,
+                    methodName,
+                    eventOffset,
+                    parameters[1].getTextOffset(),
+                    "createEvent".equals(name)
+                ));
+            }
+        });
+
+        return subscriptions;
+    }
+
+    public static class Subscription {
+
+        @Nullable
+        private final String event;
+
+        @NotNull
+        private final String methodName;
+
+        private final int eventOffset;
+
+        private final int methodOffset;
+
+        private final boolean createEvent;
+
+        Subscription(@Nullable String event, @NotNull String methodName, int eventOffset, int methodOffset, boolean createEvent) {
+            this.event = event;
+            this.methodName = methodName;
+            this.eventOffset = eventOffset;
+            this.methodOffset = methodOffset;
+            this.createEvent = createEvent;
+        }
+
+        /**
+         * Null if the event is not a string literal
+         */
+        @Nullable
+        public String getEvent() {
+            return event;
+        }
+
+        @NotNull
+        public String getMethodName() {
+            return methodName;
+        }
+
+        public int getEventOffset() {
+            return eventOffset;
+        }
+
+        public int getMethodOffset() {
+            return methodOffset;
+        }
+
+        public boolean isCreateEvent() {
+            return createEvent;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package de.espend.idea.shopware.util.dict;
+
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.jetbrains.php.lang.psi.elements.Method;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.jetbrains.smarty.SmartyFile;
+import de.espend.idea.shopware.ShopwareModificationTracker;
+import de.espend.idea.shopware.util.RegexUtil;
+import de.espend.idea.shopware.util.ShopwareUtil;
+import de.espend.idea.shopware.util.TemplateUtil;
+import fr.adrienbrault.idea.symfony2plugin.util.PhpElementsUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.regex.Matcher;
+
+/**
+ * Template name convention of controller actions in both directions
+ *
+ * "frontend/account/ajax_login.tpl" <=> Shopware_Controllers_Frontend_Account::ajaxLoginAction
+ *
+ * The template side is cached per file and the action side as one project map, so navigation and variable completion
+ * do not resolve the controller class on every call. Both only depend on file paths and controllers, never on
+ * template content
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class ControllerTemplateMapping {
+
+    private static final Key<CachedValue<ControllerTemplateMapping>> SMARTY_CONTROLLER_ACTION = new Key<>("SW_SMARTY_CONTROLLER_ACTION");
+    private static final Key<CachedValue<Map<String, Set<String>>>> CONTROLLER_ACTION_TEMPLATES = new Key<>("SW_CONTROLLER_ACTION_TEMPLATES");
+
+    private static final ControllerTemplateMapping EMPTY = new ControllerTemplateMapping(null, null);
+
+    @Nullable
+    private final PhpClass phpClass;
+
+    @Nullable
+    private final Method method;
+
+    private ControllerTemplateMapping(@Nullable PhpClass phpClass, @Nullable Method method) {
+        this.phpClass = phpClass;
+        this.method = method;
+    }
+
+    /**
+     * Only depends on the template path and controllers; valid until files are moved or any controller changes,
+     * but not invalidated by typing inside the template
+     */
+    @NotNull
+    public static ControllerTemplateMapping getInstance(@NotNull SmartyFile smartyFile) {
+        Project project = smartyFile.getProject();
+
+        return CachedValuesManager.getCachedValue(smartyFile, SMARTY_CONTROLLER_ACTION, () -> CachedValueProvider.Result.create(
+            create(smartyFile),
+            VirtualFileManager.getInstance(),
+            ShopwareModificationTracker.getTracker(project, ShopwareModificationTracker.Kind.CONTROLLER)
+        ));
+    }
+
+    /**
+     * Shopware_Controllers_Frontend_Account
+     */
+    @Nullable
+    public PhpClass getControllerClass() {
+        return phpClass != null && phpClass.isValid() ? phpClass : null;
+    }
+
+    /**
+     * Shopware_Controllers_Frontend_Account::loginAction
+     */
+    @Nullable
+    public Method getAction() {
+        return method != null && method.isValid() ? method : null;
+    }
+
+    /**
+     * Template names of an action method by "Shopware_Controllers_<Module>_<Controller>::<action>Action" convention
+     */
+    @NotNull
+    public static Collection<String> getTemplateNames(@NotNull Method method) {
+        String methodName = method.getName();
+
+        // __invoke like in Symfony are ignored
+        PhpClass phpClass = method.getContainingClass();
+        if(phpClass == null || !methodName.endsWith("Action") || methodName.length() == 6) {
+            return Collections.emptySet();
+        }
+
+        Matcher matcher = RegexUtil.CONTROLLER_CLASS.matcher(phpClass.getName());
+        if(!matcher.find()) {
+            return Collections.emptySet();
+        }
+
+        String key = createKey(matcher.group(1), matcher.group(2), methodName.substring(0, methodName.length() - 6));
+
+        return Collections.unmodifiableSet(getTemplateNames(method.getProject()).getOrDefault(key, Collections.emptySet()));
+    }
+
+    @NotNull
+    private static ControllerTemplateMapping create(@NotNull SmartyFile smartyFile) {
+        String relativeFilename = TemplateUtil.getTemplateName(smartyFile.getProject(), smartyFile.getVirtualFile());
+        if(relativeFilename == null) {
+            return EMPTY;
+        }
+
+        Matcher matcher = RegexUtil.TEMPLATE_ACTION.matcher(relativeFilename);
+        if(!matcher.find()) {
+            return EMPTY;
+        }
+
+        // Shopware_Controllers_Frontend_Account
+        String moduleName = ShopwareUtil.toCamelCase(matcher.group(1), false);
+        String controller = ShopwareUtil.toCamelCase(matcher.group(2), false);
+        String action = ShopwareUtil.toCamelCase(matcher.group(3), true);
+
+        String className = String.format("\\Shopware_Controllers_%s_%s", moduleName, controller);
+        PhpClass phpClass = PhpElementsUtil.getClassInterface(smartyFile.getProject(), className);
+        if(phpClass == null) {
+            return EMPTY;
+        }
+
+        return new ControllerTemplateMapping(phpClass, phpClass.findMethodByName(action + "Action"));
+    }
+
+    /**
+     * "frontend:account:ajaxlogin" => "frontend/account/ajax_login.tpl"
+     */
+    @NotNull
+    private static Map<String, Set<String>> getTemplateNames(@NotNull Project project) {
+        CachedValue<Map<String, Set<String>>> cache = project.getUserData(CONTROLLER_ACTION_TEMPLATES);
+
+        if(cache == null) {
+            cache = CachedValuesManager.getManager(project).createCachedValue(() -> {
+                Map<String, Set<String>> templates = new HashMap<>();
+
+                for (String templateName : TemplateUtil.getTemplateNames(project, "tpl")) {
+                    Matcher matcher = RegexUtil.TEMPLATE_ACTION.matcher(templateName);
+                    if(matcher.find()) {
+                        templates.computeIfAbsent(createKey(matcher.group(1), matcher.group(2), matcher.group(3)), s -> new TreeSet<>()).add(templateName);
+                    }
+                }
+
+                // template names only change if templates are added, removed or moved, or after indexing
+                return CachedValueProvider.Result.create(
+                    templates,
+                    VirtualFileManager.getInstance(),
+                    DumbService.getInstance(project).getModificationTracker()
+                );
+            }, false);
+
+            project.putUserData(CONTROLLER_ACTION_TEMPLATES, cache);
+        }
+
+        return cache.getValue();
+    }
+
+    /**
+     * Class names are camel case, template paths are underscored: "AjaxSearch" and "ajax_search" share one key
+     */
+    @NotNull
+    private static String createKey(@NotNull String module, @NotNull String controller, @NotNull String action) {
+        return (module + ":" + controller + ":" + action).replace("_", "").toLowerCase();
+    }
+}
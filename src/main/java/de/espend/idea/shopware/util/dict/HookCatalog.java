@@ -0,0 +1,220 @@
+package de.espend.idea.shopware.util.dict;
+
+import com.intellij.codeInsight.completion.PrefixMatcher;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.jetbrains.php.lang.psi.elements.Method;
+import de.espend.idea.shopware.ShopwareModificationTracker;
+import de.espend.idea.shopware.util.HookSubscriberUtil;
+import fr.adrienbrault.idea.symfony2plugin.util.PhpElementsUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * All hookable "Class::method::after" like strings of a project, grouped by class. Strings are build once with the
+ * catalog; completion only visits the groups of classes matching its prefix
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class HookCatalog {
+
+    private static final Key<CachedValue<HookCatalog>> HOOK_CATALOG = new Key<>("SW_HOOK_CATALOG");
+
+    private static final String[] HOOK_SUFFIXES = new String[]{"after", "before", "replace"};
+    private static final String[] DOCTRINE_LIFECYCLES = new String[]{"prePersist", "postPersist", "preUpdate", "postUpdate", "preRemove", "postRemove"};
+
+    public enum Type {
+        HOOK, DOCTRINE, QUERY_BUILDER
+    }
+
+    /**
+     * Sorted by lowercase class name
+     */
+    @NotNull
+    private final Group[] groups;
+
+    @NotNull
+    private final String[] lowerClassNames;
+
+    private HookCatalog(@NotNull List<Group> groups) {
+        groups.sort(Comparator.comparing(group -> group.lowerClassName));
+
+        this.groups = groups.toArray(new Group[0]);
+        this.lowerClassNames = new String[this.groups.length];
+
+        for (int i = 0; i < this.groups.length; i++) {
+            this.lowerClassNames[i] = this.groups[i].lowerClassName;
+        }
+    }
+
+    @NotNull
+    public static HookCatalog getInstance(@NotNull Project project) {
+        CachedValue<HookCatalog> cache = project.getUserData(HOOK_CATALOG);
+
+        if(cache == null) {
+            cache = CachedValuesManager.getManager(project).createCachedValue(() -> CachedValueProvider.Result.create(
+                create(project),
+                ShopwareModificationTracker.getTrackers(project, ShopwareModificationTracker.Kind.HOOK, ShopwareModificationTracker.Kind.MODEL)
+            ), false);
+
+            project.putUserData(HOOK_CATALOG, cache);
+        }
+
+        return cache.getValue();
+    }
+
+    @NotNull
+    private static HookCatalog create(@NotNull Project project) {
+        Map<String, Set<String>> hooks = new HashMap<>();
+
+        HookSubscriberUtil.collectHooks(project, (phpClass, method) -> {
+            hooks.computeIfAbsent(phpClass.getPresentableFQN(), s -> new TreeSet<>()).add(method.getName());
+            return true;
+        });
+
+        List<Group> groups = new ArrayList<>();
+        for (Map.Entry<String, Set<String>> entry : hooks.entrySet()) {
+            groups.add(new Group(Type.HOOK, entry.getKey(), entry.getValue().toArray(new String[0]), HOOK_SUFFIXES));
+        }
+
+        HookSubscriberUtil.collectDoctrineLifecycleHooks(project, phpClass -> {
+            groups.add(new Group(Type.DOCTRINE, phpClass.getPresentableFQN(), DOCTRINE_LIFECYCLES, new String[0]));
+            return true;
+        });
+
+        HookSubscriberUtil.visitDoctrineQueryBuilderClasses(project, phpClass -> {
+            String presentableFQN = phpClass.getPresentableFQN();
+            if(presentableFQN.endsWith("Proxy") || PhpElementsUtil.isInstanceOf(phpClass, "\\Enlight_Hook_Proxy")) {
+                return true;
+            }
+
+            Set<String> methods = new TreeSet<>();
+            for(Method method: phpClass.getOwnMethods()) {
+                if((method.getAccess().isPublic() || method.getAccess().isProtected()) && !method.getName().startsWith("__")) {
+                    methods.add(method.getName());
+                }
+            }
+
+            if(methods.size() > 0) {
+                groups.add(new Group(Type.QUERY_BUILDER, presentableFQN, methods.toArray(new String[0]), HOOK_SUFFIXES));
+            }
+
+            return true;
+        });
+
+        return new HookCatalog(groups);
+    }
+
+    /**
+     * Visit all hooks matching the given matcher
+     *
+     * A prefix containing "::" is treated as class qualified, so only the classes matching the part in front of it are
+     * visited; on an exact class name a binary search is enough
+     */
+    public void visit(@NotNull PrefixMatcher matcher, @NotNull Visitor visitor) {
+        String prefix = matcher.getPrefix();
+
+        int separator = prefix.indexOf("::");
+        if(separator < 0) {
+            for (Group group : groups) {
+                ProgressManager.checkCanceled();
+
+                // every member of a matching class also matches
+                if(!visitGroup(group, matcher.prefixMatches(group.className) ? null : matcher, visitor)) {
+                    return;
+                }
+            }
+
+            return;
+        }
+
+        String classPrefix = prefix.substring(0, separator);
+
+        int exact = Arrays.binarySearch(lowerClassNames, classPrefix.toLowerCase());
+        if(exact >= 0) {
+            // same class can be provided by multiple types
+            int start = exact;
+            while (start > 0 && lowerClassNames[start - 1].equals(lowerClassNames[exact])) {
+                start--;
+            }
+
+            for (int i = start; i < groups.length && lowerClassNames[i].equals(lowerClassNames[exact]); i++) {
+                if(!visitGroup(groups[i], matcher, visitor)) {
+                    return;
+                }
+            }
+
+            return;
+        }
+
+        PrefixMatcher classMatcher = matcher.cloneWithPrefix(classPrefix);
+        for (Group group : groups) {
+            ProgressManager.checkCanceled();
+
+            if(classMatcher.prefixMatches(group.className) && !visitGroup(group, matcher, visitor)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param matcher null if all members are matching
+     */
+    private static boolean visitGroup(@NotNull Group group, PrefixMatcher matcher, @NotNull Visitor visitor) {
+        for (String hook : group.hooks) {
+            if((matcher == null || matcher.prefixMatches(hook)) && !visitor.visit(hook, group.type)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public interface Visitor {
+        boolean visit(@NotNull String hook, @NotNull Type type);
+    }
+
+    private static class Group {
+        @NotNull
+        private final Type type;
+
+        @NotNull
+        private final String className;
+
+        @NotNull
+        private final String lowerClassName;
+
+        /**
+         * "Class::member" or "Class::member::suffix"
+         */
+        @NotNull
+        private final String[] hooks;
+
+        Group(@NotNull Type type, @NotNull String className, @NotNull String[] members, @NotNull String[] suffixes) {
+            this.type = type;
+            this.className = className;
+            this.lowerClassName = className.toLowerCase();
+
+            List<String> hooks = new ArrayList<>(members.length * Math.max(suffixes.length, 1));
+            for (String member : members) {
+                String name = className + "::" + member;
+
+                if(suffixes.length == 0) {
+                    hooks.add(name);
+                    continue;
+                }
+
+                for (String suffix : suffixes) {
+                    hooks.add(name + "::" + suffix);
+                }
+            }
+
+            this.hooks = hooks.toArray(new String[0]);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package de.espend.idea.shopware.util.dict;
+
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.impl.FakePsiElement;
+import de.espend.idea.shopware.util.SmartyBlockUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+
+/**
+ * Navigation target of an indexed block name; the template is only searched for the block element on navigation
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class SmartyBlockTarget extends FakePsiElement {
+
+    @NotNull
+    private final Project project;
+
+    @NotNull
+    private final VirtualFile virtualFile;
+
+    @NotNull
+    private final String name;
+
+    private final int offset;
+
+    public SmartyBlockTarget(@NotNull Project project, @NotNull VirtualFile virtualFile, @NotNull String name, int offset) {
+        this.project = project;
+        this.virtualFile = virtualFile;
+        this.name = name;
+        this.offset = offset;
+    }
+
+    @NotNull
+    public VirtualFile getVirtualFile() {
+        return virtualFile;
+    }
+
+    /**
+     * Block name element inside the template; null if index and file content are out of sync
+     */
+    @Nullable
+    public PsiElement getElement() {
+        PsiFile psiFile = getContainingFile();
+        if(psiFile == null) {
+            return null;
+        }
+
+        return SmartyBlockUtil.getElementAtOffset(psiFile, offset, name);
+    }
+
+    @NotNull
+    @Override
+    public Project getProject() {
+        return project;
+    }
+
+    @Override
+    public PsiElement getParent() {
+        return getContainingFile();
+    }
+
+    @Nullable
+    @Override
+    public PsiFile getContainingFile() {
+        return virtualFile.isValid() ? PsiManager.getInstance(project).findFile(virtualFile) : null;
+    }
+
+    @NotNull
+    @Override
+    public PsiElement getNavigationElement() {
+        PsiElement element = getElement();
+        return element != null ? element : this;
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getPresentableText() {
+        return name;
+    }
+
+    @Nullable
+    @Override
+    public String getLocationString() {
+        return virtualFile.getName();
+    }
+
+    @Override
+    public Icon getIcon(boolean open) {
+        return virtualFile.getFileType().getIcon();
+    }
+
+    @Override
+    public int getTextOffset() {
+        return offset;
+    }
+
+    @Override
+    public TextRange getTextRange() {
+        return TextRange.from(offset, name.length());
+    }
+
+    @Override
+    public void navigate(boolean requestFocus) {
+        PsiElement element = getElement();
+
+        // index is behind the file content; at least open the template
+        new OpenFileDescriptor(project, virtualFile, element != null ? element.getTextOffset() : offset).navigate(requestFocus);
+    }
+
+    @Override
+    public boolean canNavigate() {
+        return virtualFile.isValid();
+    }
+
+    @Override
+    public boolean canNavigateToSource() {
+        return canNavigate();
+    }
+
+    @Override
+    public boolean isValid() {
+        return virtualFile.isValid();
+    }
+}
@@ -0,0 +1,132 @@
+package de.espend.idea.shopware.util.dict;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.jetbrains.smarty.SmartyFileType;
+import de.espend.idea.shopware.ShopwareModificationTracker;
+import de.espend.idea.shopware.TemplateInheritanceService;
+import de.espend.idea.shopware.util.SmartyBlockUtil;
+import de.espend.idea.shopware.util.TemplateUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Template inheritance context of a Smarty file, shared by all block elements of the file
+ *
+ * Overrides: blocks this file overwrites; parent chain for "extends" templates, all other templates for includes
+ * Implementations: blocks in templates extending this file
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class SmartyTemplateContext {
+
+    private static final Key<CachedValue<SmartyTemplateContext>> TEMPLATE_CONTEXT = new Key<>("SW_SMARTY_TEMPLATE_CONTEXT");
+
+    private static final int PARENT_DEPTH = 7;
+    private static final int CHILDREN_DEPTH = 10;
+
+    @NotNull
+    private final Project project;
+
+    @Nullable
+    private final GlobalSearchScope overrideScope;
+
+    @Nullable
+    private final GlobalSearchScope implementationScope;
+
+    private final Map<String, Boolean> overrides = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> implementations = new ConcurrentHashMap<>();
+
+    private SmartyTemplateContext(@NotNull PsiFile psiFile) {
+        this.project = psiFile.getProject();
+
+        VirtualFile virtualFile = psiFile.getVirtualFile();
+        if(virtualFile == null) {
+            this.overrideScope = null;
+            this.implementationScope = null;
+            return;
+        }
+
+        TemplateInheritanceService service = TemplateInheritanceService.getInstance(project);
+
+        if(TemplateUtil.isExtendsTemplate(psiFile)) {
+            this.overrideScope = createScope(service.getAncestors(virtualFile, PARENT_DEPTH));
+        } else {
+            this.overrideScope = GlobalSearchScope.getScopeRestrictedByFileTypes(GlobalSearchScope.allScope(project), SmartyFileType.INSTANCE)
+                .intersectWith(GlobalSearchScope.notScope(GlobalSearchScope.fileScope(psiFile)));
+        }
+
+        Set<VirtualFile> children = service.getDescendants(virtualFile, CHILDREN_DEPTH);
+        children.remove(virtualFile);
+        this.implementationScope = createScope(children);
+    }
+
+    /**
+     * Context is valid until the file itself or any other Smarty template changes
+     */
+    @NotNull
+    public static SmartyTemplateContext getContext(@NotNull PsiFile psiFile) {
+        return CachedValuesManager.getCachedValue(psiFile, TEMPLATE_CONTEXT, () -> CachedValueProvider.Result.create(
+            new SmartyTemplateContext(psiFile),
+            psiFile,
+            ShopwareModificationTracker.getTracker(psiFile.getProject(), ShopwareModificationTracker.Kind.SMARTY)
+        ));
+    }
+
+    public boolean hasOverrides(@NotNull String blockName) {
+        return hasBlock(overrides, overrideScope, blockName);
+    }
+
+    public boolean hasImplementations(@NotNull String blockName) {
+        return hasBlock(implementations, implementationScope, blockName);
+    }
+
+    @NotNull
+    public Collection<PsiElement> getOverrideTargets(@NotNull String blockName) {
+        return getTargets(overrideScope, blockName);
+    }
+
+    @NotNull
+    public Collection<PsiElement> getImplementationTargets(@NotNull String blockName) {
+        return getTargets(implementationScope, blockName);
+    }
+
+    private boolean hasBlock(@NotNull Map<String, Boolean> cache, @Nullable GlobalSearchScope scope, @NotNull String blockName) {
+        if(scope == null) {
+            return false;
+        }
+
+        return cache.computeIfAbsent(blockName, s -> SmartyBlockUtil.hasBlock(project, blockName, scope));
+    }
+
+    @NotNull
+    private Collection<PsiElement> getTargets(@Nullable GlobalSearchScope scope, @NotNull String blockName) {
+        if(scope == null) {
+            return Collections.emptyList();
+        }
+
+        return SmartyBlockUtil.getBlockTargets(project, blockName, scope);
+    }
+
+    @Nullable
+    private GlobalSearchScope createScope(@NotNull Set<VirtualFile> virtualFiles) {
+        if(virtualFiles.size() == 0) {
+            return null;
+        }
+
+        return GlobalSearchScope.filesScope(project, virtualFiles);
+    }
+}
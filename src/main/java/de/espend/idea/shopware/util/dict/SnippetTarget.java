@@ -0,0 +1,116 @@
+package de.espend.idea.shopware.util.dict;
+
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.impl.FakePsiElement;
+import de.espend.idea.shopware.index.dict.SnippetLocation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+
+/**
+ * Navigation target of a snippet key line inside an ini file; ini files are plain text so there is no psi element
+ * for the key itself
+ *
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ */
+public class SnippetTarget extends FakePsiElement {
+
+    @NotNull
+    private final PsiFile psiFile;
+
+    @NotNull
+    private final String namespace;
+
+    @NotNull
+    private final String name;
+
+    @NotNull
+    private final SnippetLocation location;
+
+    public SnippetTarget(@NotNull PsiFile psiFile, @NotNull String namespace, @NotNull String name, @NotNull SnippetLocation location) {
+        this.psiFile = psiFile;
+        this.namespace = namespace;
+        this.name = name;
+        this.location = location;
+    }
+
+    @NotNull
+    public String getNamespace() {
+        return namespace;
+    }
+
+    @NotNull
+    public SnippetLocation getLocation() {
+        return location;
+    }
+
+    @Override
+    public PsiElement getParent() {
+        return psiFile;
+    }
+
+    @Override
+    public PsiFile getContainingFile() {
+        return psiFile;
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getPresentableText() {
+        return name;
+    }
+
+    @Nullable
+    @Override
+    public String getLocationString() {
+        return location.getLocale().length() > 0 ? location.getLocale() + " " + psiFile.getName() : psiFile.getName();
+    }
+
+    @Override
+    public Icon getIcon(boolean open) {
+        return psiFile.getFileType().getIcon();
+    }
+
+    @Override
+    public int getTextOffset() {
+        return location.getOffset();
+    }
+
+    @Override
+    public TextRange getTextRange() {
+        return TextRange.from(location.getOffset(), name.length());
+    }
+
+    @Override
+    public void navigate(boolean requestFocus) {
+        VirtualFile virtualFile = psiFile.getVirtualFile();
+        if(virtualFile != null) {
+            new OpenFileDescriptor(getProject(), virtualFile, location.getOffset()).navigate(requestFocus);
+        }
+    }
+
+    @Override
+    public boolean canNavigate() {
+        return psiFile.getVirtualFile() != null;
+    }
+
+    @Override
+    public boolean canNavigateToSource() {
+        return canNavigate();
+    }
+
+    @Override
+    public boolean isValid() {
+        return psiFile.isValid();
+    }
+}
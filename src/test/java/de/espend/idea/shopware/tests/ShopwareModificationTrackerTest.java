@@ -0,0 +1,146 @@
+package de.espend.idea.shopware.tests;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.psi.PsiDocumentManager;
+import com.jetbrains.php.lang.PhpFileType;
+import com.jetbrains.smarty.SmartyFileType;
+import de.espend.idea.shopware.ShopwareModificationTracker;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ * @see de.espend.idea.shopware.ShopwareModificationTracker
+ */
+public class ShopwareModificationTrackerTest extends ShopwareLightCodeInsightFixtureTestCase {
+
+    public void testThatChangesInsideUnrelatedMethodBodyDoNotInvalidateSubscriberOrHooks() {
+        myFixture.configureByText(PhpFileType.INSTANCE, "<?php\nclass Foo { public function bar() { $a = 'f<caret>'; } }");
+
+        ModificationTracker subscriber = ShopwareModificationTracker.getTracker(getProject(), ShopwareModificationTracker.Kind.SUBSCRIBER);
+        ModificationTracker hook = ShopwareModificationTracker.getTracker(getProject(), ShopwareModificationTracker.Kind.HOOK);
+
+        type("o");
+
+        long subscriberCount = subscriber.getModificationCount();
+        long hookCount = hook.getModificationCount();
+
+        type("o");
+
+        assertEquals(subscriberCount, subscriber.getModificationCount());
+        assertEquals(hookCount, hook.getModificationCount());
+    }
+
+    public void testThatChangesInsideSubscriberInvalidateSubscriberTracker() {
+        myFixture.configureByText(PhpFileType.INSTANCE, "<?php\nclass Foo { public static function getSubscribedEvents() { return ['f<caret>']; } }");
+
+        ModificationTracker subscriber = ShopwareModificationTracker.getTracker(getProject(), ShopwareModificationTracker.Kind.SUBSCRIBER);
+
+        type("o");
+        long subscriberCount = subscriber.getModificationCount();
+
+        type("o");
+
+        assertTrue(subscriberCount < subscriber.getModificationCount());
+    }
+
+    public void testThatNewMethodInvalidatesHookTracker() {
+        myFixture.configureByText(PhpFileType.INSTANCE, "<?php\nclass Foo { <caret> }");
+
+        ModificationTracker hook = ShopwareModificationTracker.getTracker(getProject(), ShopwareModificationTracker.Kind.HOOK);
+
+        type(" ");
+        long hookCount = hook.getModificationCount();
+
+        type("public function bar() {}");
+
+        assertTrue(hookCount < hook.getModificationCount());
+    }
+
+    public void testThatTextInsideSmartyBlockDoesNotInvalidateSmartyTracker() {
+        myFixture.configureByText(SmartyFileType.INSTANCE, "{block name=\"foo\"}f<caret>{/block}");
+
+        ModificationTracker smarty = ShopwareModificationTracker.getTracker(getProject(), ShopwareModificationTracker.Kind.SMARTY);
+
+        type("o");
+        long smartyCount = smarty.getModificationCount();
+
+        type("o");
+
+        assertEquals(smartyCount, smarty.getModificationCount());
+    }
+
+    public void testThatNewSmartyBlockInvalidatesSmartyTracker() {
+        myFixture.configureByText(SmartyFileType.INSTANCE, "{block name=\"foo\"}{/block}<caret>");
+
+        ModificationTracker smarty = ShopwareModificationTracker.getTracker(getProject(), ShopwareModificationTracker.Kind.SMARTY);
+
+        type(" ");
+        long smartyCount = smarty.getModificationCount();
+
+        type("{block name=\"bar\"}{/block}");
+
+        assertTrue(smartyCount < smarty.getModificationCount());
+    }
+
+    public void testThatOnlyChangedBlockNamesInvalidateSmartyBlockTracker() {
+        myFixture.configureByText(SmartyFileType.INSTANCE, "{block name=\"foo\"}{/block}{include file=\"foo<caret>\"}");
+
+        ModificationTracker block = ShopwareModificationTracker.getTracker(getProject(), ShopwareModificationTracker.Kind.SMARTY_BLOCK);
+
+        type("b");
+        long blockCount = block.getModificationCount();
+
+        type("ar");
+        assertEquals(blockCount, block.getModificationCount());
+
+        myFixture.getEditor().getCaretModel().moveToOffset(0);
+        type("{block name=\"bar\"}{/block}");
+        assertTrue(blockCount < block.getModificationCount());
+    }
+
+    public void testThatMethodBodyOfSubscriberDoesNotInvalidateSubscriberTracker() {
+        myFixture.configureByText(PhpFileType.INSTANCE, "<?php\n" +
+            "class Foo {\n" +
+            "  public static function getSubscribedEvents() { return ['foo' => 'onFoo']; }\n" +
+            "  public function onFoo() { $a = 'f<caret>'; }\n" +
+            "}"
+        );
+
+        ModificationTracker subscriber = ShopwareModificationTracker.getTracker(getProject(), ShopwareModificationTracker.Kind.SUBSCRIBER);
+
+        type("o");
+        long subscriberCount = subscriber.getModificationCount();
+
+        type("o");
+        type("o");
+
+        assertEquals(subscriberCount, subscriber.getModificationCount());
+    }
+
+    public void testThatControllerTrackerOnlyChangesWithActions() {
+        myFixture.configureByText(PhpFileType.INSTANCE, "<?php\n" +
+            "class Shopware_Controllers_Frontend_Foo {\n" +
+            "  public function indexAction() { $a = 'f<caret>'; }\n" +
+            "}"
+        );
+
+        ModificationTracker controller = ShopwareModificationTracker.getTracker(getProject(), ShopwareModificationTracker.Kind.CONTROLLER);
+
+        type("o");
+        long controllerCount = controller.getModificationCount();
+
+        type("o");
+        assertEquals(controllerCount, controller.getModificationCount());
+
+        myFixture.getEditor().getCaretModel().moveToOffset(myFixture.getEditor().getDocument().getTextLength() - 1);
+        type("public function barAction() {}");
+        assertTrue(controllerCount < controller.getModificationCount());
+    }
+
+    private void type(String text) {
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            myFixture.getEditor().getDocument().insertString(myFixture.getCaretOffset(), text);
+            PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+        });
+    }
+}
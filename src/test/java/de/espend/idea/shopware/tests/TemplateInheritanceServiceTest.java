@@ -0,0 +1,59 @@
+package de.espend.idea.shopware.tests;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import de.espend.idea.shopware.TemplateInheritanceService;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ * @see de.espend.idea.shopware.TemplateInheritanceService
+ */
+public class TemplateInheritanceServiceTest extends ShopwareLightCodeInsightFixtureTestCase {
+
+    private VirtualFile index;
+    private VirtualFile detail;
+    private VirtualFile plugin;
+
+    public void setUp() throws Exception {
+        super.setUp();
+
+        myFixture.addFileToProject("engine/Shopware/Plugins/Local/Frontend/SwagFoo/Bootstrap.php", "<?php");
+
+        index = myFixture.addFileToProject("templates/_default/frontend/index/index.tpl", "{block name='frontend_index'}{/block}").getVirtualFile();
+        detail = myFixture.addFileToProject("templates/_default/frontend/detail/index.tpl", "{extends file='parent:frontend/index/index.tpl'}").getVirtualFile();
+        plugin = myFixture.addFileToProject("engine/Shopware/Plugins/Local/Frontend/SwagFoo/Views/frontend/detail/index.tpl", "{extends file='parent:frontend/detail/index.tpl'}").getVirtualFile();
+    }
+
+    public void testParentsAndChildren() {
+        TemplateInheritanceService service = TemplateInheritanceService.getInstance(getProject());
+
+        assertContainsElements(service.getParents(detail), index);
+        assertContainsElements(service.getChildren(index), detail);
+    }
+
+    public void testAncestorsAndDescendantsFollowSameTemplateNameWithoutSelf() {
+        TemplateInheritanceService service = TemplateInheritanceService.getInstance(getProject());
+
+        assertContainsElements(service.getAncestors(plugin, 5), detail, index);
+        assertDoesntContain(service.getAncestors(plugin, 5), plugin);
+
+        assertContainsElements(service.getDescendants(index, 5), detail, plugin);
+        assertSize(1, service.getDescendants(index, 1));
+    }
+
+    public void testThatChangedFileIsUpdated() {
+        TemplateInheritanceService service = TemplateInheritanceService.getInstance(getProject());
+        assertContainsElements(service.getParents(detail), index);
+
+        PsiFile psiFile = myFixture.getPsiManager().findFile(detail);
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            PsiDocumentManager.getInstance(getProject()).getDocument(psiFile).setText("{block name='frontend_index'}{/block}");
+            PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+        });
+
+        assertEmpty(service.getParents(detail));
+        assertDoesntContain(service.getChildren(index), detail);
+    }
+}
@@ -31,4 +31,15 @@ public class SmartyFileCompletionProviderTest extends ShopwareLightCodeInsightFi
             "foobar/widgets"
         );
     }
+
+    public void testCompletionForWeakBlockNamesOfIncludedTemplates() {
+        myFixture.addFileToProject("templates/_default/frontend/index/index.tpl", "{block name='frontend_index_content'}{/block}");
+        myFixture.addFileToProject("templates/_default/frontend/detail/index.tpl", "{block name='frontend_index_content'}{/block}");
+
+        assertCompletionContains(
+            SmartyFileType.INSTANCE,
+            "{block name='<caret>'}{/block}",
+            "frontend_index_content"
+        );
+    }
 }
@@ -0,0 +1,96 @@
+package de.espend.idea.shopware.tests.index;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.jetbrains.php.lang.PhpFileType;
+import de.espend.idea.shopware.index.ControllerActionIndex;
+import de.espend.idea.shopware.index.dict.ControllerDefinition;
+import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
+import de.espend.idea.shopware.util.ShopwareUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ * @see de.espend.idea.shopware.index.ControllerActionIndex
+ */
+public class ControllerActionIndexTest extends ShopwareLightCodeInsightFixtureTestCase {
+
+    private PsiFile psiFile;
+
+    public void setUp() throws Exception {
+        super.setUp();
+
+        psiFile = myFixture.configureByText(PhpFileType.INSTANCE, "<?php\n" +
+            "class Enlight_Controller_Action {}\n" +
+            "class Shopware_Controllers_Backend_Application extends Enlight_Controller_Action {\n" +
+            "  public function listAction() {}\n" +
+            "  public function detailAction() {}\n" +
+            "}\n" +
+            "class Shopware_Controllers_Backend_Foo extends Shopware_Controllers_Backend_Application {\n" +
+            "  public function detailAction() {}\n" +
+            "  protected function hiddenAction() {}\n" +
+            "  public function helper() {}\n" +
+            "}\n" +
+            "class Shopware_Plugins_Frontend_Foo_Bootstrap {}\n"
+        );
+    }
+
+    public void testThatControllerClassAndActionsAreIndexed() {
+        assertIndexContains(ControllerActionIndex.KEY, "backend/foo", "backend/application");
+        assertIndexNotContains(ControllerActionIndex.KEY, "frontend/foo_bootstrap");
+
+        ControllerDefinition definition = FileBasedIndex.getInstance().getValues(
+            ControllerActionIndex.KEY, "backend/foo", GlobalSearchScope.fileScope(psiFile)
+        ).get(0);
+
+        assertEquals("Backend", definition.getModule());
+        assertEquals("Foo", definition.getController());
+        assertEquals("\\Shopware_Controllers_Backend_Application", definition.getSuperClass());
+        assertContainsElements(definition.getActions().keySet(), "detailAction");
+        assertDoesntContain(definition.getActions().keySet(), "hiddenAction", "helper");
+        assertEquals(psiFile.getText().indexOf("detailAction() {}\n  protected"), (int) definition.getActions().get("detailAction"));
+    }
+
+    public void testThatActionsAreCollectedWithInheritedOnes() {
+        List<String> actions = new ArrayList<>();
+        ShopwareUtil.collectControllerAction(getProject(), "Foo", (method, methodStripped, moduleName, controllerName) ->
+            actions.add(method.getContainingClass().getName() + "::" + methodStripped), "Backend"
+        );
+
+        assertContainsElements(actions, "Shopware_Controllers_Backend_Foo::detail", "Shopware_Controllers_Backend_Application::list");
+        assertDoesntContain(actions, "Shopware_Controllers_Backend_Application::detail");
+    }
+
+    public void testThatActionsOfTraitsAndNonControllerBaseClassesAreCollected() {
+        myFixture.addFileToProject("Bar.php", "<?php\n" +
+            "trait SwagBarTrait { public function traitAction() {} }\n" +
+            "abstract class SwagBarBaseController extends Enlight_Controller_Action {\n" +
+            "  use SwagBarTrait;\n" +
+            "  public function baseAction() {}\n" +
+            "}\n" +
+            "class Shopware_Controllers_Frontend_Bar extends SwagBarBaseController {}\n"
+        );
+
+        List<String> actions = new ArrayList<>();
+        ShopwareUtil.collectControllerAction(getProject(), "Bar", (method, methodStripped, moduleName, controllerName) ->
+            actions.add(method.getContainingClass().getName() + "::" + methodStripped), "Frontend"
+        );
+
+        assertContainsElements(actions, "SwagBarBaseController::base", "SwagBarTrait::trait");
+    }
+
+    public void testThatControllerClassesAreFilteredByModule() {
+        List<String> controllers = new ArrayList<>();
+        ShopwareUtil.collectControllerClass(getProject(), (phpClass, moduleName, controllerName) -> controllers.add(moduleName + ":" + controllerName), "backend");
+
+        assertContainsElements(controllers, "Backend:Foo", "Backend:Application");
+
+        controllers.clear();
+        ShopwareUtil.collectControllerClass(getProject(), (phpClass, moduleName, controllerName) -> controllers.add(moduleName + ":" + controllerName), "Frontend");
+
+        assertEmpty(controllers);
+    }
+}
@@ -0,0 +1,73 @@
+package de.espend.idea.shopware.tests.index;
+
+import com.intellij.psi.PsiElement;
+import com.jetbrains.php.lang.psi.elements.Method;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import de.espend.idea.shopware.index.ControllerViewVariableIndex;
+import de.espend.idea.shopware.index.utils.ControllerViewVariableIndexUtil;
+import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
+import fr.adrienbrault.idea.symfony2plugin.util.PhpElementsUtil;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ * @see de.espend.idea.shopware.index.ControllerViewVariableIndex
+ */
+public class ControllerViewVariableIndexTest extends ShopwareLightCodeInsightFixtureTestCase {
+
+    public void setUp() throws Exception {
+        super.setUp();
+
+        myFixture.addFileToProject("Controllers/Frontend/Account.php", "<?php\n" +
+            "class Shopware_Controllers_Frontend_Account\n" +
+            "{\n" +
+            "  public function indexAction() {\n" +
+            "    $this->View()->sUser = 'foo';\n" +
+            "    $this->View()->assign('sTarget', 'bar');\n" +
+            "    $this->View()->assign(['sErrors' => []]);\n" +
+            "    $view = $this->View();\n" +
+            "    $view->sBasket = 'foo';\n" +
+            "  }\n" +
+            "}\n"
+        );
+
+        myFixture.addFileToProject("Subscriber/Account.php", "<?php\n" +
+            "class AccountSubscriber implements \\Enlight\\Event\\SubscriberInterface\n" +
+            "{\n" +
+            "  public static function getSubscribedEvents() {\n" +
+            "    return ['Enlight_Controller_Action_PostDispatchSecure_Frontend_Account' => 'onAccount'];\n" +
+            "  }\n" +
+            "  public function onAccount(\\Enlight_Controller_ActionEventArgs $args) {\n" +
+            "    $args->getSubject()->View()->assign('sSubscriber', 'foo');\n" +
+            "  }\n" +
+            "  public function onOther(\\Enlight_Controller_ActionEventArgs $args) {\n" +
+            "    $args->getSubject()->View()->assign('sOther', 'foo');\n" +
+            "  }\n" +
+            "}\n"
+        );
+    }
+
+    public void testThatActionAndSubscriberVariablesAreIndexed() {
+        assertIndexContains(ControllerViewVariableIndex.KEY,
+            "frontend/account/index",
+            "enlight_controller_action_postdispatchsecure_frontend_account"
+        );
+    }
+
+    public void testThatVariablesAreMergedForAction() {
+        PhpClass phpClass = PhpElementsUtil.getClass(getProject(), "Shopware_Controllers_Frontend_Account");
+        Method method = phpClass.findOwnMethodByName("indexAction");
+
+        Map<String, PsiElement> variables = new HashMap<>();
+        ControllerViewVariableIndexUtil.visitViewVariables(method, (virtualFile, variable) ->
+            variables.put(variable.getName(), ControllerViewVariableIndexUtil.getTarget(getProject(), virtualFile, variable))
+        );
+
+        assertContainsElements(variables.keySet(), "sUser", "sTarget", "sErrors", "sBasket", "sSubscriber");
+        assertFalse(variables.containsKey("sOther"));
+
+        assertEquals("'bar'", variables.get("sTarget").getText());
+    }
+}
@@ -0,0 +1,53 @@
+package de.espend.idea.shopware.tests.index;
+
+import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import de.espend.idea.shopware.index.EventEmitterIndex;
+import de.espend.idea.shopware.index.dict.EventEmitter;
+import de.espend.idea.shopware.index.utils.EventEmitterIndexUtil;
+import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
+import de.espend.idea.shopware.util.ShopwareUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ * @see de.espend.idea.shopware.index.EventEmitterIndex
+ */
+public class EventEmitterIndexTest extends ShopwareLightCodeInsightFixtureTestCase {
+    public void setUp() throws Exception {
+        super.setUp();
+        myFixture.copyFileToProject("events.php");
+    }
+
+    public String getTestDataPath() {
+        return "src/test/java/de/espend/idea/shopware/tests/index/fixtures";
+    }
+
+    public void testThatNotifyEventsAreIndexedWithEmitter() {
+        assertIndexContains(EventEmitterIndex.KEY, "Shopware_Modules_Basket_GetBasket_Start", "Shopware_Modules_Basket_GetBasket_FilterSQL");
+
+        assertIndexContainsKeyWithValue(EventEmitterIndex.KEY, "Shopware_Modules_Basket_GetBasket_Start", value ->
+            value.stream().anyMatch(emitter -> emitter.getKind() == EventEmitter.Kind.EVENT && "sBasket.sGetBasket".equals(emitter.getSignature()) && emitter.getOffset() > 0)
+        );
+    }
+
+    public void testThatConfigElementsAreIndexed() {
+        assertIndexContainsKeyWithValue(EventEmitterIndex.KEY, "foo_config", value ->
+            value.stream().anyMatch(emitter -> emitter.getKind() == EventEmitter.Kind.CONFIG)
+        );
+    }
+
+    public void testThatEmitterOffsetsResolveToEventLiteral() {
+        List<StringLiteralExpression> targets = new ArrayList<>();
+
+        EventEmitterIndexUtil.visitEmitters(getProject(), EventEmitter.Kind.EVENT, (name, virtualFile, emitter) -> {
+            if("Shopware_Modules_Basket_GetBasket_Start".equals(name)) {
+                targets.add(ShopwareUtil.getStringLiteralAtOffset(getProject(), virtualFile, emitter.getOffset(), name));
+            }
+        });
+
+        assertSize(1, targets);
+        assertEquals("Shopware_Modules_Basket_GetBasket_Start", targets.get(0).getContents());
+    }
+}
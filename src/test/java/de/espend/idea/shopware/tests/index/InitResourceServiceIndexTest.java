@@ -3,9 +3,17 @@ package de.espend.idea.shopware.tests.index;
 import com.intellij.util.containers.ContainerUtil;
 import de.espend.idea.shopware.index.dict.BootstrapResource;
 import de.espend.idea.shopware.index.dict.ServiceResource;
+import de.espend.idea.shopware.index.externalizer.ServiceResourceExternalizer;
 import de.espend.idea.shopware.index.utils.SubscriberIndexUtil;
 import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * @author Daniel Espendiller <daniel@espendiller.net>
  * @see de.espend.idea.shopware.index.InitResourceServiceIndex
@@ -49,4 +57,28 @@ public class InitResourceServiceIndexTest extends ShopwareLightCodeInsightFixtur
             value.getServiceName().equals("foobar_register_resource")
         ));
     }
+
+    public void testThatExternalizerRestoresSharedAndNullStrings() throws Exception {
+        List<ServiceResource> resources = Arrays.asList(
+            new ServiceResource("Enlight_Bootstrap_InitResource_foobar", BootstrapResource.INIT_RESOURCE, "foobar").setSignature("MySubscriber.foobar"),
+            new ServiceResource("Enlight_Bootstrap_InitResource_foobar", BootstrapResource.AFTER_INIT_RESOURCE, "foobar").setSignature("MySubscriber.foobar"),
+            new ServiceResource("Enlight_Bootstrap_InitResource_foobar", (BootstrapResource) null, "foobar")
+        );
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ServiceResourceExternalizer.INSTANCE.save(new DataOutputStream(bytes), resources);
+
+        List<ServiceResource> read = ServiceResourceExternalizer.INSTANCE.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertSize(3, read);
+        for (int i = 0; i < resources.size(); i++) {
+            assertEquals(resources.get(i).getEvent(), read.get(i).getEvent());
+            assertEquals(resources.get(i).getSubscriber(), read.get(i).getSubscriber());
+            assertEquals(resources.get(i).getServiceName(), read.get(i).getServiceName());
+            assertEquals(resources.get(i).getSignature(), read.get(i).getSignature());
+        }
+
+        assertNull(read.get(2).getSignature());
+        assertNull(read.get(2).getSubscriber());
+    }
 }
@@ -0,0 +1,63 @@
+package de.espend.idea.shopware.tests.index;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.xml.XmlTag;
+import de.espend.idea.shopware.index.PluginConfigIndex;
+import de.espend.idea.shopware.index.dict.PluginConfigElement;
+import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
+import de.espend.idea.shopware.util.ConfigUtil;
+
+import java.util.Collection;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ * @see de.espend.idea.shopware.index.PluginConfigIndex
+ */
+public class PluginConfigIndexTest extends ShopwareLightCodeInsightFixtureTestCase {
+
+    public void setUp() throws Exception {
+        super.setUp();
+        myFixture.addFileToProject("SwagFoo/Resources/config.xml", "<?xml version=\"1.0\" encoding=\"utf-8\"?>\n" +
+            "<config>\n" +
+            "    <elements>\n" +
+            "        <element required=\"true\" type=\"text\"><name>foobar</name></element>\n" +
+            "        <element><name>foobar_untyped</name></element>\n" +
+            "    </elements>\n" +
+            "</config>\n"
+        );
+
+        myFixture.addFileToProject("SwagFoo/config.xml", "<config><elements><element><name>outside</name></element></elements></config>");
+
+        myFixture.addFileToProject("SwagFoo/SwagFoo.php", "<?php\n" +
+            "namespace SwagFoo;\n" +
+            "class SwagFoo extends \\Shopware\\Components\\Plugin {}\n"
+        );
+
+        // no plugin class next to it
+        myFixture.addFileToProject("vendor/SwagFoo/Resources/config.xml", "<config><elements><element><name>vendor</name></element></elements></config>");
+    }
+
+    public void testThatConfigElementsAreIndexedByLowercaseNamespace() {
+        assertIndexContains(PluginConfigIndex.KEY, "swagfoo");
+
+        Collection<PluginConfigElement> elements = ConfigUtil.getNamespaceConfigurations(getProject(), "SwagFoo");
+        assertSize(2, elements);
+
+        assertTrue(elements.stream().anyMatch(element -> "foobar".equals(element.getName()) && "text".equals(element.getType()) && element.isRequired()));
+        assertTrue(elements.stream().anyMatch(element -> "foobar_untyped".equals(element.getName()) && element.getType() == null && !element.isRequired()));
+    }
+
+    public void testThatTargetsResolveToNameTag() {
+        Collection<PsiElement> targets = ConfigUtil.getNamespaceConfigurationTargets(getProject(), "swagFoo", "foobar");
+        assertSize(1, targets);
+
+        PsiElement target = targets.iterator().next();
+        assertTrue(target instanceof XmlTag);
+        assertEquals("foobar", ((XmlTag) target).getValue().getText());
+    }
+
+    public void testThatConfigWithoutPluginClassIsIgnored() {
+        assertFalse(ConfigUtil.getNamespaceConfigurations(getProject(), "SwagFoo").stream().anyMatch(element -> "vendor".equals(element.getName())));
+        assertSize(0, ConfigUtil.getNamespaceConfigurationTargets(getProject(), "SwagFoo", "vendor"));
+    }
+}
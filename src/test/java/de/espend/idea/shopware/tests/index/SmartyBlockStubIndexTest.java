@@ -0,0 +1,64 @@
+package de.espend.idea.shopware.tests.index;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.jetbrains.smarty.SmartyFileType;
+import de.espend.idea.shopware.index.SmartyBlockStubIndex;
+import de.espend.idea.shopware.index.dict.SmartyBlockDefinition;
+import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
+import de.espend.idea.shopware.util.SmartyBlockUtil;
+import de.espend.idea.shopware.util.dict.SmartyBlockTarget;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ * @see de.espend.idea.shopware.index.SmartyBlockStubIndex
+ */
+public class SmartyBlockStubIndexTest extends ShopwareLightCodeInsightFixtureTestCase {
+
+    public void testThatBlockOffsetAndParentIsIndexed() {
+        PsiFile psiFile = myFixture.configureByText(
+            SmartyFileType.INSTANCE,
+            "{block name='frontend_index'}{block name=\"frontend_index_content\"}{/block}{/block}"
+        );
+
+        assertIndexContains(SmartyBlockStubIndex.KEY, "frontend_index", "frontend_index_content");
+
+        List<List<SmartyBlockDefinition>> values = FileBasedIndex.getInstance().getValues(
+            SmartyBlockStubIndex.KEY, "frontend_index_content", GlobalSearchScope.fileScope(psiFile)
+        );
+
+        SmartyBlockDefinition definition = values.get(0).get(0);
+
+        assertEquals("frontend_index", definition.getParent());
+        assertEquals(psiFile.getText().indexOf("frontend_index_content"), definition.getOffset());
+
+        SmartyBlockDefinition root = FileBasedIndex.getInstance().getValues(
+            SmartyBlockStubIndex.KEY, "frontend_index", GlobalSearchScope.fileScope(psiFile)
+        ).get(0).get(0);
+
+        assertEquals("", root.getParent());
+    }
+
+    public void testThatBlockTargetsResolveTheBlockNameOnlyOnDemand() {
+        PsiFile psiFile = myFixture.configureByText(
+            SmartyFileType.INSTANCE,
+            "{block name='frontend_index'}{/block}"
+        );
+
+        Collection<PsiElement> targets = SmartyBlockUtil.getBlockTargets(getProject(), "frontend_index", GlobalSearchScope.fileScope(psiFile));
+        assertSize(1, targets);
+
+        SmartyBlockTarget target = (SmartyBlockTarget) targets.iterator().next();
+        assertEquals(psiFile.getVirtualFile(), target.getVirtualFile());
+        assertEquals(psiFile.getText().indexOf("frontend_index"), target.getTextOffset());
+
+        PsiElement element = target.getElement();
+        assertNotNull(element);
+        assertEquals("frontend_index", element.getText());
+    }
+}
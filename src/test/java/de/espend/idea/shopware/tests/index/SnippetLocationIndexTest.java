@@ -0,0 +1,55 @@
+package de.espend.idea.shopware.tests.index;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import de.espend.idea.shopware.index.SnippetLocationIndex;
+import de.espend.idea.shopware.index.dict.SnippetLocation;
+import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
+import de.espend.idea.shopware.util.SnippetUtil;
+import de.espend.idea.shopware.util.dict.SnippetTarget;
+
+import java.util.Collection;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ * @see de.espend.idea.shopware.index.SnippetLocationIndex
+ */
+public class SnippetLocationIndexTest extends ShopwareLightCodeInsightFixtureTestCase {
+
+    private PsiFile psiFile;
+
+    public void setUp() throws Exception {
+        super.setUp();
+        psiFile = myFixture.addFileToProject("snippets/frontend/foobar/widgets.ini", "" +
+            "; comment = foo\n" +
+            "[en_GB]\n" +
+            "  swag-last-registrations/customer = \"Customer\"\n" +
+            "\n" +
+            "[de_DE]\n" +
+            "swag-last-registrations/customer = 'Kunde'\n"
+        );
+    }
+
+    public void testThatKeyIsIndexedWithLocaleAndValue() {
+        assertIndexContains(SnippetLocationIndex.KEY, "frontend/foobar/widgets/swag-last-registrations/customer");
+        assertIndexNotContains(SnippetLocationIndex.KEY, "frontend/foobar/widgets/; comment");
+
+        Collection<SnippetLocation> locations = SnippetUtil.getSnippetLocations(getProject(), "frontend/foobar/widgets", "swag-last-registrations/customer");
+
+        assertContainsElements(locations,
+            new SnippetLocation(psiFile.getText().indexOf("swag-last-registrations/customer"), "en_GB", "Customer"),
+            new SnippetLocation(psiFile.getText().lastIndexOf("swag-last-registrations/customer"), "de_DE", "Kunde")
+        );
+    }
+
+    public void testThatTargetsPointToKeyLine() {
+        Collection<PsiElement> targets = SnippetUtil.getSnippetNameTargets(getProject(), "frontend/foobar/widgets", "swag-last-registrations/customer");
+        assertSize(2, targets);
+
+        for (PsiElement target : targets) {
+            assertTrue(target instanceof SnippetTarget);
+            assertEquals(psiFile, ((SnippetTarget) target).getContainingFile());
+            assertTrue(psiFile.getText().startsWith("swag-last-registrations/customer", ((SnippetTarget) target).getTextOffset()));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package de.espend.idea.shopware.tests.index;
+
+import com.intellij.psi.PsiElement;
+import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import de.espend.idea.shopware.index.SubscribedEventIndex;
+import de.espend.idea.shopware.index.utils.SubscribedEventIndexUtil;
+import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
+
+import java.util.Collection;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ * @see de.espend.idea.shopware.index.SubscribedEventIndex
+ */
+public class SubscribedEventIndexTest extends ShopwareLightCodeInsightFixtureTestCase {
+
+    public void setUp() throws Exception {
+        super.setUp();
+        myFixture.addFileToProject("Bootstrap.php", "<?php\n" +
+            "class Shopware_Plugins_Frontend_Foo_Bootstrap extends Shopware_Components_Plugin_Bootstrap {\n" +
+            "   public function install() {\n" +
+            "       $this->subscribeEvent('Enlight_Foo_Subscribe', 'onFoo');\n" +
+            "       $this->createEvent('Enlight_Foo_Create', 'onCreate');\n" +
+            "   }\n" +
+            "   public function update() {\n" +
+            "       $this->subscribeEvent('Enlight_Foo_Update', 'onFoo');\n" +
+            "   }\n" +
+            "   public function foo() {\n" +
+            "       $this->subscribeEvent('Enlight_Foo_Other', 'onFoo');\n" +
+            "   }\n" +
+            "}\n"
+        );
+    }
+
+    public void testThatBootstrapInstallAndUpdateSubscriptionsAreIndexed() {
+        assertIndexContains(SubscribedEventIndex.KEY, "Enlight_Foo_Subscribe", "Enlight_Foo_Create", "Enlight_Foo_Update");
+        assertIndexNotContains(SubscribedEventIndex.KEY, "Enlight_Foo_Other");
+
+        assertContainsElements(SubscribedEventIndexUtil.getEventNames(getProject()), "Enlight_Foo_Subscribe", "Enlight_Foo_Create");
+    }
+
+    public void testThatTargetsAreResolvedByOffset() {
+        Collection<PsiElement> targets = SubscribedEventIndexUtil.getEventTargets(getProject(), "Enlight_Foo_Create");
+        assertSize(1, targets);
+
+        PsiElement target = targets.iterator().next();
+        assertTrue(target instanceof StringLiteralExpression);
+        assertEquals("Enlight_Foo_Create", ((StringLiteralExpression) target).getContents());
+    }
+}
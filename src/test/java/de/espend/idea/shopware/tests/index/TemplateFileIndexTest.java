@@ -0,0 +1,49 @@
+package de.espend.idea.shopware.tests.index;
+
+import de.espend.idea.shopware.index.TemplateFileIndex;
+import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ * @see de.espend.idea.shopware.index.TemplateFileIndex
+ */
+public class TemplateFileIndexTest extends ShopwareLightCodeInsightFixtureTestCase {
+    public void setUp() throws Exception {
+        super.setUp();
+
+        myFixture.copyFileToProject("snippets.tpl", "templates/_default/frontend/detail/index.tpl");
+
+        myFixture.addFileToProject("themes/Frontend/Bare/Theme.php", "<?php");
+        myFixture.copyFileToProject("snippets.tpl", "themes/Frontend/Bare/frontend/listing/index.tpl");
+        myFixture.copyFileToProject("javascript.js", "themes/Frontend/Bare/frontend/_public/src/js/jquery.foo.js");
+
+        myFixture.addFileToProject("engine/Shopware/Plugins/Local/Frontend/SwagFoo/Bootstrap.php", "<?php");
+        myFixture.copyFileToProject("snippets.tpl", "engine/Shopware/Plugins/Local/Frontend/SwagFoo/Views/frontend/swag_foo/index.tpl");
+
+        myFixture.addFileToProject("custom/plugins/SwagBar/SwagBar.php", "<?php");
+        myFixture.copyFileToProject("snippets.tpl", "custom/plugins/SwagBar/Resources/views/frontend/swag_bar/index.tpl");
+
+        // no "Theme.php" yet; names are path based
+        myFixture.copyFileToProject("snippets.tpl", "themes/Frontend/Foobar/frontend/foobar/index.tpl");
+    }
+
+    public String getTestDataPath() {
+        return "src/test/java/de/espend/idea/shopware/tests/index/fixtures";
+    }
+
+    public void testThatTemplateFolderIsIndexed() {
+        assertIndexContains(TemplateFileIndex.KEY, "frontend/detail/index.tpl");
+    }
+
+    public void testThatThemeFilesAreIndexed() {
+        assertIndexContains(TemplateFileIndex.KEY, "frontend/listing/index.tpl", "frontend/_public/src/js/jquery.foo.js");
+    }
+
+    public void testThatPluginViewsAreIndexed() {
+        assertIndexContains(TemplateFileIndex.KEY, "frontend/swag_foo/index.tpl", "frontend/swag_bar/index.tpl");
+    }
+
+    public void testThatThemeFilesAreIndexedByPathOnly() {
+        assertIndexContains(TemplateFileIndex.KEY, "frontend/foobar/index.tpl");
+    }
+}
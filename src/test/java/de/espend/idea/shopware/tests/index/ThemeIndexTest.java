@@ -0,0 +1,67 @@
+package de.espend.idea.shopware.tests.index;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import de.espend.idea.shopware.index.ThemeAssetIndex;
+import de.espend.idea.shopware.index.ThemeIndex;
+import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
+import de.espend.idea.shopware.util.ThemeUtil;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ * @see de.espend.idea.shopware.index.ThemeIndex
+ * @see de.espend.idea.shopware.index.ThemeAssetIndex
+ */
+public class ThemeIndexTest extends ShopwareLightCodeInsightFixtureTestCase {
+
+    private VirtualFile theme;
+
+    public void setUp() throws Exception {
+        super.setUp();
+
+        theme = myFixture.addFileToProject("Themes/Frontend/Responsive/Theme.php", "<?php\n" +
+            "namespace Shopware\\Themes\\Responsive;\n" +
+            "class Theme extends \\Shopware\\Components\\Theme {\n" +
+            "   protected $extend = 'Bare';\n" +
+            "}\n"
+        ).getVirtualFile();
+
+        myFixture.addFileToProject("Themes/Frontend/Responsive/frontend/_public/src/js/jquery.foo.js", "");
+        myFixture.addFileToProject("Themes/Frontend/Responsive/frontend/_public/src/less/all.less", "");
+        myFixture.addFileToProject("Foo/Responsive/frontend/_public/src/js/jquery.other.js", "");
+    }
+
+    public void testThatThemeIsIndexedWithExtend() {
+        assertIndexContains(ThemeIndex.KEY, "Responsive");
+        assertEquals("Bare", ThemeUtil.getThemes(getProject()).get("Responsive"));
+        assertContainsElements(ThemeUtil.getThemeDirectories(getProject(), "Responsive"), theme.getParent());
+    }
+
+    public void testThatAssetsOfThemeFolderAreVisited() {
+        assertIndexContains(ThemeAssetIndex.KEY, "Responsive");
+
+        Map<String, VirtualFile> assets = new HashMap<>();
+        ThemeUtil.visitThemeAssets(getProject(), theme.getParent(), "js", (virtualFile, path) -> {
+            assets.put(path, virtualFile);
+            return true;
+        });
+
+        assertSize(1, assets.keySet());
+        assertTrue(assets.containsKey("src/js/jquery.foo.js"));
+    }
+
+    public void testThatAssetsOfFolderWithoutThemeAreNotVisited() {
+        VirtualFile asset = myFixture.addFileToProject("Themes/Frontend/NoTheme/frontend/_public/src/js/jquery.foo.js", "").getVirtualFile();
+        assertIndexContains(ThemeAssetIndex.KEY, "NoTheme");
+
+        Map<String, VirtualFile> assets = new HashMap<>();
+        ThemeUtil.visitThemeAssets(getProject(), asset.getParent().getParent().getParent().getParent().getParent(), "js", (virtualFile, path) -> {
+            assets.put(path, virtualFile);
+            return true;
+        });
+
+        assertEmpty(assets.keySet());
+    }
+}
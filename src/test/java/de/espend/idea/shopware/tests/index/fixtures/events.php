@@ -0,0 +1,30 @@
+<?php
+
+class Enlight_Event_EventManager
+{
+    public function notify($event, $eventArgs = null) {}
+    public function filter($event, $value, $eventArgs = null) {}
+}
+
+class sBasket
+{
+    /**
+     * @var Enlight_Event_EventManager
+     */
+    private $eventManager;
+
+    public function sGetBasket()
+    {
+        $this->eventManager->notify('Shopware_Modules_Basket_GetBasket_Start', ['subject' => $this]);
+        $this->eventManager->filter('Shopware_Modules_Basket_GetBasket_FilterSQL', '', ['subject' => $this]);
+    }
+}
+
+class Shopware_Plugins_Frontend_Foo_Bootstrap
+{
+    public function install()
+    {
+        $form = new \Shopware\Models\Config\Form();
+        $form->setElement('text', 'foo_config', ['label' => 'Foo']);
+    }
+}
@@ -3,6 +3,7 @@ package de.espend.idea.shopware.tests.navigation;
 import com.intellij.lang.javascript.JavaScriptFileType;
 import com.intellij.patterns.PlatformPatterns;
 import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
+import de.espend.idea.shopware.util.dict.SnippetTarget;
 
 /**
  * @author Daniel Espendiller <daniel@espendiller.net>
@@ -22,7 +23,7 @@ public class ExtJsGoToDeclarationHandlerTest extends ShopwareLightCodeInsightFix
         assertNavigationMatch(
             JavaScriptFileType.INSTANCE,
             "var foo = \"{s name='swag-last-registr<caret>ations/customer' namespace='foobar/widgets'}{/s}\"",
-            PlatformPatterns.psiFile()
+            PlatformPatterns.psiElement(SnippetTarget.class)
         );
     }
 
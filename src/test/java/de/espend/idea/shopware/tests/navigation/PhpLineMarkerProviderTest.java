@@ -30,4 +30,15 @@ public class PhpLineMarkerProviderTest extends ShopwareLightCodeInsightFixtureTe
             "}\n"
         ), new LineMarker.ToolTipEqualsAssert("Related Targets"));
     }
+
+    public void testNavigationToBootstrapSubscriber() {
+        assertLineMarker(myFixture.configureByText("Bootstrap.php", "<?php\n" +
+            "class Shopware_Plugins_Frontend_Foo_Bootstrap {" +
+            "   function install() {\n" +
+            "       $this->subscribeEvent('foo.foobar', 'foobar');" +
+            "   }" +
+            "   public function foobar() {}\n" +
+            "}\n"
+        ), new LineMarker.ToolTipEqualsAssert("Related Targets"));
+    }
 }
@@ -3,6 +3,7 @@ package de.espend.idea.shopware.tests.navigation;
 import com.intellij.patterns.PlatformPatterns;
 import com.jetbrains.smarty.SmartyFileType;
 import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
+import de.espend.idea.shopware.util.dict.SnippetTarget;
 
 /**
  * @author Daniel Espendiller <daniel@espendiller.net>
@@ -30,7 +31,7 @@ public class SmartyFileGoToDeclarationHandlerTest extends ShopwareLightCodeInsig
         assertNavigationMatch(
             SmartyFileType.INSTANCE,
             "{s name='swag-last-registr<caret>ations/customer' namespace='foobar/widgets'}{/s}",
-            PlatformPatterns.psiFile()
+            PlatformPatterns.psiElement(SnippetTarget.class)
         );
     }
 }
@@ -0,0 +1,69 @@
+package de.espend.idea.shopware.tests.references;
+
+import com.intellij.codeInsight.completion.impl.CamelHumpMatcher;
+import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
+import de.espend.idea.shopware.util.dict.HookCatalog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ * @see de.espend.idea.shopware.util.dict.HookCatalog
+ */
+public class HookCatalogTest extends ShopwareLightCodeInsightFixtureTestCase {
+
+    public void setUp() throws Exception {
+        super.setUp();
+
+        myFixture.addFileToProject("hooks.php", "<?php\n" +
+            "interface Enlight_Hook {}\n" +
+            "class Foo_Bar implements Enlight_Hook { public function save() {} }\n" +
+            "class Foo_Car implements Enlight_Hook { public function load() {} }\n"
+        );
+
+        myFixture.addFileToProject("models.php", "<?php\n" +
+            "namespace Shopware\\Components\\Model { class ModelEntity {} }\n" +
+            "namespace Shopware\\Models { class Article extends \\Shopware\\Components\\Model\\ModelEntity {} }\n"
+        );
+    }
+
+    public void testThatPrefixWithoutSeparatorVisitsAllMembersOfMatchingClasses() {
+        List<String> hooks = visit("Foo_B");
+
+        assertContainsElements(hooks, "Foo_Bar::save::after", "Foo_Bar::save::before", "Foo_Bar::save::replace");
+        assertDoesntContain(hooks, "Foo_Car::load::after");
+    }
+
+    public void testThatExactClassWithSeparatorVisitsItsHooks() {
+        List<String> hooks = visit("Foo_Bar::");
+
+        assertContainsElements(hooks, "Foo_Bar::save::after", "Foo_Bar::save::before", "Foo_Bar::save::replace");
+        assertDoesntContain(hooks, "Foo_Car::load::after");
+    }
+
+    public void testThatSeparatorMatchesClassAndMemberPart() {
+        List<String> hooks = visit("Foo_Bar::save::a");
+
+        assertContainsElements(hooks, "Foo_Bar::save::after");
+        assertDoesntContain(hooks, "Foo_Bar::save::before", "Foo_Car::load::after");
+    }
+
+    public void testThatDoctrineLifecyclesHaveNoSuffix() {
+        List<String> hooks = visit("Shopware\\Models\\Article::pre");
+
+        assertContainsElements(hooks, "Shopware\\Models\\Article::prePersist", "Shopware\\Models\\Article::preUpdate");
+        assertDoesntContain(hooks, "Shopware\\Models\\Article::postPersist", "Shopware\\Models\\Article::prePersist::after");
+    }
+
+    private List<String> visit(String prefix) {
+        List<String> hooks = new ArrayList<>();
+
+        HookCatalog.getInstance(getProject()).visit(new CamelHumpMatcher(prefix), (hook, type) -> {
+            hooks.add(hook);
+            return true;
+        });
+
+        return hooks;
+    }
+}
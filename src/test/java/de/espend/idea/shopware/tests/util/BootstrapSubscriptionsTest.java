@@ -0,0 +1,49 @@
+package de.espend.idea.shopware.tests.util;
+
+import com.intellij.psi.PsiFile;
+import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
+import de.espend.idea.shopware.util.dict.BootstrapSubscriptions;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ * @see de.espend.idea.shopware.util.dict.BootstrapSubscriptions
+ */
+public class BootstrapSubscriptionsTest extends ShopwareLightCodeInsightFixtureTestCase {
+
+    public void testSubscriptionsAreCollectedWithLiteralOffsets() {
+        PsiFile psiFile = myFixture.configureByText("Bootstrap.php", "<?php\n" +
+            "class Shopware_Plugins_Frontend_Foo_Bootstrap {\n" +
+            "   function install() {\n" +
+            "       $this->subscribeEvent('foo.foobar', 'onFoobar');\n" +
+            "       $this->createEvent('foo.create', 'onCreate');\n" +
+            "       $this->subscribeEvent($event, 'onVariable');\n" +
+            "       $this->subscribeEvent('foo.blank', '');\n" +
+            "   }\n" +
+            "}\n"
+        );
+
+        BootstrapSubscriptions subscriptions = BootstrapSubscriptions.getSubscriptions(psiFile);
+        assertSame(subscriptions, BootstrapSubscriptions.getSubscriptions(psiFile));
+
+        List<BootstrapSubscriptions.Subscription> items = subscriptions.getSubscriptions();
+        assertSize(3, items);
+
+        BootstrapSubscriptions.Subscription subscription = items.get(0);
+        assertEquals("foo.foobar", subscription.getEvent());
+        assertEquals("onFoobar", subscription.getMethodName());
+        assertFalse(subscription.isCreateEvent());
+        assertEquals(psiFile.getText().indexOf("'foo.foobar'"), subscription.getEventOffset());
+        assertEquals(psiFile.getText().indexOf("'onFoobar'"), subscription.getMethodOffset());
+        assertEquals("onFoobar", subscriptions.getLiteral(subscription.getMethodOffset()).getContents());
+
+        assertTrue(items.get(1).isCreateEvent());
+
+        Collection<BootstrapSubscriptions.Subscription> variable = subscriptions.getSubscriptions("onVariable");
+        assertSize(1, variable);
+        assertNull(variable.iterator().next().getEvent());
+        assertEquals(-1, variable.iterator().next().getEventOffset());
+    }
+}
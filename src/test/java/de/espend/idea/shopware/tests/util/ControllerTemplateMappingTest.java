@@ -0,0 +1,73 @@
+package de.espend.idea.shopware.tests.util;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiDocumentManager;
+import com.jetbrains.php.lang.psi.elements.Method;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.jetbrains.smarty.SmartyFile;
+import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
+import de.espend.idea.shopware.util.dict.ControllerTemplateMapping;
+import fr.adrienbrault.idea.symfony2plugin.util.PhpElementsUtil;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ * @see de.espend.idea.shopware.util.dict.ControllerTemplateMapping
+ */
+public class ControllerTemplateMappingTest extends ShopwareLightCodeInsightFixtureTestCase {
+
+    public void setUp() throws Exception {
+        super.setUp();
+
+        myFixture.addFileToProject("Controllers/Frontend/Account.php", "<?php\n" +
+            "class Shopware_Controllers_Frontend_Account\n" +
+            "{\n" +
+            "  public function ajaxLoginAction() {}\n" +
+            "  public function indexAction() {}\n" +
+            "}\n"
+        );
+    }
+
+    public void testTemplateIsMappedToControllerAction() {
+        SmartyFile smartyFile = (SmartyFile) myFixture.addFileToProject("templates/_default/frontend/account/ajax_login.tpl", "");
+
+        ControllerTemplateMapping mapping = ControllerTemplateMapping.getInstance(smartyFile);
+        assertEquals("Shopware_Controllers_Frontend_Account", mapping.getControllerClass().getName());
+        assertEquals("ajaxLoginAction", mapping.getAction().getName());
+
+        assertSame(mapping, ControllerTemplateMapping.getInstance(smartyFile));
+    }
+
+    public void testThatTypingInsideTemplateKeepsMapping() {
+        SmartyFile smartyFile = (SmartyFile) myFixture.addFileToProject("templates/_default/frontend/account/ajax_login.tpl", "{block name=\"foo\"}{/block}");
+        myFixture.configureFromExistingVirtualFile(smartyFile.getVirtualFile());
+
+        ControllerTemplateMapping mapping = ControllerTemplateMapping.getInstance(smartyFile);
+        assertNotNull(mapping.getAction());
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            myFixture.getEditor().getDocument().insertString(0, "{block name=\"bar\"}{/block}");
+            PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+        });
+
+        assertSame(mapping, ControllerTemplateMapping.getInstance(smartyFile));
+    }
+
+    public void testTemplateWithoutActionOnlyProvidesController() {
+        SmartyFile smartyFile = (SmartyFile) myFixture.addFileToProject("templates/_default/frontend/account/foobar.tpl", "");
+
+        ControllerTemplateMapping mapping = ControllerTemplateMapping.getInstance(smartyFile);
+        assertNotNull(mapping.getControllerClass());
+        assertNull(mapping.getAction());
+    }
+
+    public void testActionIsMappedToTemplateNames() {
+        myFixture.addFileToProject("templates/_default/frontend/account/ajax_login.tpl", "");
+        myFixture.addFileToProject("templates/_default/frontend/account/index.tpl", "");
+
+        PhpClass phpClass = PhpElementsUtil.getClass(getProject(), "Shopware_Controllers_Frontend_Account");
+
+        Method method = phpClass.findOwnMethodByName("ajaxLoginAction");
+        assertContainsElements(ControllerTemplateMapping.getTemplateNames(method), "frontend/account/ajax_login.tpl");
+        assertDoesntContain(ControllerTemplateMapping.getTemplateNames(method), "frontend/account/index.tpl");
+    }
+}
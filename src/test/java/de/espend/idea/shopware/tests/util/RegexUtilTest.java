@@ -0,0 +1,48 @@
+package de.espend.idea.shopware.tests.util;
+
+import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
+import de.espend.idea.shopware.util.RegexUtil;
+
+import java.util.regex.Matcher;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ * @see de.espend.idea.shopware.util.RegexUtil
+ */
+public class RegexUtilTest extends ShopwareLightCodeInsightFixtureTestCase {
+
+    /**
+     * @see RegexUtil#getAttributeWord
+     */
+    public void testGetAttributeWord() {
+        assertEquals("form", RegexUtil.getAttributeWord("{url controller=\"form\" action='getFields'}", "controller"));
+        assertEquals("getFields", RegexUtil.getAttributeWord("{url controller=\"form\" action='getFields'}", "action"));
+        assertEquals("form", RegexUtil.getAttributeWord("{url controller=form}", "controller"));
+        assertEquals("form_foo", RegexUtil.getAttributeWord("{url controller = bar controller='form_foo'}", "controller"));
+
+        assertNull(RegexUtil.getAttributeWord("{url controller=$foo}", "controller"));
+        assertNull(RegexUtil.getAttributeWord("{url action=foo}", "controller"));
+        assertNull(RegexUtil.getAttributeWord("{url controller=", "controller"));
+    }
+
+    /**
+     * @see RegexUtil#getTemplateActionPattern
+     */
+    public void testGetTemplateActionPattern() {
+        assertSame(RegexUtil.TEMPLATE_ACTION, RegexUtil.getTemplateActionPattern("frontend", "backend", "core"));
+        assertSame(RegexUtil.getTemplateActionPattern("widgets"), RegexUtil.getTemplateActionPattern("widgets"));
+
+        Matcher matcher = RegexUtil.getTemplateActionPattern("widgets").matcher("widgets/listing/top_seller.tpl");
+        assertTrue(matcher.find());
+        assertEquals("listing", matcher.group(2));
+        assertEquals("top_seller", matcher.group(3));
+    }
+
+    /**
+     * @see RegexUtil#getTagAttributePattern
+     */
+    public void testGetTagAttributePattern() {
+        assertSame(RegexUtil.getTagAttributePattern("s", "name"), RegexUtil.getTagAttributePattern("s", "name"));
+        assertNotSame(RegexUtil.getTagAttributePattern("s", "name"), RegexUtil.getTagAttributePattern("s", "namespace"));
+    }
+}
@@ -0,0 +1,65 @@
+package de.espend.idea.shopware.tests.util;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.psi.PsiDocumentManager;
+import com.jetbrains.php.lang.PhpFileType;
+import de.espend.idea.shopware.ShopwareModificationTracker;
+import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
+import de.espend.idea.shopware.util.ShopwareUtil;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ * @see de.espend.idea.shopware.util.ShopwareUtil#getResourceClass
+ */
+public class ShopwareUtilResourceTest extends ShopwareLightCodeInsightFixtureTestCase {
+
+    public void setUp() throws Exception {
+        super.setUp();
+
+        myFixture.addFileToProject("Resource.php", "<?php\n" +
+            "namespace Shopware\\Components\\Api\\Resource;\n" +
+            "class Resource {}\n" +
+            "class Article extends Resource {}\n"
+        );
+    }
+
+    public void testThatResourceClassesAreResolvedByName() {
+        assertEquals("\\Shopware\\Components\\Api\\Resource\\Article", ShopwareUtil.getResourceClass(getProject(), "Article").getFQN());
+        assertEquals("\\Shopware\\Components\\Api\\Resource\\Article", ShopwareUtil.getResourceClass(getProject(), "article").getFQN());
+        assertContainsElements(ShopwareUtil.getResourceClasses(getProject()).keySet(), "Article");
+        assertNull(ShopwareUtil.getResourceClass(getProject(), "Foo"));
+    }
+
+    public void testThatNewResourceClassIsVisibleAfterClassChange() {
+        assertNull(ShopwareUtil.getResourceClass(getProject(), "Foo"));
+
+        myFixture.addFileToProject("Foo.php", "<?php\n" +
+            "namespace Shopware\\Components\\Api\\Resource;\n" +
+            "class Foo extends Resource {}\n"
+        );
+
+        assertNotNull(ShopwareUtil.getResourceClass(getProject(), "Foo"));
+    }
+
+    public void testThatMethodChangesDoNotInvalidateResourceClasses() {
+        myFixture.configureByText(PhpFileType.INSTANCE, "<?php\nclass Bar { public function bar() { $a = 'f<caret>'; } }");
+
+        ModificationTracker phpClass = ShopwareModificationTracker.getTracker(getProject(), ShopwareModificationTracker.Kind.PHP_CLASS);
+
+        // first change of a file has nothing to compare with
+        type("o");
+        long count = phpClass.getModificationCount();
+
+        type("o");
+
+        assertEquals(count, phpClass.getModificationCount());
+    }
+
+    private void type(String text) {
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            myFixture.getEditor().getDocument().insertString(myFixture.getCaretOffset(), text);
+            PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+        });
+    }
+}
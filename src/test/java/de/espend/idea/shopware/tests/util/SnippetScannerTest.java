@@ -0,0 +1,44 @@
+package de.espend.idea.shopware.tests.util;
+
+import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
+import de.espend.idea.shopware.util.SnippetScanner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Daniel Espendiller <daniel@espendiller.net>
+ * @see de.espend.idea.shopware.util.SnippetScanner
+ */
+public class SnippetScannerTest extends ShopwareLightCodeInsightFixtureTestCase {
+
+    public void testSmartyTagsWithFileNamespace() {
+        List<String> snippets = scan("{extends file='parent:frontend/detail/index.tpl'}\n" +
+            "<a title=\"{\"{s name='DetailLinkNotepad' namespace=\"frontend/detail/actions\"}{/s}\"|escape}\"></a>\n" +
+            "{s name=Foo}{/s}{s name=\"Bar\" force}{/s}\n" +
+            "{namespace name=\"frontend/foobar\"}\n"
+        );
+
+        assertContainsElements(snippets, "frontend/detail/actions:DetailLinkNotepad", "frontend/foobar:Foo", "frontend/foobar:Bar");
+    }
+
+    public void testCommentsVariablesAndMissingNamespaceAreIgnored() {
+        assertEmpty(scan("{* {s name=Foo namespace=foo}{/s} *}{s name=$foo namespace=foo}{/s}"));
+        assertEmpty(scan("{s name=Foo}{/s}"));
+    }
+
+    public void testExtJsStringsWithEscapedQuotes() {
+        List<String> snippets = scan("//{namespace name=backend/namespace}\n" +
+            "var test = '{s name=\"foobar\"}';\n" +
+            "var escaped = '{s name=\\'foo_escaped\\' namespace=\\'backend/escaped\\'}Foo{/s}';\n"
+        );
+
+        assertContainsElements(snippets, "backend/namespace:foobar", "backend/escaped:foo_escaped");
+    }
+
+    private static List<String> scan(String content) {
+        List<String> snippets = new ArrayList<>();
+        SnippetScanner.visit(content, (namespace, name) -> snippets.add(namespace + ":" + name));
+        return snippets;
+    }
+}
@@ -5,11 +5,13 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.util.containers.ContainerUtil;
 import com.jetbrains.smarty.SmartyFile;
+import com.jetbrains.smarty.SmartyFileType;
 import de.espend.idea.shopware.tests.ShopwareLightCodeInsightFixtureTestCase;
 import de.espend.idea.shopware.util.SnippetUtil;
 import de.espend.idea.shopware.util.dict.ShopwareSnippet;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -53,6 +55,32 @@ public class SnippetUtilTest extends ShopwareLightCodeInsightFixtureTestCase {
         );
     }
 
+    public void testGetIniKeysByLocale() {
+        Map<String, Set<String>> keys = SnippetUtil.getIniKeysByLocale("" +
+            "; comment = foo\n" +
+            "outside = 'foo'\n" +
+            "[en_GB]\r\n" +
+            "  foo = \"Foo\"\r\n" +
+            "[ de_DE ]\n" +
+            "bar=\n"
+        );
+
+        assertContainsElements(keys.get(""), "outside");
+        assertContainsElements(keys.get("en_GB"), "foo");
+        assertContainsElements(keys.get("de_DE"), "bar");
+        assertDoesntContain(keys.get(""), "; comment");
+    }
+
+    public void testGetSnippetKeyLocales() {
+        myFixture.copyFileToProject("widgets.ini", "snippets/foobar/widgets.ini");
+
+        Map<String, Set<String>> keys = SnippetUtil.getSnippetKeyLocales(getProject(), "foobar/widgets");
+
+        assertContainsElements(keys.get("swag-last-registrations/customer-group"), "en_GB");
+        assertContainsElements(keys.get("swag-last-registrations/customer"), "de_DE");
+        assertDoesntContain(keys.get("swag-last-registrations/customer"), "en_GB");
+    }
+
     public void testGetSnippetKeysByNamespace() {
         myFixture.configureByFile("snippets.tpl");
 
@@ -93,6 +121,16 @@ public class SnippetUtilTest extends ShopwareLightCodeInsightFixtureTestCase {
         ));
     }
 
+    public void testGetSnippetAtElement() {
+        myFixture.configureByText(SmartyFileType.INSTANCE, "{s name=\"foo<caret>bar\" namespace=\"frontend/foobar\"}{/s}");
+
+        ShopwareSnippet snippet = SnippetUtil.getSnippetAtElement(myFixture.getFile().findElementAt(myFixture.getCaretOffset()));
+
+        assertNotNull(snippet);
+        assertEquals("foobar", snippet.getName());
+        assertEquals("frontend/foobar", snippet.getNamespace());
+    }
+
     public void testSnippetsForBackend() {
         PsiFile psiFile = myFixture.configureByFile("snippets.js");
 